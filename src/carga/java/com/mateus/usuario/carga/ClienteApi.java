@@ -0,0 +1,102 @@
+package com.mateus.usuario.carga;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+// Cliente HTTP dos endpoints de usuário usados no teste de carga (java.net.http, threads virtuais)
+public class ClienteApi {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final String baseUrl;
+
+    public ClienteApi(String baseUrl, ObjectMapper objectMapper) {
+        this.baseUrl = baseUrl;
+        this.objectMapper = objectMapper;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(TIMEOUT)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    // Resposta simplificada: status e corpo
+    public record Resposta(int status, String corpo) {
+
+        public boolean sucesso() {
+            return status >= 200 && status < 300;
+        }
+    }
+
+    public Resposta cadastrar(Object usuario) throws IOException, InterruptedException {
+        return enviar(requisicao("/usuario", null).POST(json(usuario)));
+    }
+
+    public Resposta login(String email, String senha) throws IOException, InterruptedException {
+        return enviar(requisicao("/usuario/login", null).POST(json(Map.of("email", email, "senha", senha))));
+    }
+
+    public Resposta importar(String token, String ndjson) throws IOException, InterruptedException {
+        return enviar(requisicao("/usuario/importacao", token)
+                .setHeader("Content-Type", "application/x-ndjson")
+                .POST(HttpRequest.BodyPublishers.ofString(ndjson)));
+    }
+
+    public Resposta buscarUsuario(String token, String email) throws IOException, InterruptedException {
+        return enviar(requisicao("/usuario?email=" + email, token).GET());
+    }
+
+    public Resposta atualizarUsuario(String token, Object usuario) throws IOException, InterruptedException {
+        return enviar(requisicao("/usuario", token).PUT(json(usuario)));
+    }
+
+    public Resposta cadastrarEndereco(String token, Object endereco) throws IOException, InterruptedException {
+        return enviar(requisicao("/usuario/endereco", token).POST(json(endereco)));
+    }
+
+    public Resposta atualizarEndereco(String token, long id, Object endereco) throws IOException, InterruptedException {
+        return enviar(requisicao("/usuario/endereco?id=" + id, token).PUT(json(endereco)));
+    }
+
+    public Resposta cadastrarTelefone(String token, Object telefone) throws IOException, InterruptedException {
+        return enviar(requisicao("/usuario/telefone", token).POST(json(telefone)));
+    }
+
+    public Resposta atualizarTelefone(String token, long id, Object telefone) throws IOException, InterruptedException {
+        return enviar(requisicao("/usuario/telefone?id=" + id, token).PUT(json(telefone)));
+    }
+
+    public JsonNode lerJson(Resposta resposta) throws IOException {
+        return objectMapper.readTree(resposta.corpo());
+    }
+
+    private HttpRequest.Builder requisicao(String caminho, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + caminho))
+                .timeout(TIMEOUT)
+                .header("Content-Type", "application/json");
+        if (token != null) {
+            builder.header("Authorization", token);
+        }
+        return builder;
+    }
+
+    private HttpRequest.BodyPublisher json(Object corpo) throws IOException {
+        return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(corpo));
+    }
+
+    private Resposta enviar(HttpRequest.Builder builder) throws IOException, InterruptedException {
+        HttpResponse<String> resposta = httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+        return new Resposta(resposta.statusCode(), resposta.body());
+    }
+}
@@ -0,0 +1,101 @@
+package com.mateus.usuario.carga;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Latências (HdrHistogram, em microssegundos) e erros por operação, com o relatório final
+// e a verificação contra o orçamento de latência versionado (orcamento-latencia.properties)
+public class Medicoes {
+
+    private static final long LATENCIA_MAXIMA_US = TimeUnit.MINUTES.toMicros(1);
+    private static final double[] PERCENTIS = {50, 95, 99};
+
+    private final Map<Operacao, Histogram> latencias = new EnumMap<>(Operacao.class);
+    private final Map<Operacao, LongAdder> erros = new EnumMap<>(Operacao.class);
+
+    public Medicoes() {
+        for (Operacao operacao : Operacao.values()) {
+            latencias.put(operacao, new ConcurrentHistogram(LATENCIA_MAXIMA_US, 3));
+            erros.put(operacao, new LongAdder());
+        }
+    }
+
+    // A latência é medida a partir do instante agendado (e não do envio), para que atrasos
+    // do próprio gerador ou do servidor apareçam nos percentis (sem "coordinated omission")
+    public void registrar(Operacao operacao, long agendadoEmNanos, boolean sucesso) {
+        long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - agendadoEmNanos);
+        latencias.get(operacao).recordValue(Math.min(Math.max(micros, 1), LATENCIA_MAXIMA_US));
+        if (!sucesso) {
+            erros.get(operacao).increment();
+        }
+    }
+
+    // Descarta o que foi medido no aquecimento
+    public void zerar() {
+        latencias.values().forEach(Histogram::reset);
+        erros.values().forEach(LongAdder::reset);
+    }
+
+    // Resumo por operação: total, erros, vazão (req/s) e percentis em milissegundos
+    public Map<String, Map<String, Object>> resumo(double duracaoSegundos) {
+        Map<String, Map<String, Object>> resumo = new LinkedHashMap<>();
+        for (Operacao operacao : Operacao.values()) {
+            Histogram histograma = latencias.get(operacao);
+            Map<String, Object> linha = new LinkedHashMap<>();
+            linha.put("total", histograma.getTotalCount());
+            linha.put("erros", erros.get(operacao).sum());
+            linha.put("vazao", histograma.getTotalCount() / duracaoSegundos);
+            for (double percentil : PERCENTIS) {
+                linha.put("p" + (int) percentil, emMillis(histograma.getValueAtPercentile(percentil)));
+            }
+            linha.put("max", emMillis(histograma.getMaxValue()));
+            resumo.put(operacao.nome(), linha);
+        }
+        return resumo;
+    }
+
+    public String tabela(Map<String, Map<String, Object>> resumo) {
+        StringBuilder tabela = new StringBuilder(String.format("%-20s %8s %6s %9s %9s %9s %9s %9s%n",
+                "operação", "total", "erros", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+        resumo.forEach((nome, linha) -> tabela.append(String.format("%-20s %8d %6d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                nome, linha.get("total"), linha.get("erros"), linha.get("vazao"),
+                linha.get("p50"), linha.get("p95"), linha.get("p99"), linha.get("max"))));
+        return tabela.toString();
+    }
+
+    // Compara o resumo com o orçamento. Chaves: "<operacao>.p50|p95|p99" em ms e "erros.percentual-maximo".
+    // Retorna as violações encontradas (lista vazia = dentro do orçamento)
+    public List<String> verificarOrcamento(Map<String, Map<String, Object>> resumo, Properties orcamento) {
+        List<String> violacoes = new ArrayList<>();
+        double percentualMaximoErros = Double.parseDouble(orcamento.getProperty("erros.percentual-maximo", "1.0"));
+        resumo.forEach((nome, linha) -> {
+            long total = (long) linha.get("total");
+            long quantidadeErros = (long) linha.get("erros");
+            if (total > 0 && quantidadeErros * 100.0 / total > percentualMaximoErros) {
+                violacoes.add(String.format("%s: %d erros em %d requisições (máximo %.1f%%)",
+                        nome, quantidadeErros, total, percentualMaximoErros));
+            }
+            for (double percentil : PERCENTIS) {
+                String chave = "p" + (int) percentil;
+                String limite = orcamento.getProperty(nome + "." + chave);
+                if (limite != null && total > 0 && (double) linha.get(chave) > Double.parseDouble(limite)) {
+                    violacoes.add(String.format("%s: %s = %.2f ms (orçamento %s ms)", nome, chave, linha.get(chave), limite));
+                }
+            }
+        });
+        return violacoes;
+    }
+
+    private static double emMillis(long micros) {
+        return micros / 1000.0;
+    }
+}
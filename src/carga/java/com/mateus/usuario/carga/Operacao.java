@@ -0,0 +1,46 @@
+package com.mateus.usuario.carga;
+
+// Endpoints exercitados pelo teste de carga e seu peso na mistura de requisições
+// (aproximação do tráfego real: leitura do perfil domina, escritas e logins são minoria)
+public enum Operacao {
+
+    LOGIN("login", 5),
+    BUSCAR_USUARIO("buscar-usuario", 55),
+    ATUALIZAR_USUARIO("atualizar-usuario", 10),
+    CADASTRAR_ENDERECO("cadastrar-endereco", 8),
+    ATUALIZAR_ENDERECO("atualizar-endereco", 8),
+    CADASTRAR_TELEFONE("cadastrar-telefone", 7),
+    ATUALIZAR_TELEFONE("atualizar-telefone", 7);
+
+    private final String nome;
+    private final int peso;
+
+    Operacao(String nome, int peso) {
+        this.nome = nome;
+        this.peso = peso;
+    }
+
+    public String nome() {
+        return nome;
+    }
+
+    // Sorteia uma operação respeitando os pesos; "sorteio" deve estar em [0, pesoTotal())
+    public static Operacao sortear(int sorteio) {
+        int acumulado = 0;
+        for (Operacao operacao : values()) {
+            acumulado += operacao.peso;
+            if (sorteio < acumulado) {
+                return operacao;
+            }
+        }
+        throw new IllegalArgumentException("sorteio fora do intervalo: " + sorteio);
+    }
+
+    public static int pesoTotal() {
+        int total = 0;
+        for (Operacao operacao : values()) {
+            total += operacao.peso;
+        }
+        return total;
+    }
+}
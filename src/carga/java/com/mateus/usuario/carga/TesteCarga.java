@@ -0,0 +1,250 @@
+package com.mateus.usuario.carga;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mateus.usuario.UsuarioApplication;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+
+// Teste de carga de ponta a ponta: sobe a aplicação no perfil "embedded" (PostgreSQL embutido),
+// cadastra N usuários pela importação em massa e dispara a mistura de Operacao a uma taxa fixa de
+// chegada (modelo aberto: novas requisições saem no horário mesmo que as anteriores ainda não tenham
+// voltado). Ao final imprime p50/p95/p99 e vazão por operação, grava o resumo em JSON e falha
+// (código de saída 1) se o orçamento de latência for excedido.
+//
+// Uso: ./gradlew testeCarga [-PcargaUsuarios=1000] [-PcargaAtivos=200] [-PcargaTaxa=50]
+//                           [-PcargaDuracao=60s] [-PcargaAquecimento=15s] [-PcargaThreadsVirtuais=true]
+// Comparação entre threads de plataforma e virtuais: ./gradlew comparativoThreads -PcargaTaxa=400
+public class TesteCarga {
+
+    private static final String SENHA_ADMIN = "senha-admin-carga";
+
+    // Usuário usado nas requisições autenticadas, com o token e os ids do primeiro endereço/telefone
+    private record UsuarioCarga(String email, String token, long enderecoId, long telefoneId) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int quantidadeUsuarios = Integer.getInteger("carga.usuarios", 1000);
+        int quantidadeAtivos = Math.min(quantidadeUsuarios, Integer.getInteger("carga.ativos", 200));
+        int taxa = Integer.getInteger("carga.taxa", 50);
+        Duration duracao = Duration.parse("PT" + System.getProperty("carga.duracao", "60s"));
+        Duration aquecimento = Duration.parse("PT" + System.getProperty("carga.aquecimento", "15s"));
+        Path relatorio = Path.of(System.getProperty("carga.relatorio", "build/reports/carga/resultado.json"));
+        boolean threadsVirtuais = Boolean.getBoolean("carga.threads-virtuais");
+        boolean verificarOrcamento = Boolean.parseBoolean(System.getProperty("carga.verificar-orcamento", "true"));
+
+        // Argumentos de linha de comando têm precedência sobre o application.properties: o limite de
+        // tentativas de login é desligado porque todas as requisições saem do mesmo IP
+        ConfigurableApplicationContext contexto = new SpringApplicationBuilder(UsuarioApplication.class)
+                .profiles("embedded")
+                .run("--server.port=0",
+                        "--spring.threads.virtual.enabled=" + threadsVirtuais,
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--seguranca.login.email.capacidade=1000000",
+                        "--seguranca.login.email.por-minuto=1000000",
+                        "--seguranca.login.ip.capacidade=1000000",
+                        "--seguranca.login.ip.por-minuto=1000000");
+        int codigoSaida;
+        try {
+            int porta = ((WebServerApplicationContext) contexto).getWebServer().getPort();
+            ObjectMapper objectMapper = contexto.getBean(ObjectMapper.class);
+            ClienteApi api = new ClienteApi("http://localhost:" + porta, objectMapper);
+
+            semear(api, quantidadeUsuarios);
+            List<UsuarioCarga> ativos = prepararAtivos(api, quantidadeAtivos);
+
+            Medicoes medicoes = new Medicoes();
+            System.out.printf("Threads %s. Aquecimento: %s a %d req/s%n",
+                    threadsVirtuais ? "virtuais" : "de plataforma", aquecimento, taxa);
+            disparar(api, medicoes, ativos, quantidadeUsuarios, taxa, aquecimento);
+            medicoes.zerar();
+            System.out.printf("Medição: %s a %d req/s%n", duracao, taxa);
+            disparar(api, medicoes, ativos, quantidadeUsuarios, taxa, duracao);
+
+            Map<String, Map<String, Object>> resumo = medicoes.resumo(duracao.toMillis() / 1000.0);
+            System.out.println(medicoes.tabela(resumo));
+            // Pinagens de threads virtuais registradas pelo monitor JFR durante o teste (só no modo virtual)
+            Counter pinagens = contexto.getBean(MeterRegistry.class).find("threads.virtuais.pinadas").counter();
+            long quantidadePinagens = pinagens != null ? (long) pinagens.count() : 0;
+            if (threadsVirtuais) {
+                System.out.printf("Pinagens de threads virtuais: %d%n", quantidadePinagens);
+            }
+            gravarRelatorio(objectMapper, relatorio, quantidadeUsuarios, taxa, duracao, threadsVirtuais,
+                    quantidadePinagens, resumo);
+
+            List<String> violacoes = verificarOrcamento
+                    ? medicoes.verificarOrcamento(resumo, carregarOrcamento())
+                    : List.of();
+            if (violacoes.isEmpty()) {
+                System.out.println("Dentro do orçamento de latência.");
+                codigoSaida = 0;
+            } else {
+                System.out.println("Orçamento de latência excedido:");
+                violacoes.forEach(violacao -> System.out.println("  " + violacao));
+                codigoSaida = 1;
+            }
+        } finally {
+            contexto.close();
+        }
+        System.exit(codigoSaida);
+    }
+
+    // Cadastra o administrador da carga e os N usuários (um endereço e um telefone cada) pela importação
+    private static void semear(ClienteApi api, int quantidade) throws IOException, InterruptedException {
+        api.cadastrar(Map.of("nome", "Administrador da carga", "email", "admin@carga.local", "senha", SENHA_ADMIN));
+        String token = api.login("admin@carga.local", SENHA_ADMIN).corpo();
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < quantidade; i++) {
+            ndjson.append(objectMapper.writeValueAsString(Map.of(
+                    "nome", "Usuário de carga " + i,
+                    "email", email(i),
+                    "senha", senha(i),
+                    "enderecos", List.of(endereco(i)),
+                    "telefones", List.of(telefone(i))))).append('\n');
+        }
+        long inicio = System.nanoTime();
+        ClienteApi.Resposta resposta = api.importar(token, ndjson.toString());
+        long criados = resposta.corpo().lines().filter(linha -> linha.contains("\"CRIADO\"")).count();
+        if (!resposta.sucesso() || criados != quantidade) {
+            throw new IllegalStateException("Falha ao semear usuários: " + criados + " de " + quantidade
+                    + " criados (HTTP " + resposta.status() + ")");
+        }
+        System.out.printf("%d usuários cadastrados em %d ms%n", criados, Duration.ofNanos(System.nanoTime() - inicio).toMillis());
+    }
+
+    // Login e leitura do perfil dos usuários ativos, em paralelo limitado ao número de núcleos
+    // (o hash de senha é o gargalo e tem fila limitada no servidor)
+    private static List<UsuarioCarga> prepararAtivos(ClienteApi api, int quantidade) throws Exception {
+        List<Future<UsuarioCarga>> futures = new ArrayList<>(quantidade);
+        try (ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors())) {
+            for (int i = 0; i < quantidade; i++) {
+                int indice = i;
+                futures.add(executor.submit(() -> {
+                    String token = api.login(email(indice), senha(indice)).corpo();
+                    JsonNode usuario = api.lerJson(api.buscarUsuario(token, email(indice)));
+                    return new UsuarioCarga(email(indice), token,
+                            usuario.path("enderecos").path(0).path("id").asLong(),
+                            usuario.path("telefones").path(0).path("id").asLong());
+                }));
+            }
+        }
+        List<UsuarioCarga> ativos = new ArrayList<>(quantidade);
+        for (Future<UsuarioCarga> future : futures) {
+            ativos.add(future.get());
+        }
+        return ativos;
+    }
+
+    // Dispara uma requisição a cada 1/taxa segundos durante o período, cada uma em sua thread virtual
+    private static void disparar(ClienteApi api, Medicoes medicoes, List<UsuarioCarga> ativos, int quantidadeUsuarios,
+                                 int taxa, Duration periodo) {
+        long intervalo = 1_000_000_000L / taxa;
+        long total = periodo.toNanos() / intervalo;
+        int pesoTotal = Operacao.pesoTotal();
+        long inicio = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; i < total; i++) {
+                long agendadoEm = inicio + i * intervalo;
+                long espera = agendadoEm - System.nanoTime();
+                if (espera > 0) {
+                    LockSupport.parkNanos(espera);
+                }
+                ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+                Operacao operacao = Operacao.sortear(aleatorio.nextInt(pesoTotal));
+                UsuarioCarga usuario = ativos.get(aleatorio.nextInt(ativos.size()));
+                int outroUsuario = aleatorio.nextInt(quantidadeUsuarios);
+                executor.execute(() -> {
+                    boolean sucesso;
+                    try {
+                        sucesso = executar(api, operacao, usuario, outroUsuario).sucesso();
+                    } catch (Exception e) {
+                        sucesso = false;
+                    }
+                    medicoes.registrar(operacao, agendadoEm, sucesso);
+                });
+            }
+        }
+    }
+
+    private static ClienteApi.Resposta executar(ClienteApi api, Operacao operacao, UsuarioCarga usuario,
+                                                int outroUsuario) throws IOException, InterruptedException {
+        int sufixo = ThreadLocalRandom.current().nextInt(1000);
+        return switch (operacao) {
+            case LOGIN -> api.login(email(outroUsuario), senha(outroUsuario));
+            case BUSCAR_USUARIO -> api.buscarUsuario(usuario.token(), usuario.email());
+            // Apenas o nome: trocar senha ou email revogaria o token do usuário ativo
+            case ATUALIZAR_USUARIO -> api.atualizarUsuario(usuario.token(), Map.of("nome", "Usuário de carga " + sufixo));
+            case CADASTRAR_ENDERECO -> api.cadastrarEndereco(usuario.token(), endereco(sufixo));
+            case ATUALIZAR_ENDERECO -> api.atualizarEndereco(usuario.token(), usuario.enderecoId(),
+                    Map.of("numero", String.valueOf(sufixo)));
+            case CADASTRAR_TELEFONE -> api.cadastrarTelefone(usuario.token(), telefone(sufixo));
+            case ATUALIZAR_TELEFONE -> api.atualizarTelefone(usuario.token(), usuario.telefoneId(),
+                    Map.of("numero", String.valueOf(900000000 + sufixo)));
+        };
+    }
+
+    private static void gravarRelatorio(ObjectMapper objectMapper, Path arquivo, int quantidadeUsuarios, int taxa,
+                                        Duration duracao, boolean threadsVirtuais, long pinagens,
+                                        Map<String, Map<String, Object>> resumo) throws IOException {
+        Map<String, Object> conteudo = new LinkedHashMap<>();
+        conteudo.put("usuarios", quantidadeUsuarios);
+        conteudo.put("taxa", taxa);
+        conteudo.put("duracao", duracao.toString());
+        conteudo.put("threadsVirtuais", threadsVirtuais);
+        conteudo.put("pinagens", pinagens);
+        conteudo.put("operacoes", resumo);
+        Files.createDirectories(arquivo.toAbsolutePath().getParent());
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(arquivo.toFile(), conteudo);
+        System.out.println("Resumo gravado em " + arquivo);
+    }
+
+    private static Properties carregarOrcamento() throws IOException {
+        Properties orcamento = new Properties();
+        try (InputStream entrada = TesteCarga.class.getResourceAsStream("/orcamento-latencia.properties")) {
+            if (entrada == null) {
+                throw new IllegalStateException("orcamento-latencia.properties não encontrado");
+            }
+            orcamento.load(entrada);
+        }
+        return orcamento;
+    }
+
+    private static String email(int indice) {
+        return "carga" + indice + "@carga.local";
+    }
+
+    private static String senha(int indice) {
+        return "senha-carga-" + indice;
+    }
+
+    private static Map<String, String> endereco(int indice) {
+        return Map.of("rua", "Rua da Carga", "numero", String.valueOf(indice), "complemento", "",
+                "cidade", "São Paulo", "estado", "SP", "cep", "01310-100");
+    }
+
+    private static Map<String, String> telefone(int indice) {
+        return Map.of("ddd", "011", "numero", String.valueOf(900000000 + indice));
+    }
+}
@@ -0,0 +1,36 @@
+package com.mateus.usuario.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+// Custo do BCrypt por fator de trabalho (seguranca.senha.bcrypt-custo).
+// Cada ponto a mais dobra o tempo; serve para escolher o custo em função da capacidade de login desejada.
+@State(Scope.Benchmark)
+public class BCryptBenchmark {
+
+    @Param({"8", "10", "12"})
+    private int custo;
+
+    private BCryptPasswordEncoder encoder;
+    private String hash;
+
+    @Setup
+    public void preparar() {
+        encoder = new BCryptPasswordEncoder(custo);
+        hash = encoder.encode("senha-de-teste");
+    }
+
+    @Benchmark
+    public String encode() {
+        return encoder.encode("senha-de-teste");
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return encoder.matches("senha-de-teste", hash);
+    }
+}
@@ -0,0 +1,78 @@
+package com.mateus.usuario.benchmark;
+
+import com.mateus.usuario.infrastructure.security.filter.JwtRequestFilter;
+import com.mateus.usuario.infrastructure.security.model.UsuarioAutenticado;
+import com.mateus.usuario.infrastructure.security.service.VersaoSegurancaService;
+import com.mateus.usuario.infrastructure.security.util.ChaveiroJwt;
+import com.mateus.usuario.infrastructure.security.util.JwtUtil;
+import com.mateus.usuario.infrastructure.security.util.ListaRevogacao;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+// Custo do filtro JWT por requisição, com o UserDetailsService substituído por um stub em memória.
+// "claims" monta o principal a partir do token; "banco" chama o UserDetailsService (aqui sem I/O),
+// isolando o custo do filtro em si do custo da consulta.
+@State(Scope.Thread)
+public class JwtRequestFilterBenchmark {
+
+    @Param({"claims", "banco"})
+    private String modo;
+
+    private JwtRequestFilter filtro;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private FilterChain chain;
+
+    @Setup
+    public void preparar() throws InterruptedException {
+        ChaveiroJwt chaveiro = new ChaveiroJwt("ES256", Duration.ofDays(1), Duration.ofMinutes(15));
+        chaveiro.usar(chaveiro.gerar(Instant.now()), Instant.now());
+        JwtUtil jwtUtil = new JwtUtil(10_000, new SimpleMeterRegistry(), chaveiro);
+        VersaoSegurancaService versaoSegurancaService = new VersaoSegurancaService();
+        UsuarioAutenticado usuario = new UsuarioAutenticado(42L, "usuario@exemplo.com", "{bcrypt}hash", 0L);
+        UserDetailsService stub = email -> usuario;
+        // Lista de revogação já ocupada, para que a consulta ao filtro de Bloom entre na medição
+        ListaRevogacao listaRevogacao = new ListaRevogacao(100_000, 0.001, new SimpleMeterRegistry());
+        Instant expiraEm = Instant.now().plus(JwtUtil.VALIDADE_TOKEN);
+        for (int i = 0; i < 50_000; i++) {
+            listaRevogacao.adicionar(UUID.randomUUID().toString(), expiraEm);
+        }
+        filtro = new JwtRequestFilter(jwtUtil, stub, versaoSegurancaService, listaRevogacao, "claims".equals(modo));
+
+        // O "iat" do token tem resolução de segundos: espera para que seja posterior à inicialização
+        // do VersaoSegurancaService, senão o modo "claims" cai no caminho pelo banco
+        Thread.sleep(1_100);
+        String token = jwtUtil.generateToken(usuario);
+
+        request = new MockHttpServletRequest("GET", "/usuario");
+        request.addHeader("Authorization", "Bearer " + token);
+        response = new MockHttpServletResponse();
+        chain = (req, res) -> { };
+    }
+
+    // doFilter (público) executa o doFilterInternal; o contexto é limpo em seguida porque o filtro
+    // só autentica quando ele está vazio, como no início de cada requisição real
+    @Benchmark
+    public Authentication doFilterInternal() throws ServletException, IOException {
+        filtro.doFilter(request, response, chain);
+        Authentication autenticacao = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return autenticacao;
+    }
+}
@@ -0,0 +1,54 @@
+package com.mateus.usuario.benchmark;
+
+import com.mateus.usuario.infrastructure.security.model.UsuarioAutenticado;
+import com.mateus.usuario.infrastructure.security.util.ChaveiroJwt;
+import com.mateus.usuario.infrastructure.security.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.Duration;
+import java.time.Instant;
+
+// Emissão e verificação de tokens.
+// extractClaims sempre recalcula a assinatura; validateToken passa pelo cache de tokens verificados
+// (caso comum do filtro, em que o mesmo token chega várias vezes).
+// ES256 assina mais rápido que RS256; RS256 verifica mais rápido.
+@State(Scope.Benchmark)
+public class JwtUtilBenchmark {
+
+    @Param({"ES256", "RS256"})
+    private String algoritmo;
+
+    private JwtUtil jwtUtil;
+    private UsuarioAutenticado usuario;
+    private String token;
+
+    @Setup
+    public void preparar() {
+        ChaveiroJwt chaveiro = new ChaveiroJwt(algoritmo, Duration.ofDays(1), Duration.ofMinutes(15));
+        chaveiro.usar(chaveiro.gerar(Instant.now()), Instant.now());
+        jwtUtil = new JwtUtil(10_000, new SimpleMeterRegistry(), chaveiro);
+        usuario = new UsuarioAutenticado(42L, "usuario@exemplo.com", null, 3L);
+        token = jwtUtil.generateToken(usuario);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(usuario);
+    }
+
+    @Benchmark
+    public Claims extractClaims() {
+        return jwtUtil.extractClaims(token);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtUtil.validateToken(token, "usuario@exemplo.com");
+    }
+}
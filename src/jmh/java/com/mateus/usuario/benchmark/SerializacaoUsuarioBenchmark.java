@@ -0,0 +1,98 @@
+package com.mateus.usuario.benchmark;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mateus.usuario.business.converter.SerializadorUsuario;
+import com.mateus.usuario.business.converter.UsuarioConverter;
+import com.mateus.usuario.business.dto.EnderecoDTO;
+import com.mateus.usuario.business.dto.TelefoneDTO;
+import com.mateus.usuario.business.dto.UsuarioDTO;
+import com.mateus.usuario.infrastructure.entity.Usuario;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+// Custo de uma resposta de perfil (entidade -> JSON) nos três caminhos. Com o profiler "gc" já configurado,
+// gc.alloc.rate.norm dá os bytes alocados por resposta:
+//  - conversorEReflexao: UsuarioConverter + serialização do DTO por reflexão (comportamento anterior)
+//  - conversorESerializador: UsuarioConverter + SerializadorUsuario (respostas dos controllers)
+//  - entidadeDireta: entidade escrita direto no JsonGenerator, sem DTO (exportação)
+@State(Scope.Benchmark)
+public class SerializacaoUsuarioBenchmark {
+
+    @Param({"0", "3", "20"})
+    private int itensPorColecao;
+
+    private UsuarioConverter converter;
+    private ObjectMapper reflexao;
+    private ObjectMapper direto;
+    private Usuario usuario;
+    // Descarta os bytes sem custo de I/O e aceita escrita depois de close() (writeValue fecha o destino)
+    private final OutputStream descarte = new OutputStream() {
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    };
+
+    @Setup
+    public void preparar() {
+        converter = new UsuarioConverter();
+        reflexao = new ObjectMapper();
+        direto = new ObjectMapper().registerModule(new SerializadorUsuario());
+        List<EnderecoDTO> enderecos = new ArrayList<>();
+        List<TelefoneDTO> telefones = new ArrayList<>();
+        for (int i = 0; i < itensPorColecao; i++) {
+            enderecos.add(EnderecoDTO.builder()
+                    .id((long) i)
+                    .rua("Rua das Palmeiras")
+                    .numero(String.valueOf(100 + i))
+                    .complemento("Apto " + i)
+                    .cidade("São Paulo")
+                    .estado("SP")
+                    .cep("01310-100")
+                    .build());
+            telefones.add(TelefoneDTO.builder()
+                    .id((long) i)
+                    .ddd("011")
+                    .numero("9" + (10000000 + i))
+                    .build());
+        }
+        usuario = converter.paraUsuario(UsuarioDTO.builder()
+                .nome("Usuário de Teste")
+                .email("usuario@exemplo.com")
+                .senha("{bcrypt}$2a$10$abcdefghijklmnopqrstuu9Yx0vQ3b8m1KqS2XoR7yC6xH5pN4wE")
+                .enderecos(enderecos)
+                .telefones(telefones)
+                .build());
+        usuario.setId(1L);
+        usuario.setVersao(0L);
+    }
+
+    @Benchmark
+    public void conversorEReflexao() throws IOException {
+        reflexao.writeValue(descarte, converter.paraUsuarioDTO(usuario));
+    }
+
+    @Benchmark
+    public void conversorESerializador() throws IOException {
+        direto.writeValue(descarte, converter.paraUsuarioDTO(usuario));
+    }
+
+    @Benchmark
+    public void entidadeDireta() throws IOException {
+        try (JsonGenerator gerador = direto.getFactory().createGenerator(descarte)) {
+            SerializadorUsuario.escreverUsuario(gerador, usuario, usuario.getEnderecos(), usuario.getTelefones());
+        }
+    }
+}
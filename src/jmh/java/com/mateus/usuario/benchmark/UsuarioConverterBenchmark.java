@@ -0,0 +1,71 @@
+package com.mateus.usuario.benchmark;
+
+import com.mateus.usuario.business.converter.UsuarioConverter;
+import com.mateus.usuario.business.dto.EnderecoDTO;
+import com.mateus.usuario.business.dto.TelefoneDTO;
+import com.mateus.usuario.business.dto.UsuarioDTO;
+import com.mateus.usuario.infrastructure.entity.Usuario;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Conversão entidade <-> DTO com quantidades de endereços/telefones por usuário
+// do caso típico (1-3) até um cadastro grande (20)
+@State(Scope.Benchmark)
+public class UsuarioConverterBenchmark {
+
+    @Param({"0", "3", "20"})
+    private int itensPorColecao;
+
+    private UsuarioConverter converter;
+    private Usuario usuario;
+    private UsuarioDTO usuarioDTO;
+
+    @Setup
+    public void preparar() {
+        converter = new UsuarioConverter();
+        List<EnderecoDTO> enderecos = new ArrayList<>();
+        List<TelefoneDTO> telefones = new ArrayList<>();
+        for (int i = 0; i < itensPorColecao; i++) {
+            enderecos.add(EnderecoDTO.builder()
+                    .id((long) i)
+                    .rua("Rua das Palmeiras")
+                    .numero(String.valueOf(100 + i))
+                    .complemento("Apto " + i)
+                    .cidade("São Paulo")
+                    .estado("SP")
+                    .cep("01310-100")
+                    .build());
+            telefones.add(TelefoneDTO.builder()
+                    .id((long) i)
+                    .ddd("011")
+                    .numero("9" + (10000000 + i))
+                    .build());
+        }
+        usuarioDTO = UsuarioDTO.builder()
+                .nome("Usuário de Teste")
+                .email("usuario@exemplo.com")
+                .senha("{bcrypt}$2a$10$abcdefghijklmnopqrstuu9Yx0vQ3b8m1KqS2XoR7yC6xH5pN4wE")
+                .enderecos(enderecos)
+                .telefones(telefones)
+                .build();
+        usuario = converter.paraUsuario(usuarioDTO);
+        usuario.setId(1L);
+        usuario.setVersao(0L);
+    }
+
+    @Benchmark
+    public UsuarioDTO paraUsuarioDTO() {
+        return converter.paraUsuarioDTO(usuario);
+    }
+
+    @Benchmark
+    public Usuario paraUsuario() {
+        return converter.paraUsuario(usuarioDTO);
+    }
+}
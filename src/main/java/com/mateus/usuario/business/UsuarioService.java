@@ -1,38 +1,116 @@
 package com.mateus.usuario.business;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mateus.usuario.business.converter.UsuarioConverter;
+import com.mateus.usuario.business.disponibilidade.IndiceEmailService;
 import com.mateus.usuario.business.dto.EnderecoDTO;
+import com.mateus.usuario.business.dto.PaginaDTO;
 import com.mateus.usuario.business.dto.TelefoneDTO;
 import com.mateus.usuario.business.dto.UsuarioDTO;
+import com.mateus.usuario.business.dto.UsuarioLocalizacaoDTO;
 import com.mateus.usuario.infrastructure.entity.Endereco;
 import com.mateus.usuario.infrastructure.entity.Telefone;
 import com.mateus.usuario.infrastructure.entity.Usuario;
+import com.mateus.usuario.infrastructure.exception.BadRequestException;
 import com.mateus.usuario.infrastructure.exception.ConflictException;
+import com.mateus.usuario.infrastructure.exception.PreconditionFailedException;
 import com.mateus.usuario.infrastructure.exception.ResourceNotFoundException;
 import com.mateus.usuario.infrastructure.repository.EnderecoRepository;
+import com.mateus.usuario.infrastructure.repository.Restricoes;
 import com.mateus.usuario.infrastructure.repository.TelefoneRepository;
 import com.mateus.usuario.infrastructure.repository.UsuarioRepository;
+import com.mateus.usuario.infrastructure.security.service.UserDetailsServiceImpl;
+import com.mateus.usuario.infrastructure.security.service.AlteracaoSegurancaService;
+import com.mateus.usuario.infrastructure.security.service.VersaoSegurancaService;
 import com.mateus.usuario.infrastructure.security.util.JwtUtil;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManagerFactory;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Cada método público gera o timer "usuario.service" (tags class, method e exception), com contagem e latência
 @Service
 @RequiredArgsConstructor
+@Timed(value = "usuario.service", description = "Tempo das operações do UsuarioService")
 public class UsuarioService {
 
+    private static final int LIMITE_MAXIMO_BUSCA = 100;
+    private static final int TAMANHO_MAXIMO_LOTE = 500;
+
+    // Papéis das coleções de Usuario no cache de segundo nível
+    private static final String COLECAO_ENDERECOS = Usuario.class.getName() + ".enderecos";
+    private static final String COLECAO_TELEFONES = Usuario.class.getName() + ".telefones";
+
+    // Campos aceitos no parâmetro "fields" da busca por email
+    public static final String CAMPO_NOME = "nome";
+    public static final String CAMPO_EMAIL = "email";
+    public static final String CAMPO_ENDERECOS = "enderecos";
+    public static final String CAMPO_TELEFONES = "telefones";
+
     private final UsuarioRepository usuarioRepository;
     private final UsuarioConverter usuarioConverter;
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
     private final EnderecoRepository enderecoRepository;
     private final TelefoneRepository telefoneRepository;
+    private final VersaoSegurancaService versaoSegurancaService;
+    private final AlteracaoSegurancaService alteracaoSegurancaService;
+    private final UserDetailsServiceImpl userDetailsService;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final EntityManagerFactory entityManagerFactory;
+    private final IndiceEmailService indiceEmailService;
 
     public UsuarioDTO salvarUsuario(UsuarioDTO usuarioDTO) {
+        // Verificação rápida (índice em memória e, se preciso, banco) para não gastar o hash com emails
+        // já cadastrados; quem garante a unicidade é o índice único usado no INSERT abaixo
         emailExiste(usuarioDTO.getEmail());
         usuarioDTO.setSenha(passwordEncoder.encode(usuarioDTO.getSenha()));
         Usuario usuario = usuarioConverter.paraUsuario(usuarioDTO);
-        return usuarioConverter.paraUsuarioDTO(usuarioRepository.save(usuario));
+        try {
+            UsuarioDTO salvo = usuarioConverter.paraUsuarioDTO(transactionTemplate.execute(status -> inserirUsuario(usuario)));
+            indiceEmailService.adicionar(salvo.getEmail());
+            return salvo;
+        } catch (DataIntegrityViolationException e) {
+            // O email repetido normalmente volta como Optional vazio do ON CONFLICT; as demais violações
+            // (tamanho de coluna, campo obrigatório) são erro nos dados enviados, não conflito
+            if (Restricoes.violou(e, Restricoes.EMAIL_UNICO)) {
+                throw new ConflictException("O email: " + usuarioDTO.getEmail() + " já está cadastrado.", e);
+            }
+            throw new BadRequestException("Dados do usuário inválidos ou acima do tamanho permitido.", e);
+        }
+    }
+
+    // INSERT ... ON CONFLICT do usuário e, em seguida, os filhos (em lote) já com o usuario_id
+    private Usuario inserirUsuario(Usuario usuario) {
+        Long id = usuarioRepository.inserirSeEmailLivre(usuario.getNome(), usuario.getEmail(), usuario.getSenha())
+                .orElseThrow(() -> new ConflictException("O email: " + usuario.getEmail() + " já está cadastrado."));
+        usuario.setId(id);
+        if (usuario.getEnderecos() != null) {
+            usuario.getEnderecos().forEach(endereco -> endereco.setUsuario_id(id));
+            usuario.setEnderecos(enderecoRepository.saveAll(usuario.getEnderecos()));
+        }
+        if (usuario.getTelefones() != null) {
+            usuario.getTelefones().forEach(telefone -> telefone.setUsuario_id(id));
+            usuario.setTelefones(telefoneRepository.saveAll(usuario.getTelefones()));
+        }
+        return usuario;
     }
 
     public void emailExiste(String email) {
@@ -41,65 +119,402 @@ public class UsuarioService {
         }
     }
 
+    // O índice em memória descarta a maioria dos emails livres; só os "talvez cadastrados" vão ao banco
     private boolean verificaEmailExistente(String email) {
-        return usuarioRepository.existsByEmail(email);
+        return indiceEmailService.podeExistir(email) && usuarioRepository.existsByEmail(email);
+    }
+
+    // Consulta de disponibilidade do formulário de cadastro (chamada a cada tecla digitada)
+    public boolean emailDisponivel(String email) {
+        if (email == null || email.isBlank()) {
+            throw new BadRequestException("Email é obrigatório.");
+        }
+        return !verificaEmailExistente(email);
+    }
+
+    // Versão atual do usuário (base do ETag do perfil), sem carregar endereços e telefones nem montar o DTO.
+    // Uma consulta pelo índice de lower(email), fora do cache de segundo nível: uma versão antiga no cache
+    // responderia 304 para um perfil já alterado
+    public Long buscarVersaoUsuario(String email) {
+        return usuarioRepository.findVersaoByEmail(email)
+                .orElseThrow(() -> new ResourceNotFoundException("Email não encontrado: " + email));
     }
 
     public UsuarioDTO buscarUsuarioPorEmail(String email) {
-        return usuarioConverter.paraUsuarioDTO(usuarioRepository.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("Email não encontrado: " + email)));
+        return buscarUsuarioPorEmail(email, null);
+    }
+
+    // Busca o usuário com uma única consulta; "campos" (nome, email, enderecos, telefones) limita o que é
+    // carregado e devolvido. Sem "campos", devolve o usuário completo.
+    public UsuarioDTO buscarUsuarioPorEmail(String email, Set<String> campos) {
+        boolean completo = campos == null || campos.isEmpty();
+        UsuarioDTO usuario = usuarioRepository.buscarDTOPorEmail(email,
+                        completo || campos.contains(CAMPO_ENDERECOS),
+                        completo || campos.contains(CAMPO_TELEFONES))
+                .orElseThrow(() -> new ResourceNotFoundException("Email não encontrado: " + email));
+        if (!completo) {
+            usuario.setSenha(null);
+            usuario.setNome(campos.contains(CAMPO_NOME) ? usuario.getNome() : null);
+            usuario.setEmail(campos.contains(CAMPO_EMAIL) ? usuario.getEmail() : null);
+        }
+        return usuario;
+    }
+
+    public PaginaDTO<UsuarioLocalizacaoDTO> buscarUsuariosPorLocalizacao(String cidade, String estado, String prefixoCep,
+                                                                         Long apos, int limite) {
+        int tamanhoPagina = Math.min(Math.max(limite, 1), LIMITE_MAXIMO_BUSCA);
+        // Busca um registro a mais apenas para saber se existe próxima página
+        List<UsuarioLocalizacaoDTO> itens = enderecoRepository.buscarPorLocalizacao(
+                vazioParaNulo(cidade), vazioParaNulo(estado), vazioParaNulo(prefixoCep), apos, tamanhoPagina + 1);
+        Long proximo = null;
+        if (itens.size() > tamanhoPagina) {
+            itens = itens.subList(0, tamanhoPagina);
+            proximo = itens.get(tamanhoPagina - 1).getEnderecoId();
+        }
+        return PaginaDTO.<UsuarioLocalizacaoDTO>builder()
+                .itens(itens)
+                .proximo(proximo)
+                .build();
+    }
+
+    private static String vazioParaNulo(String valor) {
+        return valor == null || valor.isBlank() ? null : valor.trim();
     }
 
     public void deletarUsuarioPorEmail(String email) {
-        usuarioRepository.deleteByEmail(email);
+        Optional<Long> removido = transactionTemplate.execute(status -> {
+            Optional<Long> id = usuarioRepository.findIdByEmail(email);
+            usuarioRepository.deleteByEmail(email);
+            // Confirmada junto com a exclusão; as demais instâncias a leem na sincronização seguinte
+            id.ifPresent(usuarioId -> alteracaoSegurancaService.registrarExclusao(usuarioId, email));
+            return id;
+        });
+        // Revoga os tokens já emitidos só depois do commit: se a remoção falhar, o usuário continua com acesso
+        removido.ifPresent(versaoSegurancaService::revogarTodos);
+        userDetailsService.invalidar(email);
+        indiceEmailService.removido(email);
     }
 
     public UsuarioDTO atualizarDadosUsuario(String token, UsuarioDTO dto) {
+        return atualizarDadosUsuario(token, dto, null);
+    }
+
+    // PUT: campos nulos no DTO mantêm o valor atual. "versaoEsperada" vem do If-Match (null = sem verificação)
+    public UsuarioDTO atualizarDadosUsuario(String token, UsuarioDTO dto, Long versaoEsperada) {
 
         // Aqui buscamos o email do usuario através do token (tira a obrigatoriedade do email)
         String email = jwtUtil.extractUsername(token.substring(7));
 
-        // Criptografia de senha
+        // Criptografia de senha (antes da transação, para não segurar conexão durante o hash)
         dto.setSenha(dto.getSenha() != null ? passwordEncoder.encode(dto.getSenha()) : null);
 
-        // Busca os dados do usuariono banco de dados
-        Usuario usuarioEntity = usuarioRepository.findByEmail(email).orElseThrow(() ->
-                new ResourceNotFoundException("Email não localizado."));
+        // Mescla os dados que recebemos na requisição DTO com os dados do banco de dados
+        return atualizarUsuario(email, versaoEsperada, usuario -> usuarioConverter.updateUsuario(dto, usuario));
+    }
 
-        // Mesclou os dados que recebemos na requisição DTO com os dados do banco de dados
-        Usuario usuario = usuarioConverter.updateUsuario(dto, usuarioEntity);
+    // PATCH com JSON Merge Patch (RFC 7396): campos presentes substituem o valor atual, inclusive com null
+    public UsuarioDTO atualizarDadosUsuarioParcial(String token, JsonNode patch, Long versaoEsperada) {
+        String email = jwtUtil.extractUsername(token.substring(7));
+        String senha = patch.hasNonNull("senha") ? passwordEncoder.encode(patch.get("senha").asText()) : null;
+        return atualizarUsuario(email, versaoEsperada, usuario -> {
+            UsuarioDTO alterado = aplicarMergePatch(UsuarioDTO.builder()
+                    .nome(usuario.getNome())
+                    .email(usuario.getEmail())
+                    .build(), patch);
+            alterado.setSenha(senha);
+            usuarioConverter.aplicarUsuario(alterado, usuario);
+        });
+    }
 
-        // Salvou os dados do usuario convertido e depois pegou o retorno e converteu para usuarioDTO
-        return usuarioConverter.paraUsuarioDTO(usuarioRepository.save(usuario));
+    // Resultado da transação de atualização: o DTO e, se as credenciais mudaram, a nova versão de segurança
+    private record UsuarioAtualizado(UsuarioDTO dto, Long usuarioId, Long novaVersaoSeguranca) {
+    }
+
+    // Uma leitura e um UPDATE apenas das colunas alteradas, conferindo a versão (sem merge de objeto destacado)
+    private UsuarioDTO atualizarUsuario(String email, Long versaoEsperada, Consumer<Usuario> alteracao) {
+        UsuarioAtualizado resultado;
+        try {
+            resultado = transactionTemplate.execute(status -> {
+                // Busca os dados do usuario no banco de dados
+                Usuario usuario = usuarioRepository.buscarPorEmail(email).orElseThrow(() ->
+                        new ResourceNotFoundException("Email não localizado."));
+                verificarVersao(usuario.getVersao(), versaoEsperada);
+
+                String emailAnterior = usuario.getEmail();
+                String senhaAnterior = usuario.getSenha();
+                alteracao.accept(usuario);
+
+                // Troca de senha ou email invalida os tokens emitidos anteriormente
+                boolean credenciaisAlteradas = !Objects.equals(senhaAnterior, usuario.getSenha())
+                        || !emailAnterior.equalsIgnoreCase(usuario.getEmail());
+                if (credenciaisAlteradas) {
+                    usuario.setVersaoSeguranca(usuario.getVersaoSeguranca() != null ? usuario.getVersaoSeguranca() + 1 : 1L);
+                }
+
+                // O flush gera o UPDATE e incrementa a versão, que volta no ETag
+                usuarioRepository.saveAndFlush(usuario);
+                if (credenciaisAlteradas) {
+                    alteracaoSegurancaService.registrar(usuario.getId(), usuario.getVersaoSeguranca(), emailAnterior);
+                }
+                return new UsuarioAtualizado(usuarioConverter.paraUsuarioDTO(usuario), usuario.getId(),
+                        credenciaisAlteradas ? usuario.getVersaoSeguranca() : null);
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Troca para um email que já pertence a outro usuário (índice único de lower(email))
+            if (Restricoes.violou(e, Restricoes.EMAIL_UNICO)) {
+                throw new ConflictException("O email informado já está cadastrado.", e);
+            }
+            throw new BadRequestException("Dados do usuário inválidos ou acima do tamanho permitido.", e);
+        }
+        UsuarioDTO atualizado = resultado.dto();
+
+        // Só depois do commit: se a transação fosse desfeita (conflito de versão ou de email), a versão
+        // mínima em memória ficaria à frente do banco e recusaria todos os tokens do usuário
+        if (resultado.novaVersaoSeguranca() != null) {
+            versaoSegurancaService.registrarNovaVersao(resultado.usuarioId(), resultado.novaVersaoSeguranca());
+        }
+
+        // Remove do cache de autenticação tanto o email antigo quanto o novo (após o commit)
+        userDetailsService.invalidar(email);
+        userDetailsService.invalidar(atualizado.getEmail());
+        if (!email.equalsIgnoreCase(atualizado.getEmail())) {
+            indiceEmailService.adicionar(atualizado.getEmail());
+            indiceEmailService.removido(email);
+        }
+        return atualizado;
     }
 
     public EnderecoDTO atualizaEndereco(Long idEndereco, EnderecoDTO enderecoDTO) {
-        Endereco entity = enderecoRepository.findById(idEndereco).orElseThrow(() ->
-                new ResourceNotFoundException("ID não encontrado: " + idEndereco));
-        Endereco endereco = usuarioConverter.updateEndereco(enderecoDTO, entity);
-        return usuarioConverter.paraEnderecoDTO(enderecoRepository.save(endereco));
+        return atualizaEndereco(idEndereco, enderecoDTO, null);
+    }
+
+    public EnderecoDTO atualizaEndereco(Long idEndereco, EnderecoDTO enderecoDTO, Long versaoEsperada) {
+        return atualizarEndereco(idEndereco, versaoEsperada,
+                entity -> usuarioConverter.updateEndereco(enderecoDTO, entity));
+    }
+
+    public EnderecoDTO atualizaEnderecoParcial(Long idEndereco, JsonNode patch, Long versaoEsperada) {
+        return atualizarEndereco(idEndereco, versaoEsperada, entity -> usuarioConverter.aplicarEndereco(
+                aplicarMergePatch(usuarioConverter.paraEnderecoDTO(entity), patch), entity));
+    }
+
+    // Resultado da transação de escrita em um filho: o DTO e o usuário dono, descartado do cache após o commit
+    private record FilhoAlterado<T>(T dto, Long usuarioId) {
+    }
+
+    private EnderecoDTO atualizarEndereco(Long idEndereco, Long versaoEsperada, Consumer<Endereco> alteracao) {
+        FilhoAlterado<EnderecoDTO> resultado = transactionTemplate.execute(status -> {
+            Endereco entity = enderecoRepository.findById(idEndereco).orElseThrow(() ->
+                    new ResourceNotFoundException("ID não encontrado: " + idEndereco));
+            verificarVersao(entity.getVersao(), versaoEsperada);
+            alteracao.accept(entity);
+            incrementarVersaoUsuario(entity.getUsuario_id());
+            return new FilhoAlterado<>(usuarioConverter.paraEnderecoDTO(enderecoRepository.saveAndFlush(entity)),
+                    entity.getUsuario_id());
+        });
+        removerUsuarioDoCache(resultado.usuarioId());
+        return resultado.dto();
     }
 
     public TelefoneDTO atualizaTelefone(Long idTelefone, TelefoneDTO telefoneDTO) {
-        Telefone entity = telefoneRepository.findById(idTelefone).orElseThrow(() ->
-                new ResourceNotFoundException("ID não encontrado: " + idTelefone));
-        Telefone telefone = usuarioConverter.updateTelefone(telefoneDTO, entity);
-        return usuarioConverter.paraTelefoneDTO(telefoneRepository.save(telefone));
+        return atualizaTelefone(idTelefone, telefoneDTO, null);
+    }
+
+    public TelefoneDTO atualizaTelefone(Long idTelefone, TelefoneDTO telefoneDTO, Long versaoEsperada) {
+        return atualizarTelefone(idTelefone, versaoEsperada,
+                entity -> usuarioConverter.updateTelefone(telefoneDTO, entity));
+    }
+
+    public TelefoneDTO atualizaTelefoneParcial(Long idTelefone, JsonNode patch, Long versaoEsperada) {
+        return atualizarTelefone(idTelefone, versaoEsperada, entity -> usuarioConverter.aplicarTelefone(
+                aplicarMergePatch(usuarioConverter.paraTelefoneDTO(entity), patch), entity));
+    }
+
+    private TelefoneDTO atualizarTelefone(Long idTelefone, Long versaoEsperada, Consumer<Telefone> alteracao) {
+        FilhoAlterado<TelefoneDTO> resultado = transactionTemplate.execute(status -> {
+            Telefone entity = telefoneRepository.findById(idTelefone).orElseThrow(() ->
+                    new ResourceNotFoundException("ID não encontrado: " + idTelefone));
+            verificarVersao(entity.getVersao(), versaoEsperada);
+            alteracao.accept(entity);
+            incrementarVersaoUsuario(entity.getUsuario_id());
+            return new FilhoAlterado<>(usuarioConverter.paraTelefoneDTO(telefoneRepository.saveAndFlush(entity)),
+                    entity.getUsuario_id());
+        });
+        removerUsuarioDoCache(resultado.usuarioId());
+        return resultado.dto();
+    }
+
+    private void verificarVersao(Long versaoAtual, Long versaoEsperada) {
+        if (versaoEsperada != null && !versaoEsperada.equals(versaoAtual)) {
+            throw new PreconditionFailedException("O recurso foi alterado por outra requisição.");
+        }
+    }
+
+    // Aplica o JSON Merge Patch sobre o DTO com o estado atual
+    private <T> T aplicarMergePatch(T atual, JsonNode patch) {
+        if (patch == null || !patch.isObject()) {
+            throw new BadRequestException("O corpo deve ser um objeto JSON Merge Patch.");
+        }
+        try {
+            return objectMapper.readerForUpdating(atual).readValue(patch);
+        } catch (IOException e) {
+            throw new BadRequestException("JSON Merge Patch inválido: " + e.getMessage(), e);
+        }
     }
 
     public EnderecoDTO cadastraEndereco(String token, EnderecoDTO dto) {
         String email = jwtUtil.extractUsername(token.substring(7));
-        Usuario usuario = usuarioRepository.findByEmail(email).orElseThrow(() ->
+        Usuario usuario = usuarioRepository.buscarPorEmail(email).orElseThrow(() ->
                 new ResourceNotFoundException("Email não localizado " + email));
         Endereco endereco = usuarioConverter.paraEnderecoEntity(dto, usuario.getId());
-        return usuarioConverter.paraEnderecoDTO(enderecoRepository.save(endereco));
+        EnderecoDTO salvo = transactionTemplate.execute(status -> {
+            incrementarVersaoUsuario(usuario.getId());
+            return usuarioConverter.paraEnderecoDTO(enderecoRepository.save(endereco));
+        });
+        removerUsuarioDoCache(usuario.getId(), COLECAO_ENDERECOS);
+        return salvo;
     }
 
     public TelefoneDTO cadastraTelefone(String token, TelefoneDTO dto) {
         String email = jwtUtil.extractUsername(token.substring(7));
-        Usuario usuario = usuarioRepository.findByEmail(email).orElseThrow(() ->
+        Usuario usuario = usuarioRepository.buscarPorEmail(email).orElseThrow(() ->
                 new ResourceNotFoundException("Email não localizado " + email));
         Telefone telefone = usuarioConverter.paraTelefoneEntity(dto, usuario.getId());
-        return usuarioConverter.paraTelefoneDTO(telefoneRepository.save(telefone));
+        TelefoneDTO salvo = transactionTemplate.execute(status -> {
+            incrementarVersaoUsuario(usuario.getId());
+            return usuarioConverter.paraTelefoneDTO(telefoneRepository.save(telefone));
+        });
+        removerUsuarioDoCache(usuario.getId(), COLECAO_TELEFONES);
+        return salvo;
+    }
+
+    // Cadastro em lote: o usuário é resolvido uma vez e todos os itens vão em INSERTs em lote
+    // (hibernate.jdbc.batch_size) numa única transação; a resposta mantém a ordem da requisição
+    public List<EnderecoDTO> cadastraEnderecos(String token, List<EnderecoDTO> dtos) {
+        validarLote(dtos);
+        Long idUsuario = buscarIdUsuario(token);
+        List<Endereco> enderecos = dtos.stream()
+                .map(dto -> usuarioConverter.paraEnderecoEntity(dto, idUsuario))
+                .toList();
+        List<EnderecoDTO> salvos = transactionTemplate.execute(status -> {
+            incrementarVersaoUsuario(idUsuario);
+            return enderecoRepository.saveAll(enderecos).stream()
+                    .map(usuarioConverter::paraEnderecoDTO)
+                    .toList();
+        });
+        removerUsuarioDoCache(idUsuario, COLECAO_ENDERECOS);
+        return salvos;
+    }
+
+    public List<TelefoneDTO> cadastraTelefones(String token, List<TelefoneDTO> dtos) {
+        validarLote(dtos);
+        Long idUsuario = buscarIdUsuario(token);
+        List<Telefone> telefones = dtos.stream()
+                .map(dto -> usuarioConverter.paraTelefoneEntity(dto, idUsuario))
+                .toList();
+        List<TelefoneDTO> salvos = transactionTemplate.execute(status -> {
+            incrementarVersaoUsuario(idUsuario);
+            return telefoneRepository.saveAll(telefones).stream()
+                    .map(usuarioConverter::paraTelefoneDTO)
+                    .toList();
+        });
+        removerUsuarioDoCache(idUsuario, COLECAO_TELEFONES);
+        return salvos;
+    }
+
+    // Atualização em lote: uma consulta para todos os ids, UPDATEs em lote no flush e tudo ou nada.
+    // Só altera itens do usuário do token; campos nulos mantêm o valor atual, como no PUT unitário
+    public List<EnderecoDTO> atualizaEnderecos(String token, List<EnderecoDTO> dtos) {
+        validarLote(dtos);
+        Long idUsuario = buscarIdUsuario(token);
+        List<EnderecoDTO> atualizados = transactionTemplate.execute(status -> {
+            Map<Long, Endereco> enderecos = enderecoRepository.findAllById(idsDoLote(dtos, EnderecoDTO::getId)).stream()
+                    .filter(endereco -> idUsuario.equals(endereco.getUsuario_id()))
+                    .collect(Collectors.toMap(Endereco::getId, Function.identity()));
+            List<Endereco> alterados = new ArrayList<>(dtos.size());
+            for (EnderecoDTO dto : dtos) {
+                Endereco entity = enderecos.get(dto.getId());
+                if (entity == null) {
+                    throw new ResourceNotFoundException("ID não encontrado: " + dto.getId());
+                }
+                alterados.add(usuarioConverter.updateEndereco(dto, entity));
+            }
+            incrementarVersaoUsuario(idUsuario);
+            enderecoRepository.flush();
+            return alterados.stream().map(usuarioConverter::paraEnderecoDTO).toList();
+        });
+        removerUsuarioDoCache(idUsuario);
+        return atualizados;
+    }
+
+    public List<TelefoneDTO> atualizaTelefones(String token, List<TelefoneDTO> dtos) {
+        validarLote(dtos);
+        Long idUsuario = buscarIdUsuario(token);
+        List<TelefoneDTO> atualizados = transactionTemplate.execute(status -> {
+            Map<Long, Telefone> telefones = telefoneRepository.findAllById(idsDoLote(dtos, TelefoneDTO::getId)).stream()
+                    .filter(telefone -> idUsuario.equals(telefone.getUsuario_id()))
+                    .collect(Collectors.toMap(Telefone::getId, Function.identity()));
+            List<Telefone> alterados = new ArrayList<>(dtos.size());
+            for (TelefoneDTO dto : dtos) {
+                Telefone entity = telefones.get(dto.getId());
+                if (entity == null) {
+                    throw new ResourceNotFoundException("ID não encontrado: " + dto.getId());
+                }
+                alterados.add(usuarioConverter.updateTelefone(dto, entity));
+            }
+            incrementarVersaoUsuario(idUsuario);
+            telefoneRepository.flush();
+            return alterados.stream().map(usuarioConverter::paraTelefoneDTO).toList();
+        });
+        removerUsuarioDoCache(idUsuario);
+        return atualizados;
+    }
+
+    // O ETag do perfil cobre endereços e telefones: toda escrita neles incrementa a versão do usuário
+    private void incrementarVersaoUsuario(Long idUsuario) {
+        if (idUsuario != null) {
+            usuarioRepository.findByIdIncrementandoVersao(idUsuario);
+        }
+    }
+
+    // Chamado após o commit de toda escrita em endereços e telefones. O incremento por lock não atualiza a entrada
+    // do usuário no cache de segundo nível (ficaria com a versão antiga) e os filhos inseridos pelos próprios
+    // repositórios não passam pela coleção do usuário, cuja lista de ids também é descartada. Escritas de outras
+    // instâncias são percebidas na leitura, pela versão (ver UsuarioLeituraRepositoryImpl)
+    private void removerUsuarioDoCache(Long idUsuario, String... colecoes) {
+        org.hibernate.Cache cache = entityManagerFactory.getCache().unwrap(org.hibernate.Cache.class);
+        cache.evictEntityData(Usuario.class, idUsuario);
+        for (String colecao : colecoes) {
+            cache.evictCollectionData(colecao, idUsuario);
+        }
+    }
+
+    private Long buscarIdUsuario(String token) {
+        String email = jwtUtil.extractUsername(token.substring(7));
+        return usuarioRepository.findIdByEmail(email).orElseThrow(() ->
+                new ResourceNotFoundException("Email não localizado " + email));
+    }
+
+    private void validarLote(List<?> itens) {
+        if (itens == null || itens.isEmpty()) {
+            throw new BadRequestException("Informe ao menos um item.");
+        }
+        if (itens.size() > TAMANHO_MAXIMO_LOTE) {
+            throw new BadRequestException("No máximo " + TAMANHO_MAXIMO_LOTE + " itens por requisição.");
+        }
+    }
+
+    private <T> Set<Long> idsDoLote(List<T> dtos, Function<T, Long> id) {
+        Set<Long> ids = new HashSet<>(dtos.size());
+        for (T dto : dtos) {
+            Long valor = id.apply(dto);
+            if (valor == null) {
+                throw new BadRequestException("Todos os itens devem informar o id.");
+            }
+            if (!ids.add(valor)) {
+                throw new BadRequestException("ID repetido na requisição: " + valor);
+            }
+        }
+        return ids;
     }
 }
@@ -0,0 +1,178 @@
+package com.mateus.usuario.business.converter;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.mateus.usuario.business.dto.EnderecoDTO;
+import com.mateus.usuario.business.dto.TelefoneDTO;
+import com.mateus.usuario.business.dto.UsuarioDTO;
+import com.mateus.usuario.infrastructure.entity.Endereco;
+import com.mateus.usuario.infrastructure.entity.Telefone;
+import com.mateus.usuario.infrastructure.entity.Usuario;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.List;
+
+// Escreve usuários, endereços e telefones direto no JsonGenerator, sem reflexão do Jackson sobre os DTOs
+// e sem objetos intermediários: nomes de campo pré-codificados (SerializedString) e listas percorridas por
+// índice. A senha nunca é escrita, nem a partir do DTO nem da entidade.
+// Registrado como módulo no ObjectMapper do Spring (respostas dos controllers); a exportação usa os
+// métodos estáticos direto sobre as entidades. O formato é o mesmo da serialização por reflexão
+// (UsuarioDTO omite campos nulos; endereço e telefone escrevem todos os campos).
+@Component
+public class SerializadorUsuario extends SimpleModule {
+
+    private static final SerializedString NOME = new SerializedString("nome");
+    private static final SerializedString EMAIL = new SerializedString("email");
+    private static final SerializedString ENDERECOS = new SerializedString("enderecos");
+    private static final SerializedString TELEFONES = new SerializedString("telefones");
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString RUA = new SerializedString("rua");
+    private static final SerializedString NUMERO = new SerializedString("numero");
+    private static final SerializedString COMPLEMENTO = new SerializedString("complemento");
+    private static final SerializedString CIDADE = new SerializedString("cidade");
+    private static final SerializedString ESTADO = new SerializedString("estado");
+    private static final SerializedString CEP = new SerializedString("cep");
+    private static final SerializedString DDD = new SerializedString("ddd");
+
+    public SerializadorUsuario() {
+        super("SerializadorUsuario");
+        addSerializer(UsuarioDTO.class, new StdSerializer<>(UsuarioDTO.class) {
+            @Override
+            public void serialize(UsuarioDTO usuario, JsonGenerator gerador, SerializerProvider provider) throws IOException {
+                escreverUsuario(gerador, usuario);
+            }
+        });
+        addSerializer(EnderecoDTO.class, new StdSerializer<>(EnderecoDTO.class) {
+            @Override
+            public void serialize(EnderecoDTO endereco, JsonGenerator gerador, SerializerProvider provider) throws IOException {
+                escreverEndereco(gerador, endereco);
+            }
+        });
+        addSerializer(TelefoneDTO.class, new StdSerializer<>(TelefoneDTO.class) {
+            @Override
+            public void serialize(TelefoneDTO telefone, JsonGenerator gerador, SerializerProvider provider) throws IOException {
+                escreverTelefone(gerador, telefone);
+            }
+        });
+    }
+
+    // Entidades: endereços e telefones são recebidos à parte (já carregados), sem tocar nas coleções lazy
+    public static void escreverUsuario(JsonGenerator gerador, Usuario usuario,
+                                       List<Endereco> enderecos, List<Telefone> telefones) throws IOException {
+        gerador.writeStartObject();
+        textoSeNaoNulo(gerador, NOME, usuario.getNome());
+        textoSeNaoNulo(gerador, EMAIL, usuario.getEmail());
+        if (enderecos != null) {
+            gerador.writeFieldName(ENDERECOS);
+            gerador.writeStartArray();
+            for (int i = 0; i < enderecos.size(); i++) {
+                escreverEndereco(gerador, enderecos.get(i));
+            }
+            gerador.writeEndArray();
+        }
+        if (telefones != null) {
+            gerador.writeFieldName(TELEFONES);
+            gerador.writeStartArray();
+            for (int i = 0; i < telefones.size(); i++) {
+                escreverTelefone(gerador, telefones.get(i));
+            }
+            gerador.writeEndArray();
+        }
+        gerador.writeEndObject();
+    }
+
+    public static void escreverEndereco(JsonGenerator gerador, Endereco endereco) throws IOException {
+        gerador.writeStartObject();
+        numero(gerador, ID, endereco.getId());
+        texto(gerador, RUA, endereco.getRua());
+        texto(gerador, NUMERO, endereco.getNumero());
+        texto(gerador, COMPLEMENTO, endereco.getComplemento());
+        texto(gerador, CIDADE, endereco.getCidade());
+        texto(gerador, ESTADO, endereco.getEstado());
+        texto(gerador, CEP, endereco.getCep());
+        gerador.writeEndObject();
+    }
+
+    public static void escreverTelefone(JsonGenerator gerador, Telefone telefone) throws IOException {
+        gerador.writeStartObject();
+        numero(gerador, ID, telefone.getId());
+        texto(gerador, DDD, telefone.getDdd());
+        texto(gerador, NUMERO, telefone.getNumero());
+        gerador.writeEndObject();
+    }
+
+    // DTOs: mesmos campos e ordem da serialização por reflexão, exceto a senha
+    public static void escreverUsuario(JsonGenerator gerador, UsuarioDTO usuario) throws IOException {
+        gerador.writeStartObject();
+        textoSeNaoNulo(gerador, NOME, usuario.getNome());
+        textoSeNaoNulo(gerador, EMAIL, usuario.getEmail());
+        List<EnderecoDTO> enderecos = usuario.getEnderecos();
+        if (enderecos != null) {
+            gerador.writeFieldName(ENDERECOS);
+            gerador.writeStartArray();
+            for (int i = 0; i < enderecos.size(); i++) {
+                escreverEndereco(gerador, enderecos.get(i));
+            }
+            gerador.writeEndArray();
+        }
+        List<TelefoneDTO> telefones = usuario.getTelefones();
+        if (telefones != null) {
+            gerador.writeFieldName(TELEFONES);
+            gerador.writeStartArray();
+            for (int i = 0; i < telefones.size(); i++) {
+                escreverTelefone(gerador, telefones.get(i));
+            }
+            gerador.writeEndArray();
+        }
+        gerador.writeEndObject();
+    }
+
+    public static void escreverEndereco(JsonGenerator gerador, EnderecoDTO endereco) throws IOException {
+        gerador.writeStartObject();
+        numero(gerador, ID, endereco.getId());
+        texto(gerador, RUA, endereco.getRua());
+        texto(gerador, NUMERO, endereco.getNumero());
+        texto(gerador, COMPLEMENTO, endereco.getComplemento());
+        texto(gerador, CIDADE, endereco.getCidade());
+        texto(gerador, ESTADO, endereco.getEstado());
+        texto(gerador, CEP, endereco.getCep());
+        gerador.writeEndObject();
+    }
+
+    public static void escreverTelefone(JsonGenerator gerador, TelefoneDTO telefone) throws IOException {
+        gerador.writeStartObject();
+        numero(gerador, ID, telefone.getId());
+        texto(gerador, DDD, telefone.getDdd());
+        texto(gerador, NUMERO, telefone.getNumero());
+        gerador.writeEndObject();
+    }
+
+    private static void texto(JsonGenerator gerador, SerializedString campo, String valor) throws IOException {
+        gerador.writeFieldName(campo);
+        if (valor != null) {
+            gerador.writeString(valor);
+        } else {
+            gerador.writeNull();
+        }
+    }
+
+    private static void textoSeNaoNulo(JsonGenerator gerador, SerializedString campo, String valor) throws IOException {
+        if (valor != null) {
+            gerador.writeFieldName(campo);
+            gerador.writeString(valor);
+        }
+    }
+
+    private static void numero(JsonGenerator gerador, SerializedString campo, Long valor) throws IOException {
+        gerador.writeFieldName(campo);
+        if (valor != null) {
+            gerador.writeNumber(valor.longValue());
+        } else {
+            gerador.writeNull();
+        }
+    }
+}
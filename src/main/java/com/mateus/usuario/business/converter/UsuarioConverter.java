@@ -27,6 +27,15 @@ public class UsuarioConverter {
                 .build();
     }
 
+    // UsuarioDTO -> Usuario sem endereços e telefones (usado quando os filhos são gravados à parte, já com usuario_id)
+    public Usuario paraUsuarioSemFilhos(UsuarioDTO usuarioDTO) {
+        return Usuario.builder()
+                .nome(usuarioDTO.getNome())
+                .email(usuarioDTO.getEmail())
+                .senha(usuarioDTO.getSenha())
+                .build();
+    }
+
     public List<Endereco> paraListaEndereco(List<EnderecoDTO> enderecosDTO) {
         return enderecosDTO.stream().map(this::paraEndereco).collect(Collectors.toList());
     }
@@ -59,6 +68,7 @@ public class UsuarioConverter {
                 .nome(usuarioDTO.getNome())
                 .email(usuarioDTO.getEmail())
                 .senha(usuarioDTO.getSenha())
+                .versao(usuarioDTO.getVersao())
                 .enderecos(usuarioDTO.getEnderecos() != null ?
                         paraListaEnderecoDTO(usuarioDTO.getEnderecos()) : null)
                 .telefones(usuarioDTO.getTelefones() != null ?
@@ -79,6 +89,7 @@ public class UsuarioConverter {
                 .cep(endereco.getCep())
                 .cidade(endereco.getCidade())
                 .estado(endereco.getEstado())
+                .versao(endereco.getVersao())
                 .build();
     }
 
@@ -91,39 +102,59 @@ public class UsuarioConverter {
                 .id(telefone.getId())
                 .ddd(telefone.getDdd())
                 .numero(telefone.getNumero())
+                .versao(telefone.getVersao())
                 .build();
     }
 
-// Builder que faz as comparações
+// Atualizações feitas na própria entidade gerenciada: o Hibernate gera o UPDATE apenas das colunas alteradas
+// (@DynamicUpdate) e confere a coluna de versão, sem SELECT extra de merge.
+// update*: campos nulos no DTO mantêm o valor atual (PUT)
     public Usuario updateUsuario(UsuarioDTO usuarioDTO, Usuario entity) {
-        return Usuario.builder()
-                .id(entity.getId())
-                .nome(usuarioDTO.getNome() != null ? usuarioDTO.getNome() : entity.getNome())
-                .senha(usuarioDTO.getSenha() != null ? usuarioDTO.getSenha() : entity.getSenha())
-                .email(usuarioDTO.getEmail() != null ? usuarioDTO.getEmail() : entity.getEmail())
-                .enderecos(entity.getEnderecos())
-                .telefones(entity.getTelefones())
-                .build();
+        entity.setNome(usuarioDTO.getNome() != null ? usuarioDTO.getNome() : entity.getNome());
+        entity.setSenha(usuarioDTO.getSenha() != null ? usuarioDTO.getSenha() : entity.getSenha());
+        entity.setEmail(usuarioDTO.getEmail() != null ? usuarioDTO.getEmail() : entity.getEmail());
+        return entity;
     }
 
     public Endereco updateEndereco(EnderecoDTO dto, Endereco entity) {
-        return Endereco.builder()
-                .id(entity.getId())
-                .rua(dto.getRua() != null ? dto.getRua() : entity.getRua())
-                .numero(dto.getNumero() != null ? dto.getNumero() : entity.getNumero())
-                .complemento(dto.getComplemento() != null ? dto.getComplemento() : entity.getComplemento())
-                .cep(dto.getCep() != null ? dto.getCep() : entity.getCep())
-                .cidade(dto.getCidade() != null ? dto.getCidade() : entity.getCep())
-                .estado(dto.getEstado() != null ? dto.getEstado() : entity.getEstado())
-                .build();
+        entity.setRua(dto.getRua() != null ? dto.getRua() : entity.getRua());
+        entity.setNumero(dto.getNumero() != null ? dto.getNumero() : entity.getNumero());
+        entity.setComplemento(dto.getComplemento() != null ? dto.getComplemento() : entity.getComplemento());
+        entity.setCep(dto.getCep() != null ? dto.getCep() : entity.getCep());
+        entity.setCidade(dto.getCidade() != null ? dto.getCidade() : entity.getCidade());
+        entity.setEstado(dto.getEstado() != null ? dto.getEstado() : entity.getEstado());
+        return entity;
     }
 
     public Telefone updateTelefone(TelefoneDTO dto, Telefone entity) {
-        return Telefone.builder()
-                .id(entity.getId())
-                .ddd(dto.getDdd() != null ? dto.getDdd() : entity.getDdd())
-                .numero(dto.getNumero() != null ? dto.getNumero() : entity.getNumero())
-                .build();
+        entity.setDdd(dto.getDdd() != null ? dto.getDdd() : entity.getDdd());
+        entity.setNumero(dto.getNumero() != null ? dto.getNumero() : entity.getNumero());
+        return entity;
+    }
+
+// aplica*: o DTO já é o estado final após o JSON Merge Patch (PATCH); nulos são gravados como nulos,
+// exceto email e senha, que são obrigatórios
+    public Usuario aplicarUsuario(UsuarioDTO usuarioDTO, Usuario entity) {
+        entity.setNome(usuarioDTO.getNome());
+        entity.setEmail(usuarioDTO.getEmail() != null ? usuarioDTO.getEmail() : entity.getEmail());
+        entity.setSenha(usuarioDTO.getSenha() != null ? usuarioDTO.getSenha() : entity.getSenha());
+        return entity;
+    }
+
+    public Endereco aplicarEndereco(EnderecoDTO dto, Endereco entity) {
+        entity.setRua(dto.getRua());
+        entity.setNumero(dto.getNumero());
+        entity.setComplemento(dto.getComplemento());
+        entity.setCep(dto.getCep());
+        entity.setCidade(dto.getCidade());
+        entity.setEstado(dto.getEstado());
+        return entity;
+    }
+
+    public Telefone aplicarTelefone(TelefoneDTO dto, Telefone entity) {
+        entity.setDdd(dto.getDdd());
+        entity.setNumero(dto.getNumero());
+        return entity;
     }
 
     public Endereco paraEnderecoEntity(EnderecoDTO dto, Long idUsuario) {
@@ -0,0 +1,211 @@
+package com.mateus.usuario.business.disponibilidade;
+
+import com.mateus.usuario.infrastructure.repository.UsuarioRepository;
+import com.mateus.usuario.infrastructure.security.util.FiltroBloom;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+// Índice em memória dos emails cadastrados, para responder "email livre" sem consultar o banco.
+// O filtro de Bloom só dá certeza no negativo: "não contém" significa email livre; "pode conter"
+// precisa ser confirmado no banco por quem chama.
+//
+// É montado depois da inicialização, lendo os emails em lotes por id, e recebe os cadastros feitos por esta
+// instância. Os cadastros de outras instâncias chegam pela varredura incremental a cada verificação, que relê
+// os ids a partir de "margem-ids" abaixo do maior já visto: com a sequência em blocos (pooled) cada instância
+// grava ids do seu próprio bloco, então um id menor pode ser confirmado depois de um maior. Emails trocados em
+// outra instância (mesmo id) só entram na próxima reconstrução; até lá o cadastro com esse email é barrado pelo
+// índice único no INSERT. Como não aceita remoção, emails removidos ou trocados continuam como "pode conter"
+// (resolvido pela confirmação no banco) até a próxima reconstrução.
+// Enquanto não estiver pronto, tudo é tratado como "pode conter".
+@Slf4j
+@Service
+public class IndiceEmailService {
+
+    private final UsuarioRepository usuarioRepository;
+    private final int capacidadeMinima;
+    private final double taxaFalsoPositivo;
+    private final int tamanhoLote;
+    private final Duration intervaloReconstrucao;
+    private final long margemIds;
+
+    // Protege a troca de filtro: um cadastro confirmado entra no filtro atual e no que está sendo montado,
+    // ou, se chegar depois da troca, no novo. Só a troca fica sob a trava, não a leitura do banco
+    private final Object trava = new Object();
+    private volatile FiltroBloom filtro;
+    // Filtro em montagem durante a reconstrução; recebe também os cadastros feitos nesse intervalo
+    private FiltroBloom proximoFiltro;
+    private volatile int capacidade;
+    private volatile Instant ultimaReconstrucao = Instant.EPOCH;
+    // Maior id lido do banco (reconstrução ou varredura incremental)
+    private volatile long maiorIdVisto;
+
+    // Entradas desde a última reconstrução: adicionadas (ocupam o filtro) e obsoletas (removidas ou trocadas)
+    private final AtomicLong adicionados = new AtomicLong();
+    private final AtomicLong obsoletos = new AtomicLong();
+
+    // Consultas respondidas só pelo filtro (email livre) e as que precisaram ir ao banco
+    private final Counter respondidasPeloFiltro;
+    private final Counter enviadasAoBanco;
+
+    public IndiceEmailService(UsuarioRepository usuarioRepository, MeterRegistry meterRegistry,
+                              @Value("${usuario.disponibilidade.capacidade:100000}") int capacidadeMinima,
+                              @Value("${usuario.disponibilidade.taxa-falso-positivo:0.01}") double taxaFalsoPositivo,
+                              @Value("${usuario.disponibilidade.tamanho-lote:5000}") int tamanhoLote,
+                              @Value("${usuario.disponibilidade.reconstrucao:15m}") Duration intervaloReconstrucao,
+                              @Value("${usuario.disponibilidade.margem-ids:1000}") long margemIds) {
+        this.usuarioRepository = usuarioRepository;
+        this.capacidadeMinima = capacidadeMinima;
+        this.taxaFalsoPositivo = taxaFalsoPositivo;
+        this.tamanhoLote = tamanhoLote;
+        this.intervaloReconstrucao = intervaloReconstrucao;
+        this.margemIds = margemIds;
+        Gauge.builder("usuario.disponibilidade.indice", adicionados, AtomicLong::get)
+                .description("Emails adicionados ao índice desde a última reconstrução")
+                .register(meterRegistry);
+        this.respondidasPeloFiltro = Counter.builder("usuario.disponibilidade.consultas")
+                .tag("origem", "filtro")
+                .register(meterRegistry);
+        this.enviadasAoBanco = Counter.builder("usuario.disponibilidade.consultas")
+                .tag("origem", "banco")
+                .register(meterRegistry);
+    }
+
+    // false: email certamente não cadastrado; true: talvez cadastrado (confirmar no banco)
+    public boolean podeExistir(String email) {
+        FiltroBloom atual = filtro;
+        if (atual == null || email == null || atual.podeConter(normalizar(email))) {
+            enviadasAoBanco.increment();
+            return true;
+        }
+        respondidasPeloFiltro.increment();
+        return false;
+    }
+
+    // Deve ser chamado depois que o INSERT foi confirmado
+    public void adicionar(String email) {
+        if (email == null) {
+            return;
+        }
+        String chave = normalizar(email);
+        synchronized (trava) {
+            if (filtro != null) {
+                filtro.adicionar(chave);
+            }
+            if (proximoFiltro != null) {
+                proximoFiltro.adicionar(chave);
+            }
+        }
+        adicionados.incrementAndGet();
+    }
+
+    // Email removido ou substituído: continua no filtro, mas conta para antecipar a reconstrução
+    public void removido(String email) {
+        obsoletos.incrementAndGet();
+    }
+
+    // Montagem inicial sem atrasar a subida da aplicação (até lá, as verificações vão ao banco).
+    // Uma falha aqui não derruba a aplicação: o agendamento tenta de novo
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        try {
+            reconstruir();
+        } catch (RuntimeException e) {
+            log.warn("Índice de emails não montado, verificações seguem pelo banco: {}", e.getMessage());
+        }
+    }
+
+    // Reconstrói periodicamente, ou antes se o filtro passou da capacidade ou acumulou muitas entradas obsoletas.
+    // Fora isso, só lê os cadastros recentes (inclusive os de outras instâncias)
+    @Scheduled(fixedDelayString = "${usuario.disponibilidade.verificacao:1m}",
+            initialDelayString = "${usuario.disponibilidade.verificacao:1m}")
+    public void reconstruirSeNecessario() {
+        boolean vencido = !Instant.now().isBefore(ultimaReconstrucao.plus(intervaloReconstrucao));
+        boolean cheio = adicionados.get() >= capacidade;
+        boolean desatualizado = obsoletos.get() >= capacidade / 10;
+        if (filtro == null || vencido || cheio || desatualizado) {
+            reconstruir();
+        } else {
+            lerRecentes();
+        }
+    }
+
+    // Relê a partir de "margemIds" abaixo do maior id visto; reler um email já presente não altera o filtro
+    synchronized void lerRecentes() {
+        FiltroBloom atual = filtro;
+        if (atual == null) {
+            return;
+        }
+        long anterior = maiorIdVisto;
+        AtomicLong novos = new AtomicLong();
+        maiorIdVisto = Math.max(anterior, lerAposId(Math.max(0, anterior - margemIds), email -> {
+            atual.adicionar(email.getEmail());
+            if (email.getId() > anterior) {
+                novos.incrementAndGet();
+            }
+        }));
+        adicionados.addAndGet(novos.get());
+    }
+
+    synchronized void reconstruir() {
+        // Folga para os cadastros até a próxima reconstrução
+        int novaCapacidade = (int) Math.min(Integer.MAX_VALUE, Math.max(capacidadeMinima, usuarioRepository.count() * 2));
+        FiltroBloom novo = new FiltroBloom(novaCapacidade, taxaFalsoPositivo);
+        // Cadastros confirmados antes daqui aparecem na leitura; os seguintes entram pelo adicionar
+        synchronized (trava) {
+            proximoFiltro = novo;
+        }
+        try {
+            AtomicLong total = new AtomicLong();
+            long ultimoId = lerAposId(0L, email -> {
+                novo.adicionar(email.getEmail());
+                total.incrementAndGet();
+            });
+
+            synchronized (trava) {
+                filtro = novo;
+            }
+            capacidade = novaCapacidade;
+            maiorIdVisto = ultimoId;
+            adicionados.set(total.get());
+            obsoletos.set(0);
+            ultimaReconstrucao = Instant.now();
+        } finally {
+            synchronized (trava) {
+                proximoFiltro = null;
+            }
+        }
+    }
+
+    // Lê em lotes, em ordem de id, os emails com id maior que "aposId"; devolve o último id lido
+    private long lerAposId(long aposId, Consumer<UsuarioRepository.EmailPorId> consumidor) {
+        long ultimoId = aposId;
+        List<UsuarioRepository.EmailPorId> lote;
+        do {
+            lote = usuarioRepository.findEmailsAposId(ultimoId, Limit.of(tamanhoLote));
+            lote.forEach(consumidor);
+            if (!lote.isEmpty()) {
+                ultimoId = lote.get(lote.size() - 1).getId();
+            }
+        } while (lote.size() == tamanhoLote);
+        return ultimoId;
+    }
+
+    private static String normalizar(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+}
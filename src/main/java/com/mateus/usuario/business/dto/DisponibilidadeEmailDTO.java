@@ -0,0 +1,15 @@
+package com.mateus.usuario.business.dto;
+
+import lombok.*;
+
+// Resposta da consulta de disponibilidade de email usada no formulário de cadastro
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DisponibilidadeEmailDTO {
+
+    private String email;
+    private boolean disponivel;
+}
@@ -1,5 +1,6 @@
 package com.mateus.usuario.business.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.*;
 
 @Getter
@@ -16,4 +17,8 @@ public class EnderecoDTO {
     private String cidade;
     private String estado;
     private String cep;
+
+    // Versão da entidade, enviada apenas no cabeçalho ETag
+    @JsonIgnore
+    private Long versao;
 }
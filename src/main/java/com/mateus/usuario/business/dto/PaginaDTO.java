@@ -0,0 +1,17 @@
+package com.mateus.usuario.business.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+// Página de resultados com paginação por chave: "proximo" é o cursor da próxima página (null na última)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PaginaDTO<T> {
+
+    private List<T> itens;
+    private Long proximo;
+}
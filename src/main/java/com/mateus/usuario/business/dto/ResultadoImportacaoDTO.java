@@ -0,0 +1,24 @@
+package com.mateus.usuario.business.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ResultadoImportacaoDTO {
+
+    public static final String CRIADO = "CRIADO";
+    public static final String CONFLITO = "CONFLITO";
+    public static final String INVALIDO = "INVALIDO";
+    public static final String ERRO = "ERRO";
+
+    private int linha;
+    private String email;
+    private String status;
+    private Long id;
+    private String mensagem;
+}
@@ -1,5 +1,6 @@
 package com.mateus.usuario.business.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.*;
 
 @Getter
@@ -12,4 +13,8 @@ public class TelefoneDTO {
     private Long id;
     private String ddd;
     private String numero;
+
+    // Versão da entidade, enviada apenas no cabeçalho ETag
+    @JsonIgnore
+    private Long versao;
 }
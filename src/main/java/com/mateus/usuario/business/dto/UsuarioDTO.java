@@ -1,5 +1,7 @@
 package com.mateus.usuario.business.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.*;
 
 import java.util.List;
@@ -9,6 +11,7 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class UsuarioDTO {
 
     private String nome;
@@ -17,4 +20,7 @@ public class UsuarioDTO {
     private List<EnderecoDTO> enderecos;
     private List<TelefoneDTO> telefones;
 
+    // Versão da entidade, enviada apenas no cabeçalho ETag
+    @JsonIgnore
+    private Long versao;
 }
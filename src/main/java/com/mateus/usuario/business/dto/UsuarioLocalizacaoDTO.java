@@ -0,0 +1,23 @@
+package com.mateus.usuario.business.dto;
+
+import lombok.*;
+
+// Linha do resultado da busca por localização: dados básicos do usuário e o endereço encontrado
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UsuarioLocalizacaoDTO {
+
+    private Long usuarioId;
+    private String nome;
+    private String email;
+    private Long enderecoId;
+    private String rua;
+    private String numero;
+    private String complemento;
+    private String cidade;
+    private String estado;
+    private String cep;
+}
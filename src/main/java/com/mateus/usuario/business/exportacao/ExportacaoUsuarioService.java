@@ -0,0 +1,71 @@
+package com.mateus.usuario.business.exportacao;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mateus.usuario.business.converter.SerializadorUsuario;
+import com.mateus.usuario.infrastructure.entity.Endereco;
+import com.mateus.usuario.infrastructure.entity.Telefone;
+import com.mateus.usuario.infrastructure.entity.Usuario;
+import com.mateus.usuario.infrastructure.repository.EnderecoRepository;
+import com.mateus.usuario.infrastructure.repository.TelefoneRepository;
+import com.mateus.usuario.infrastructure.repository.UsuarioRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+// Exportação completa dos usuários em NDJSON. Lê a tabela em lotes ordenados por id (paginação por chave),
+// busca endereços e telefones de cada lote com uma consulta para cada tipo e escreve o lote antes de ler o próximo,
+// mantendo o uso de memória constante independentemente do tamanho da tabela.
+// As entidades são escritas direto no JsonGenerator (SerializadorUsuario), sem montar um DTO por usuário.
+@Service
+@RequiredArgsConstructor
+public class ExportacaoUsuarioService {
+
+    private final UsuarioRepository usuarioRepository;
+    private final EnderecoRepository enderecoRepository;
+    private final TelefoneRepository telefoneRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    @Value("${usuario.exportacao.tamanho-lote:1000}")
+    private int tamanhoLote;
+
+    public void exportar(OutputStream saida) throws IOException {
+        try (JsonGenerator gerador = objectMapper.getFactory().createGenerator(saida)) {
+            gerador.setRootValueSeparator(new SerializedString("\n"));
+            Long ultimoId = 0L;
+            List<Usuario> lote;
+            do {
+                lote = usuarioRepository.findLoteAposId(ultimoId, Limit.of(tamanhoLote));
+                if (lote.isEmpty()) {
+                    break;
+                }
+                List<Long> ids = lote.stream().map(Usuario::getId).toList();
+                Map<Long, List<Endereco>> enderecos = enderecoRepository.findByUsuarioIds(ids).stream()
+                        .collect(Collectors.groupingBy(Endereco::getUsuario_id));
+                Map<Long, List<Telefone>> telefones = telefoneRepository.findByUsuarioIds(ids).stream()
+                        .collect(Collectors.groupingBy(Telefone::getUsuario_id));
+
+                for (Usuario usuario : lote) {
+                    SerializadorUsuario.escreverUsuario(gerador, usuario,
+                            enderecos.getOrDefault(usuario.getId(), List.of()),
+                            telefones.getOrDefault(usuario.getId(), List.of()));
+                }
+                gerador.flush();
+
+                ultimoId = lote.get(lote.size() - 1).getId();
+                // Descarta as entidades do lote já exportado
+                entityManager.clear();
+            } while (lote.size() == tamanhoLote);
+        }
+    }
+}
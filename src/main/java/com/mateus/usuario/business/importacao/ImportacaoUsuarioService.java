@@ -0,0 +1,207 @@
+package com.mateus.usuario.business.importacao;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.mateus.usuario.business.converter.UsuarioConverter;
+import com.mateus.usuario.business.disponibilidade.IndiceEmailService;
+import com.mateus.usuario.business.dto.EnderecoDTO;
+import com.mateus.usuario.business.dto.ResultadoImportacaoDTO;
+import com.mateus.usuario.business.dto.TelefoneDTO;
+import com.mateus.usuario.business.dto.UsuarioDTO;
+import com.mateus.usuario.infrastructure.entity.Usuario;
+import com.mateus.usuario.infrastructure.repository.Restricoes;
+import com.mateus.usuario.infrastructure.repository.UsuarioRepository;
+import com.mateus.usuario.infrastructure.security.util.BoundedPasswordEncoder;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+// Importação em massa de usuários: lê o arquivo em lotes de tamanho fixo e, para cada lote,
+// verifica conflitos de email com uma única consulta, calcula os hashes em paralelo e grava
+// usuários, endereços e telefones com INSERTs em lote (hibernate.jdbc.batch_size) em uma transação.
+// O resultado de cada registro é escrito em NDJSON assim que o lote termina; se o lote falhar, os registros
+// são gravados um a um para que só os problemáticos sejam recusados.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ImportacaoUsuarioService {
+
+    private final UsuarioRepository usuarioRepository;
+    private final UsuarioConverter usuarioConverter;
+    private final BoundedPasswordEncoder passwordEncoder;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final IndiceEmailService indiceEmailService;
+
+    @Value("${usuario.importacao.tamanho-lote:500}")
+    private int tamanhoLote;
+
+    public void importar(LeitorUsuarios leitor, OutputStream saida) throws IOException {
+        try (leitor; SequenceWriter resultados = objectMapper.writer()
+                .withRootValueSeparator("\n")
+                .writeValues(saida)) {
+            List<LeitorUsuarios.Registro> lote = new ArrayList<>(tamanhoLote);
+            LeitorUsuarios.Registro registro;
+            while ((registro = leitor.proximo()) != null) {
+                lote.add(registro);
+                if (lote.size() == tamanhoLote) {
+                    resultados.writeAll(processarLote(lote));
+                    resultados.flush();
+                    lote.clear();
+                }
+            }
+            if (!lote.isEmpty()) {
+                resultados.writeAll(processarLote(lote));
+            }
+        }
+    }
+
+    private List<ResultadoImportacaoDTO> processarLote(List<LeitorUsuarios.Registro> lote) {
+        List<ResultadoImportacaoDTO> resultados = new ArrayList<>(lote.size());
+        List<LeitorUsuarios.Registro> validos = new ArrayList<>(lote.size());
+        Set<String> emailsDoLote = new HashSet<>();
+
+        for (LeitorUsuarios.Registro registro : lote) {
+            UsuarioDTO usuario = registro.usuario();
+            if (registro.erro() != null) {
+                resultados.add(resultado(registro, ResultadoImportacaoDTO.INVALIDO, registro.erro()));
+            } else if (isBlank(usuario.getEmail()) || isBlank(usuario.getSenha())) {
+                resultados.add(resultado(registro, ResultadoImportacaoDTO.INVALIDO, "Email e senha são obrigatórios."));
+            } else if (!emailsDoLote.add(usuario.getEmail().toLowerCase(Locale.ROOT))) {
+                resultados.add(resultado(registro, ResultadoImportacaoDTO.CONFLITO, "Email repetido no arquivo."));
+            } else {
+                validos.add(registro);
+            }
+        }
+
+        // Uma única consulta para todos os emails do lote
+        Set<String> existentes = emailsDoLote.isEmpty()
+                ? Set.of()
+                : new HashSet<>(usuarioRepository.findEmailsExistentes(emailsDoLote));
+        List<LeitorUsuarios.Registro> novos = new ArrayList<>(validos.size());
+        for (LeitorUsuarios.Registro registro : validos) {
+            if (existentes.contains(registro.usuario().getEmail().toLowerCase(Locale.ROOT))) {
+                resultados.add(resultado(registro, ResultadoImportacaoDTO.CONFLITO,
+                        "O email: " + registro.usuario().getEmail() + " já está cadastrado."));
+            } else {
+                novos.add(registro);
+            }
+        }
+        if (!novos.isEmpty()) {
+            gravarNovos(novos, resultados);
+        }
+
+        // Devolve os resultados na mesma ordem do arquivo
+        resultados.sort((a, b) -> Integer.compare(a.getLinha(), b.getLinha()));
+        return resultados;
+    }
+
+    private void gravarNovos(List<LeitorUsuarios.Registro> novos, List<ResultadoImportacaoDTO> resultados) {
+        // Hash das senhas em paralelo no pool dedicado
+        List<String> hashes = passwordEncoder.encodeTodos(novos.stream().map(r -> r.usuario().getSenha()).toList());
+        for (int i = 0; i < novos.size(); i++) {
+            novos.get(i).usuario().setSenha(hashes.get(i));
+        }
+
+        try {
+            List<Long> ids = transactionTemplate.execute(status -> gravar(novos));
+            for (int i = 0; i < novos.size(); i++) {
+                criado(novos.get(i), ids.get(i), resultados);
+            }
+        } catch (RuntimeException e) {
+            // Um registro inválido (ex.: campo acima do tamanho da coluna) ou um email cadastrado por outra
+            // requisição entre a verificação e o INSERT desfaz o lote inteiro: grava um a um para saber qual falhou
+            gravarUmAUm(novos, resultados);
+        } finally {
+            // Libera as entidades do lote para manter o uso de memória constante
+            entityManager.clear();
+        }
+    }
+
+    private void gravarUmAUm(List<LeitorUsuarios.Registro> novos, List<ResultadoImportacaoDTO> resultados) {
+        for (LeitorUsuarios.Registro registro : novos) {
+            try {
+                List<Long> ids = transactionTemplate.execute(status -> gravar(List.of(registro)));
+                criado(registro, ids.get(0), resultados);
+            } catch (RuntimeException e) {
+                resultados.add(falha(registro, e));
+            } finally {
+                entityManager.clear();
+            }
+        }
+    }
+
+    private void criado(LeitorUsuarios.Registro registro, Long id, List<ResultadoImportacaoDTO> resultados) {
+        ResultadoImportacaoDTO criado = resultado(registro, ResultadoImportacaoDTO.CRIADO, null);
+        criado.setId(id);
+        resultados.add(criado);
+        indiceEmailService.adicionar(registro.usuario().getEmail());
+    }
+
+    // Mensagens neutras: detalhes do banco (SQL, nomes de restrição) não vão para o relatório do cliente
+    private ResultadoImportacaoDTO falha(LeitorUsuarios.Registro registro, RuntimeException e) {
+        if (Restricoes.violou(e, Restricoes.EMAIL_UNICO)) {
+            return resultado(registro, ResultadoImportacaoDTO.CONFLITO,
+                    "O email: " + registro.usuario().getEmail() + " já está cadastrado.");
+        }
+        if (e instanceof DataIntegrityViolationException) {
+            return resultado(registro, ResultadoImportacaoDTO.INVALIDO,
+                    "Registro com campo inválido ou acima do tamanho permitido.");
+        }
+        log.warn("Falha ao importar o registro da linha {}", registro.linha(), e);
+        return resultado(registro, ResultadoImportacaoDTO.ERRO, "Não foi possível gravar o registro.");
+    }
+
+    // Persiste o lote; os filhos são gravados com usuario_id já preenchido, evitando UPDATEs posteriores.
+    // Os usuários importados não entram no cache de segundo nível, para não expulsar os perfis mais acessados
+    private List<Long> gravar(List<LeitorUsuarios.Registro> novos) {
+        entityManager.unwrap(Session.class).setCacheMode(CacheMode.IGNORE);
+        List<Long> ids = new ArrayList<>(novos.size());
+        for (LeitorUsuarios.Registro registro : novos) {
+            UsuarioDTO dto = registro.usuario();
+            Usuario usuario = usuarioConverter.paraUsuarioSemFilhos(dto);
+            entityManager.persist(usuario);
+            if (dto.getEnderecos() != null) {
+                for (EnderecoDTO endereco : dto.getEnderecos()) {
+                    entityManager.persist(usuarioConverter.paraEnderecoEntity(endereco, usuario.getId()));
+                }
+            }
+            if (dto.getTelefones() != null) {
+                for (TelefoneDTO telefone : dto.getTelefones()) {
+                    entityManager.persist(usuarioConverter.paraTelefoneEntity(telefone, usuario.getId()));
+                }
+            }
+            ids.add(usuario.getId());
+        }
+        entityManager.flush();
+        return ids;
+    }
+
+    private ResultadoImportacaoDTO resultado(LeitorUsuarios.Registro registro, String status, String mensagem) {
+        return ResultadoImportacaoDTO.builder()
+                .linha(registro.linha())
+                .email(registro.usuario() != null ? registro.usuario().getEmail() : null)
+                .status(status)
+                .mensagem(mensagem)
+                .build();
+    }
+
+    private static boolean isBlank(String valor) {
+        return valor == null || valor.isBlank();
+    }
+}
@@ -0,0 +1,149 @@
+package com.mateus.usuario.business.importacao;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mateus.usuario.business.dto.EnderecoDTO;
+import com.mateus.usuario.business.dto.TelefoneDTO;
+import com.mateus.usuario.business.dto.UsuarioDTO;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+// Lê os usuários de uma importação, um registro por linha, sem carregar o arquivo inteiro em memória.
+//
+// Formatos aceitos:
+//  - NDJSON: um UsuarioDTO em JSON por linha
+//  - CSV: cabeçalho opcional "nome,email,senha,enderecos,telefones"; endereços separados por ';'
+//    com campos rua|numero|complemento|cidade|estado|cep e telefones separados por ';' com campos ddd|numero.
+//    Campos com vírgula devem estar entre aspas duplas.
+public class LeitorUsuarios implements Closeable {
+
+    public static final String TEXT_CSV = "text/csv";
+
+    private final BufferedReader reader;
+    private final ObjectMapper objectMapper;
+    private final boolean csv;
+    private int linha;
+
+    public LeitorUsuarios(InputStream entrada, boolean csv, ObjectMapper objectMapper) {
+        this.reader = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8));
+        this.objectMapper = objectMapper;
+        this.csv = csv;
+    }
+
+    // Registro lido: o usuário ou a mensagem de erro de leitura daquela linha
+    public record Registro(int linha, UsuarioDTO usuario, String erro) {
+    }
+
+    // Retorna o próximo registro, ou null no fim do arquivo
+    public Registro proximo() throws IOException {
+        String conteudo;
+        do {
+            conteudo = reader.readLine();
+            linha++;
+            if (conteudo == null) {
+                return null;
+            }
+        } while (conteudo.isBlank() || (csv && linha == 1 && conteudo.startsWith("nome,")));
+
+        try {
+            UsuarioDTO usuario = csv ? lerCsv(conteudo) : objectMapper.readValue(conteudo, UsuarioDTO.class);
+            return new Registro(linha, usuario, null);
+        } catch (IOException | RuntimeException e) {
+            return new Registro(linha, null, "Registro inválido: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private UsuarioDTO lerCsv(String conteudo) {
+        List<String> campos = separarCsv(conteudo);
+        if (campos.size() < 3) {
+            throw new IllegalArgumentException("esperado ao menos nome,email,senha");
+        }
+        return UsuarioDTO.builder()
+                .nome(campos.get(0))
+                .email(campos.get(1))
+                .senha(campos.get(2))
+                .enderecos(campos.size() > 3 ? lerEnderecos(campos.get(3)) : null)
+                .telefones(campos.size() > 4 ? lerTelefones(campos.get(4)) : null)
+                .build();
+    }
+
+    private List<EnderecoDTO> lerEnderecos(String campo) {
+        if (campo.isBlank()) {
+            return null;
+        }
+        List<EnderecoDTO> enderecos = new ArrayList<>();
+        for (String item : campo.split(";")) {
+            String[] partes = item.split("\\|", -1);
+            if (partes.length != 6) {
+                throw new IllegalArgumentException("endereço deve ter rua|numero|complemento|cidade|estado|cep");
+            }
+            enderecos.add(EnderecoDTO.builder()
+                    .rua(partes[0])
+                    .numero(partes[1])
+                    .complemento(partes[2])
+                    .cidade(partes[3])
+                    .estado(partes[4])
+                    .cep(partes[5])
+                    .build());
+        }
+        return enderecos;
+    }
+
+    private List<TelefoneDTO> lerTelefones(String campo) {
+        if (campo.isBlank()) {
+            return null;
+        }
+        List<TelefoneDTO> telefones = new ArrayList<>();
+        for (String item : campo.split(";")) {
+            String[] partes = item.split("\\|", -1);
+            if (partes.length != 2) {
+                throw new IllegalArgumentException("telefone deve ter ddd|numero");
+            }
+            telefones.add(TelefoneDTO.builder()
+                    .ddd(partes[0])
+                    .numero(partes[1])
+                    .build());
+        }
+        return telefones;
+    }
+
+    // Separa uma linha CSV respeitando campos entre aspas duplas ("" representa uma aspa)
+    private static List<String> separarCsv(String conteudo) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder atual = new StringBuilder();
+        boolean entreAspas = false;
+        for (int i = 0; i < conteudo.length(); i++) {
+            char c = conteudo.charAt(i);
+            if (entreAspas) {
+                if (c == '"' && i + 1 < conteudo.length() && conteudo.charAt(i + 1) == '"') {
+                    atual.append('"');
+                    i++;
+                } else if (c == '"') {
+                    entreAspas = false;
+                } else {
+                    atual.append(c);
+                }
+            } else if (c == '"') {
+                entreAspas = true;
+            } else if (c == ',') {
+                campos.add(atual.toString());
+                atual.setLength(0);
+            } else {
+                atual.append(c);
+            }
+        }
+        campos.add(atual.toString());
+        return campos;
+    }
+}
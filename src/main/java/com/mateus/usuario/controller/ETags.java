@@ -0,0 +1,91 @@
+package com.mateus.usuario.controller;
+
+import com.mateus.usuario.infrastructure.exception.PreconditionFailedException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Set;
+import java.util.TreeSet;
+
+// Conversão entre a versão das entidades e os cabeçalhos ETag / If-Match / If-None-Match
+// (compartilhada pelo controller servlet e pelo reativo)
+public final class ETags {
+
+    // O cliente pode guardar a resposta, mas deve revalidá-la (If-None-Match) antes de usar
+    private static final CacheControl REVALIDAR = CacheControl.noCache().cachePrivate();
+
+    private ETags() {
+    }
+
+    // Lê a versão esperada do If-Match ("3", W/"3"); ausente ou "*" significa sem verificação
+    public static Long versaoDoIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || "*".equals(ifMatch.trim())) {
+            return null;
+        }
+        String valor = semAspas(ifMatch.trim());
+        // ETags de leituras parciais ("3-email.nome") carregam a mesma versão antes do "-"
+        int separador = valor.indexOf('-');
+        if (separador > 0) {
+            valor = valor.substring(0, separador);
+        }
+        try {
+            return Long.valueOf(valor);
+        } catch (NumberFormatException e) {
+            throw new PreconditionFailedException("If-Match inválido: " + ifMatch);
+        }
+    }
+
+    // Resposta 200 com o ETag da versão atual
+    public static <T> ResponseEntity<T> ok(T corpo, Long versao) {
+        return versao != null
+                ? ResponseEntity.ok().eTag(String.valueOf(versao)).body(corpo)
+                : ResponseEntity.ok(corpo);
+    }
+
+    // ETag forte do perfil: a versão do usuário (que muda a cada escrita nele, nos endereços ou nos telefones)
+    // e, em leituras parciais, os campos pedidos, já que cada conjunto de campos é uma representação diferente
+    public static String doPerfil(Long versao, Set<String> campos) {
+        if (campos == null || campos.isEmpty()) {
+            return String.valueOf(versao);
+        }
+        return versao + "-" + String.join(".", new TreeSet<>(campos));
+    }
+
+    // True quando algum valor do If-None-Match corresponde ao ETag atual (comparação fraca, RFC 9110)
+    public static boolean corresponde(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String valor : ifNoneMatch.split(",")) {
+            String candidato = valor.trim();
+            if ("*".equals(candidato) || semAspas(candidato).equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // 304 sem corpo, repetindo o ETag
+    public static <T> ResponseEntity<T> naoModificado(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .cacheControl(REVALIDAR)
+                .build();
+    }
+
+    // 200 com ETag e Cache-Control para que o cliente possa revalidar a próxima leitura
+    public static <T> ResponseEntity<T> okRevalidavel(T corpo, String etag) {
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(REVALIDAR)
+                .body(corpo);
+    }
+
+    private static String semAspas(String valor) {
+        if (valor.startsWith("W/")) {
+            valor = valor.substring(2);
+        }
+        return valor.replace("\"", "");
+    }
+}
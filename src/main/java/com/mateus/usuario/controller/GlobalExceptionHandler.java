@@ -1,13 +1,21 @@
 package com.mateus.usuario.controller;
 
+import com.mateus.usuario.infrastructure.exception.BadRequestException;
 import com.mateus.usuario.infrastructure.exception.ConflictException;
+import com.mateus.usuario.infrastructure.exception.PreconditionFailedException;
 import com.mateus.usuario.infrastructure.exception.ResourceNotFoundException;
+import com.mateus.usuario.infrastructure.exception.ServiceUnavailableException;
+import com.mateus.usuario.infrastructure.exception.TooManyRequestsException;
 import com.mateus.usuario.infrastructure.exception.UnauthorizedException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
+import java.time.Duration;
+
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
@@ -25,4 +33,37 @@ public class GlobalExceptionHandler {
     public ResponseEntity<String> handleUnauthorizedException(UnauthorizedException ex) {
         return new ResponseEntity<>(ex.getMessage(), HttpStatus.UNAUTHORIZED);
     }
+
+    @ExceptionHandler(BadRequestException.class)
+    public ResponseEntity<String> handleBadRequestException(BadRequestException ex) {
+        return new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<String> handlePreconditionFailedException(PreconditionFailedException ex) {
+        return new ResponseEntity<>(ex.getMessage(), HttpStatus.PRECONDITION_FAILED);
+    }
+
+    // Outra requisição alterou o registro entre a leitura e o UPDATE (coluna de versão diferente)
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<String> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex) {
+        return new ResponseEntity<>("O recurso foi alterado por outra requisição.", HttpStatus.PRECONDITION_FAILED);
+    }
+
+    // Retry-After em segundos inteiros, arredondado para cima (nunca 0, que convidaria a repetir na hora)
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<String> handleTooManyRequestsException(TooManyRequestsException ex) {
+        ResponseEntity.BodyBuilder resposta = ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS);
+        Duration espera = ex.getEsperaSugerida();
+        if (espera != null) {
+            long segundos = Math.max(1L, (espera.toMillis() + 999) / 1000);
+            resposta.header(HttpHeaders.RETRY_AFTER, Long.toString(segundos));
+        }
+        return resposta.body(ex.getMessage());
+    }
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<String> handleServiceUnavailableException(ServiceUnavailableException ex) {
+        return new ResponseEntity<>(ex.getMessage(), HttpStatus.SERVICE_UNAVAILABLE);
+    }
 }
@@ -0,0 +1,40 @@
+package com.mateus.usuario.controller;
+
+import com.mateus.usuario.infrastructure.security.util.ChaveiroJwt;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.Map;
+
+// Chaves públicas para que outros serviços validem os tokens localmente, sem chamar esta API.
+// O max-age deve ser menor que seguranca.jwt.antecedencia: assim quem usa o cache já tem a próxima
+// chave antes do primeiro token assinado com ela
+@RestController
+@Tag(name = "JWKS", description = "Chaves públicas de verificação dos tokens")
+public class JwksController {
+
+    private final ChaveiroJwt chaveiro;
+    private final CacheControl cacheControl;
+
+    public JwksController(ChaveiroJwt chaveiro, @Value("${seguranca.jwt.jwks-max-age:5m}") Duration maxAge) {
+        this.chaveiro = chaveiro;
+        this.cacheControl = CacheControl.maxAge(maxAge).cachePublic();
+    }
+
+    @GetMapping(value = "/.well-known/jwks.json", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "JWKS", description = "Chaves públicas (ES256/RS256) em uso e em transição, por kid")
+    @ApiResponse(responseCode = "200", description = "Conjunto de chaves")
+    public ResponseEntity<Map<String, Object>> jwks() {
+        return ResponseEntity.ok()
+                .cacheControl(cacheControl)
+                .body(chaveiro.jwks());
+    }
+}
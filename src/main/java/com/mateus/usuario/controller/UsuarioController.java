@@ -1,20 +1,43 @@
 package com.mateus.usuario.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mateus.usuario.business.UsuarioService;
 import com.mateus.usuario.business.converter.UsuarioConverter;
+import com.mateus.usuario.business.dto.DisponibilidadeEmailDTO;
 import com.mateus.usuario.business.dto.EnderecoDTO;
+import com.mateus.usuario.business.dto.PaginaDTO;
 import com.mateus.usuario.business.dto.TelefoneDTO;
 import com.mateus.usuario.business.dto.UsuarioDTO;
-import com.mateus.usuario.infrastructure.security.util.JwtUtil;
+import com.mateus.usuario.business.dto.UsuarioLocalizacaoDTO;
+import com.mateus.usuario.business.exportacao.ExportacaoUsuarioService;
+import com.mateus.usuario.business.importacao.ImportacaoUsuarioService;
+import com.mateus.usuario.business.importacao.LeitorUsuarios;
+import com.mateus.usuario.infrastructure.exception.TooManyRequestsException;
+import com.mateus.usuario.infrastructure.security.model.TokensSessao;
+import com.mateus.usuario.infrastructure.security.model.UsuarioAutenticado;
+import com.mateus.usuario.infrastructure.security.service.RenovacaoTokenService;
+import com.mateus.usuario.infrastructure.security.service.RevogacaoTokenService;
+import com.mateus.usuario.infrastructure.security.service.TentativasLoginService;
+import com.mateus.usuario.infrastructure.security.util.TokenRenovacao;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/usuario")
@@ -22,10 +45,18 @@ import org.springframework.web.bind.annotation.*;
 @Tag(name = "Usuário", description = "Cadastro e Login de usuários")
 public class UsuarioController {
 
+    // Tipo de conteúdo do JSON Merge Patch (RFC 7396)
+    private static final String MERGE_PATCH_JSON = "application/merge-patch+json";
+
     private final UsuarioService usuarioService;
     private final AuthenticationManager authenticationManager;
-    private final JwtUtil jwtUtil;
     private final UsuarioConverter usuarioConverter;
+    private final TentativasLoginService tentativasLoginService;
+    private final RevogacaoTokenService revogacaoTokenService;
+    private final RenovacaoTokenService renovacaoTokenService;
+    private final ImportacaoUsuarioService importacaoUsuarioService;
+    private final ExportacaoUsuarioService exportacaoUsuarioService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     @Operation(summary = "Salvar Usuários", description = "Cria um novo usuário")
@@ -36,25 +67,127 @@ public class UsuarioController {
         return ResponseEntity.ok(usuarioService.salvarUsuario(usuarioDTO));
     }
 
+    @GetMapping("/disponivel")
+    @Operation(summary = "Verificar Email Disponível", description = "Informa se o email ainda pode ser usado em um cadastro")
+    @ApiResponse(responseCode = "200", description = "Disponibilidade do email")
+    @ApiResponse(responseCode = "400", description = "Email não informado")
+    @ApiResponse(responseCode = "429", description = "Muitas consultas do mesmo IP")
+    @ApiResponse(responseCode = "500", description = "Erro de servidor")
+    public ResponseEntity<DisponibilidadeEmailDTO> verificarDisponibilidade(@RequestParam("email") String email,
+                                                                            HttpServletRequest request) {
+        // Endpoint público: sem limite, permitiria descobrir quais emails têm conta para atacar o login
+        Duration espera = tentativasLoginService.consumirConsultaDisponibilidade(request.getRemoteAddr());
+        if (!espera.isZero()) {
+            throw new TooManyRequestsException("Muitas consultas de email. Tente novamente em instantes.", espera);
+        }
+        return ResponseEntity.ok(new DisponibilidadeEmailDTO(email, usuarioService.emailDisponivel(email)));
+    }
+
+    @PostMapping(value = "/importacao", consumes = {MediaType.APPLICATION_NDJSON_VALUE, LeitorUsuarios.TEXT_CSV},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Importar Usuários", description = "Importa usuários em massa a partir de NDJSON ou CSV (credencial de operador)")
+    @ApiResponse(responseCode = "200", description = "Resultado de cada registro importado, em NDJSON")
+    @ApiResponse(responseCode = "401", description = "Credencial de operador ausente ou inválida")
+    @ApiResponse(responseCode = "500", description = "Erro de servidor")
+    public ResponseEntity<StreamingResponseBody> importar(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                          HttpServletRequest request) throws IOException {
+        // O arquivo é lido e processado em lotes enquanto o resultado é enviado ao cliente
+        boolean csv = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.parseMediaType(LeitorUsuarios.TEXT_CSV));
+        LeitorUsuarios leitor = new LeitorUsuarios(request.getInputStream(), csv, objectMapper);
+        StreamingResponseBody corpo = saida -> importacaoUsuarioService.importar(leitor, saida);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(corpo);
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Exportar Usuários", description = "Exporta todos os usuários com endereços e telefones em NDJSON (credencial de operador)")
+    @ApiResponse(responseCode = "200", description = "Usuários exportados")
+    @ApiResponse(responseCode = "401", description = "Credencial de operador ausente ou inválida")
+    @ApiResponse(responseCode = "500", description = "Erro de servidor")
+    public ResponseEntity<StreamingResponseBody> exportar() {
+        StreamingResponseBody corpo = exportacaoUsuarioService::exportar;
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(corpo);
+    }
+
     @PostMapping("/login")
-    @Operation(summary = "Login Usuários", description = "Login de usuário")
+    @Operation(summary = "Login Usuários", description = "Login de usuário; o refresh token é devolvido no header Refresh-Token")
     @ApiResponse(responseCode = "200", description = "Usuário logado com sucesso")
     @ApiResponse(responseCode = "401", description = "Credenciais inválidas")
+    @ApiResponse(responseCode = "429", description = "Muitas tentativas de login")
     @ApiResponse(responseCode = "500", description = "Erro de servidor")
-    public String login(@RequestBody UsuarioDTO usuarioDTO) {
+    public ResponseEntity<String> login(@RequestBody UsuarioDTO usuarioDTO, HttpServletRequest request) {
+        // Barra o excesso de tentativas antes de consultar o banco ou calcular o hash da senha
+        Duration espera = tentativasLoginService.consumirTentativa(usuarioDTO.getEmail(), request.getRemoteAddr());
+        if (!espera.isZero()) {
+            throw new TooManyRequestsException("Muitas tentativas de login. Tente novamente em instantes.", espera);
+        }
         Authentication authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(usuarioDTO.getEmail(), usuarioDTO.getSenha()));
-        return "Bearer " + jwtUtil.generateToken(authentication.getName());
+        return tokens(renovacaoTokenService.emitir((UsuarioAutenticado) authentication.getPrincipal()));
+    }
+
+    @PostMapping("/refresh")
+    @Operation(summary = "Renovar Token", description = "Troca o refresh token (header Refresh-Token) por um novo par de tokens, sem senha")
+    @ApiResponse(responseCode = "200", description = "Tokens renovados com sucesso")
+    @ApiResponse(responseCode = "401", description = "Refresh token inválido, expirado ou reutilizado")
+    @ApiResponse(responseCode = "500", description = "Erro de servidor")
+    public ResponseEntity<String> refresh(@RequestHeader(TokenRenovacao.HEADER) String refreshToken) {
+        return tokens(renovacaoTokenService.renovar(refreshToken));
+    }
+
+    @PostMapping("/logout")
+    @Operation(summary = "Logout Usuários", description = "Revoga o token informado até a sua expiração")
+    @ApiResponse(responseCode = "200", description = "Token (e refresh token, se informado) revogado com sucesso")
+    @ApiResponse(responseCode = "400", description = "Token sem identificador (jti)")
+    @ApiResponse(responseCode = "401", description = "Credenciais inválidas")
+    @ApiResponse(responseCode = "500", description = "Erro de servidor")
+    public ResponseEntity<Void> logout(@RequestHeader("Authorization") String token,
+                                       @RequestHeader(value = TokenRenovacao.HEADER, required = false) String refreshToken) {
+        revogacaoTokenService.revogar(token);
+        // Com o refresh token, encerra também a sessão (família) que ele representa
+        if (refreshToken != null) {
+            renovacaoTokenService.revogar(refreshToken);
+        }
+        return ResponseEntity.ok().build();
     }
 
     @GetMapping
     @Operation(summary = "Buscar dados de Usuários por Email", description = "Buscar dados de usuário")
     @ApiResponse(responseCode = "200", description = "Usuário encontrado")
+    @ApiResponse(responseCode = "304", description = "Usuário não alterado desde o ETag informado em If-None-Match")
     @ApiResponse(responseCode = "403", description = "Usuário não cadastrado")
     @ApiResponse(responseCode = "500", description = "Erro de servidor")
     @ApiResponse(responseCode = "401", description = "Credenciais inválidas")
-    public ResponseEntity<UsuarioDTO> buscarUsuarioPorEmail(@RequestParam("email") String email) {
-        return ResponseEntity.ok(usuarioService.buscarUsuarioPorEmail(email));
+    public ResponseEntity<UsuarioDTO> buscarUsuarioPorEmail(@RequestParam("email") String email,
+                                                            @RequestParam(value = "fields", required = false) Set<String> fields,
+                                                            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // Com If-None-Match, confere só a versão antes de carregar filhos ou montar o DTO
+        if (ifNoneMatch != null) {
+            String etagAtual = ETags.doPerfil(usuarioService.buscarVersaoUsuario(email), fields);
+            if (ETags.corresponde(ifNoneMatch, etagAtual)) {
+                return ETags.naoModificado(etagAtual);
+            }
+        }
+        UsuarioDTO usuario = usuarioService.buscarUsuarioPorEmail(email, fields);
+        // O ETag vem da mesma leitura do corpo, mesmo que o usuário tenha mudado após a verificação acima
+        return ETags.okRevalidavel(usuario, ETags.doPerfil(usuario.getVersao(), fields));
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Buscar Usuários por Localização", description = "Lista usuários por cidade, estado e prefixo de CEP")
+    @ApiResponse(responseCode = "200", description = "Página de resultados")
+    @ApiResponse(responseCode = "500", description = "Erro de servidor")
+    @ApiResponse(responseCode = "401", description = "Credenciais inválidas")
+    public ResponseEntity<PaginaDTO<UsuarioLocalizacaoDTO>> buscarUsuariosPorLocalizacao(
+            @RequestParam(value = "cidade", required = false) String cidade,
+            @RequestParam(value = "estado", required = false) String estado,
+            @RequestParam(value = "cep", required = false) String cep,
+            @RequestParam(value = "apos", required = false) Long apos,
+            @RequestParam(value = "limite", defaultValue = "50") int limite) {
+        return ResponseEntity.ok(usuarioService.buscarUsuariosPorLocalizacao(cidade, estado, cep, apos, limite));
     }
 
     @DeleteMapping("/{email}")
@@ -74,9 +207,25 @@ public class UsuarioController {
     @ApiResponse(responseCode = "403", description = "Usuário não cadastrado")
     @ApiResponse(responseCode = "500", description = "Erro de servidor")
     @ApiResponse(responseCode = "401", description = "Credenciais inválidas")
+    @ApiResponse(responseCode = "412", description = "Usuário alterado por outra requisição (If-Match)")
     public ResponseEntity<UsuarioDTO> atualizarDadoUsuario(@RequestBody UsuarioDTO usuarioDTO,
-                                                           @RequestHeader("Authorization") String token) {
-        return ResponseEntity.ok(usuarioService.atualizarDadosUsuario(token, usuarioDTO));
+                                                           @RequestHeader("Authorization") String token,
+                                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        UsuarioDTO atualizado = usuarioService.atualizarDadosUsuario(token, usuarioDTO, ETags.versaoDoIfMatch(ifMatch));
+        return ETags.ok(atualizado, atualizado.getVersao());
+    }
+
+    @PatchMapping(consumes = MERGE_PATCH_JSON)
+    @Operation(summary = "Atualizar Parcialmente Dados de Usuários", description = "Aplica um JSON Merge Patch aos dados do usuário")
+    @ApiResponse(responseCode = "200", description = "Usuário atualizado com sucesso")
+    @ApiResponse(responseCode = "400", description = "Patch inválido")
+    @ApiResponse(responseCode = "401", description = "Credenciais inválidas")
+    @ApiResponse(responseCode = "412", description = "Usuário alterado por outra requisição (If-Match)")
+    public ResponseEntity<UsuarioDTO> atualizarParcialmenteUsuario(@RequestBody JsonNode patch,
+                                                                   @RequestHeader("Authorization") String token,
+                                                                   @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        UsuarioDTO atualizado = usuarioService.atualizarDadosUsuarioParcial(token, patch, ETags.versaoDoIfMatch(ifMatch));
+        return ETags.ok(atualizado, atualizado.getVersao());
     }
 
     @PutMapping("/endereco")
@@ -85,9 +234,25 @@ public class UsuarioController {
     @ApiResponse(responseCode = "403", description = "Usuário não cadastrado")
     @ApiResponse(responseCode = "500", description = "Erro de servidor")
     @ApiResponse(responseCode = "401", description = "Credenciais inválidas")
+    @ApiResponse(responseCode = "412", description = "Endereço alterado por outra requisição (If-Match)")
     public ResponseEntity<EnderecoDTO> atualizarEndereco(@RequestBody EnderecoDTO enderecoDTO,
-                                                         @RequestParam("id") Long id) {
-        return ResponseEntity.ok(usuarioService.atualizaEndereco(id, enderecoDTO));
+                                                         @RequestParam("id") Long id,
+                                                         @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        EnderecoDTO atualizado = usuarioService.atualizaEndereco(id, enderecoDTO, ETags.versaoDoIfMatch(ifMatch));
+        return ETags.ok(atualizado, atualizado.getVersao());
+    }
+
+    @PatchMapping(value = "/endereco", consumes = MERGE_PATCH_JSON)
+    @Operation(summary = "Atualizar Parcialmente Endereço de Usuários", description = "Aplica um JSON Merge Patch ao endereço")
+    @ApiResponse(responseCode = "200", description = "Endereço atualizado com sucesso")
+    @ApiResponse(responseCode = "400", description = "Patch inválido")
+    @ApiResponse(responseCode = "401", description = "Credenciais inválidas")
+    @ApiResponse(responseCode = "412", description = "Endereço alterado por outra requisição (If-Match)")
+    public ResponseEntity<EnderecoDTO> atualizarParcialmenteEndereco(@RequestBody JsonNode patch,
+                                                                     @RequestParam("id") Long id,
+                                                                     @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        EnderecoDTO atualizado = usuarioService.atualizaEnderecoParcial(id, patch, ETags.versaoDoIfMatch(ifMatch));
+        return ETags.ok(atualizado, atualizado.getVersao());
     }
 
     @PutMapping("/telefone")
@@ -96,9 +261,25 @@ public class UsuarioController {
     @ApiResponse(responseCode = "403", description = "Usuário não cadastrado")
     @ApiResponse(responseCode = "500", description = "Erro de servidor")
     @ApiResponse(responseCode = "401", description = "Credenciais inválidas")
+    @ApiResponse(responseCode = "412", description = "Telefone alterado por outra requisição (If-Match)")
     public ResponseEntity<TelefoneDTO> atualizarTelefone(@RequestBody TelefoneDTO telefoneDTO,
-                                                         @RequestParam("id") Long id) {
-        return ResponseEntity.ok(usuarioService.atualizaTelefone(id, telefoneDTO));
+                                                         @RequestParam("id") Long id,
+                                                         @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        TelefoneDTO atualizado = usuarioService.atualizaTelefone(id, telefoneDTO, ETags.versaoDoIfMatch(ifMatch));
+        return ETags.ok(atualizado, atualizado.getVersao());
+    }
+
+    @PatchMapping(value = "/telefone", consumes = MERGE_PATCH_JSON)
+    @Operation(summary = "Atualizar Parcialmente Telefone de Usuários", description = "Aplica um JSON Merge Patch ao telefone")
+    @ApiResponse(responseCode = "200", description = "Telefone atualizado com sucesso")
+    @ApiResponse(responseCode = "400", description = "Patch inválido")
+    @ApiResponse(responseCode = "401", description = "Credenciais inválidas")
+    @ApiResponse(responseCode = "412", description = "Telefone alterado por outra requisição (If-Match)")
+    public ResponseEntity<TelefoneDTO> atualizarParcialmenteTelefone(@RequestBody JsonNode patch,
+                                                                     @RequestParam("id") Long id,
+                                                                     @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        TelefoneDTO atualizado = usuarioService.atualizaTelefoneParcial(id, patch, ETags.versaoDoIfMatch(ifMatch));
+        return ETags.ok(atualizado, atualizado.getVersao());
     }
 
     @PostMapping("/endereco")
@@ -123,4 +304,54 @@ public class UsuarioController {
         return ResponseEntity.ok(usuarioService.cadastraTelefone(token, telefoneDTO));
     }
 
+    @PostMapping("/enderecos")
+    @Operation(summary = "Salva Endereços de Usuários em Lote", description = "Salva vários endereços do usuário em uma única transação")
+    @ApiResponse(responseCode = "200", description = "Endereços salvos com sucesso, na ordem enviada")
+    @ApiResponse(responseCode = "400", description = "Lista vazia ou acima do limite")
+    @ApiResponse(responseCode = "500", description = "Erro de servidor")
+    @ApiResponse(responseCode = "401", description = "Credenciais inválidas")
+    public ResponseEntity<List<EnderecoDTO>> cadastraEnderecos(@RequestBody List<EnderecoDTO> enderecos,
+                                                               @RequestHeader("Authorization") String token) {
+        return ResponseEntity.ok(usuarioService.cadastraEnderecos(token, enderecos));
+    }
+
+    @PutMapping("/enderecos")
+    @Operation(summary = "Atualizar Endereços de Usuários em Lote", description = "Atualiza vários endereços do usuário em uma única transação")
+    @ApiResponse(responseCode = "200", description = "Endereços atualizados com sucesso, na ordem enviada")
+    @ApiResponse(responseCode = "400", description = "Lista vazia, acima do limite ou item sem id")
+    @ApiResponse(responseCode = "404", description = "Endereço não encontrado para o usuário")
+    @ApiResponse(responseCode = "401", description = "Credenciais inválidas")
+    public ResponseEntity<List<EnderecoDTO>> atualizarEnderecos(@RequestBody List<EnderecoDTO> enderecos,
+                                                                @RequestHeader("Authorization") String token) {
+        return ResponseEntity.ok(usuarioService.atualizaEnderecos(token, enderecos));
+    }
+
+    @PostMapping("/telefones")
+    @Operation(summary = "Salva Telefones de Usuários em Lote", description = "Salva vários telefones do usuário em uma única transação")
+    @ApiResponse(responseCode = "200", description = "Telefones salvos com sucesso, na ordem enviada")
+    @ApiResponse(responseCode = "400", description = "Lista vazia ou acima do limite")
+    @ApiResponse(responseCode = "500", description = "Erro de servidor")
+    @ApiResponse(responseCode = "401", description = "Credenciais inválidas")
+    public ResponseEntity<List<TelefoneDTO>> cadastraTelefones(@RequestBody List<TelefoneDTO> telefones,
+                                                               @RequestHeader("Authorization") String token) {
+        return ResponseEntity.ok(usuarioService.cadastraTelefones(token, telefones));
+    }
+
+    @PutMapping("/telefones")
+    @Operation(summary = "Atualizar Telefones de Usuários em Lote", description = "Atualiza vários telefones do usuário em uma única transação")
+    @ApiResponse(responseCode = "200", description = "Telefones atualizados com sucesso, na ordem enviada")
+    @ApiResponse(responseCode = "400", description = "Lista vazia, acima do limite ou item sem id")
+    @ApiResponse(responseCode = "404", description = "Telefone não encontrado para o usuário")
+    @ApiResponse(responseCode = "401", description = "Credenciais inválidas")
+    public ResponseEntity<List<TelefoneDTO>> atualizarTelefones(@RequestBody List<TelefoneDTO> telefones,
+                                                                @RequestHeader("Authorization") String token) {
+        return ResponseEntity.ok(usuarioService.atualizaTelefones(token, telefones));
+    }
+
+    // Access token no corpo (mesmo formato de antes: "Bearer ...") e refresh token no header
+    private static ResponseEntity<String> tokens(TokensSessao tokens) {
+        return ResponseEntity.ok()
+                .header(TokenRenovacao.HEADER, tokens.renovacao())
+                .body("Bearer " + tokens.acesso());
+    }
 }
@@ -0,0 +1,86 @@
+package com.mateus.usuario.infrastructure.concorrencia;
+
+import com.mateus.usuario.infrastructure.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// Controle de admissão ao banco no modo com threads virtuais: no máximo "permissoes" unidades de trabalho
+// (chamada de repositório fora de transação ou transação inteira) usam o banco ao mesmo tempo.
+// Sem ele, milhares de threads virtuais disputariam o pool do Hikari e esperariam até o connection-timeout;
+// com ele, a espera é limitada e o excesso recebe 503 na hora.
+// Chamadas feitas dentro de uma transação já admitida passam direto, evitando que uma thread que já
+// segura uma conexão espere por outra vaga (o que poderia travar o pool).
+public class LimitadorAcessoBanco implements MethodInterceptor {
+
+    private final Semaphore permissoes;
+    private final long esperaMaximaNanos;
+    private final Timer tempoEspera;
+    private final Counter rejeitados;
+
+    public LimitadorAcessoBanco(int permissoes, Duration esperaMaxima, MeterRegistry meterRegistry) {
+        this.permissoes = new Semaphore(permissoes, true);
+        this.esperaMaximaNanos = esperaMaxima.toNanos();
+        this.tempoEspera = Timer.builder("banco.admissao.espera")
+                .description("Tempo de espera por uma vaga de acesso ao banco")
+                .register(meterRegistry);
+        this.rejeitados = Counter.builder("banco.admissao.rejeitados")
+                .description("Acessos ao banco rejeitados por espera acima do limite")
+                .register(meterRegistry);
+        Gauge.builder("banco.admissao.fila", this.permissoes, Semaphore::getQueueLength)
+                .description("Threads aguardando vaga de acesso ao banco")
+                .register(meterRegistry);
+    }
+
+    // Usado pelos proxies dos repositórios
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return invocation.proceed();
+        }
+        adquirir();
+        try {
+            return invocation.proceed();
+        } finally {
+            permissoes.release();
+        }
+    }
+
+    // Usado pelo TransactionTemplate: a transação inteira ocupa uma vaga
+    public <T> T executar(Supplier<T> acao) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return acao.get();
+        }
+        adquirir();
+        try {
+            return acao.get();
+        } finally {
+            permissoes.release();
+        }
+    }
+
+    private void adquirir() {
+        long inicio = System.nanoTime();
+        boolean admitido;
+        try {
+            admitido = permissoes.tryAcquire(esperaMaximaNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Acesso ao banco interrompido.", e);
+        }
+        tempoEspera.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        if (!admitido) {
+            rejeitados.increment();
+            throw new ServiceUnavailableException("Banco de dados ocupado, tente novamente em instantes.");
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.mateus.usuario.infrastructure.concorrencia;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+
+import java.time.Duration;
+import java.util.stream.Collectors;
+
+// Detecta threads virtuais presas à thread portadora (evento JFR jdk.VirtualThreadPinned), o que acontece
+// ao bloquear dentro de synchronized ou de código nativo: enquanto durar, a portadora não atende outras
+// threads virtuais. Cada ocorrência acima do limite é contada, tem a duração medida e a pilha registrada no log.
+@Slf4j
+public class MonitorPinagemThreadsVirtuais implements SmartLifecycle {
+
+    private static final String EVENTO = "jdk.VirtualThreadPinned";
+    private static final int QUADROS_NO_LOG = 8;
+
+    private final Duration limite;
+    private final Counter ocorrencias;
+    private final Timer duracao;
+    private volatile RecordingStream stream;
+
+    public MonitorPinagemThreadsVirtuais(Duration limite, MeterRegistry meterRegistry) {
+        this.limite = limite;
+        this.ocorrencias = Counter.builder("threads.virtuais.pinadas")
+                .description("Threads virtuais presas à portadora acima do limite")
+                .register(meterRegistry);
+        this.duracao = Timer.builder("threads.virtuais.pinadas.duracao")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        RecordingStream recording = new RecordingStream();
+        recording.enable(EVENTO).withThreshold(limite).withStackTrace();
+        recording.onEvent(EVENTO, this::registrar);
+        recording.startAsync();
+        this.stream = recording;
+    }
+
+    @Override
+    public void stop() {
+        RecordingStream recording = this.stream;
+        if (recording != null) {
+            recording.close();
+            this.stream = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return stream != null;
+    }
+
+    private void registrar(RecordedEvent evento) {
+        ocorrencias.increment();
+        duracao.record(evento.getDuration());
+        log.warn("Thread virtual presa à portadora por {} ms:\n{}", evento.getDuration().toMillis(), pilha(evento));
+    }
+
+    private static String pilha(RecordedEvent evento) {
+        RecordedStackTrace pilha = evento.getStackTrace();
+        if (pilha == null) {
+            return "\t(sem pilha)";
+        }
+        return pilha.getFrames().stream()
+                .limit(QUADROS_NO_LOG)
+                .map(MonitorPinagemThreadsVirtuais::quadro)
+                .collect(Collectors.joining("\n"));
+    }
+
+    private static String quadro(RecordedFrame quadro) {
+        return "\tat " + quadro.getMethod().getType().getName() + "." + quadro.getMethod().getName()
+                + ":" + quadro.getLineNumber();
+    }
+}
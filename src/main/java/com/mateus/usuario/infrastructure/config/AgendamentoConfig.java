@@ -0,0 +1,10 @@
+package com.mateus.usuario.infrastructure.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Habilita as tarefas @Scheduled (ex.: sincronização e limpeza dos tokens revogados)
+@Configuration
+@EnableScheduling
+public class AgendamentoConfig {
+}
@@ -0,0 +1,62 @@
+package com.mateus.usuario.infrastructure.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+
+// Cache de segundo nível do Hibernate (JCache com Caffeine, em memória local).
+// Cada região é criada aqui com tamanho máximo e TTL próprios, lidos de
+// hibernate-cache.regioes.<regiao>.tamanho-maximo / .ttl (ver application.properties).
+@Configuration
+public class CacheSegundoNivelConfig {
+
+    public static final String REGIAO_USUARIO = "usuario";
+    public static final String REGIAO_USUARIO_EMAIL = "usuario.email";
+    public static final String REGIAO_USUARIO_ENDERECOS = "usuario.enderecos";
+    public static final String REGIAO_USUARIO_TELEFONES = "usuario.telefones";
+    public static final String REGIAO_ENDERECO = "endereco";
+    public static final String REGIAO_TELEFONE = "telefone";
+
+    private static final List<String> REGIOES = List.of(REGIAO_USUARIO, REGIAO_USUARIO_EMAIL,
+            REGIAO_USUARIO_ENDERECOS, REGIAO_USUARIO_TELEFONES, REGIAO_ENDERECO, REGIAO_TELEFONE);
+
+    private static final long TAMANHO_MAXIMO_PADRAO = 10_000;
+    private static final Duration TTL_PADRAO = Duration.ofMinutes(10);
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(Environment environment) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager();
+        for (String regiao : REGIOES) {
+            String prefixo = "hibernate-cache.regioes." + regiao;
+            long tamanhoMaximo = environment.getProperty(prefixo + ".tamanho-maximo", Long.class, TAMANHO_MAXIMO_PADRAO);
+            Duration ttl = environment.getProperty(prefixo + ".ttl", Duration.class, TTL_PADRAO);
+
+            CaffeineConfiguration<Object, Object> configuracao = new CaffeineConfiguration<>();
+            configuracao.setMaximumSize(OptionalLong.of(tamanhoMaximo));
+            configuracao.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+            // O Hibernate já guarda entradas desmontadas (imutáveis): não precisa copiar a cada leitura
+            configuracao.setStoreByValue(false);
+            // Acertos/falhas por região (JMX); o Hibernate também publica as suas no Micrometer
+            configuracao.setStatisticsEnabled(true);
+            cacheManager.createCache(regiao, configuracao);
+        }
+        return cacheManager;
+    }
+
+    // Entrega ao Hibernate o CacheManager com as regiões já configuradas
+    @Bean
+    public HibernatePropertiesCustomizer cacheSegundoNivelCustomizer(CacheManager hibernateCacheManager) {
+        return propriedades -> propriedades.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+}
@@ -0,0 +1,36 @@
+package com.mateus.usuario.infrastructure.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+
+// Perfil "embedded": sobe um PostgreSQL embutido (binários reais, sem Docker) e aponta o DataSource para ele.
+// As migrations do Flyway rodam normalmente, permitindo validar o esquema e executar a aplicação localmente.
+// Uso: ./gradlew bootRun --args='--spring.profiles.active=embedded'
+@Configuration
+@Profile("embedded")
+public class EmbeddedPostgresConfig {
+
+    @Bean(destroyMethod = "close")
+    public EmbeddedPostgres embeddedPostgres(@Value("${embedded.postgres.porta:0}") int porta) throws IOException {
+        EmbeddedPostgres.Builder builder = EmbeddedPostgres.builder();
+        if (porta > 0) {
+            builder.setPort(porta);
+        }
+        return builder.start();
+    }
+
+    @Bean
+    public DataSource dataSource(EmbeddedPostgres embeddedPostgres) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(embeddedPostgres.getJdbcUrl("postgres", "postgres") + "&reWriteBatchedInserts=true");
+        dataSource.setUsername("postgres");
+        return dataSource;
+    }
+}
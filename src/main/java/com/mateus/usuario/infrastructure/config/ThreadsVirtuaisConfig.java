@@ -0,0 +1,78 @@
+package com.mateus.usuario.infrastructure.config;
+
+import com.mateus.usuario.infrastructure.concorrencia.LimitadorAcessoBanco;
+import com.mateus.usuario.infrastructure.concorrencia.MonitorPinagemThreadsVirtuais;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+
+// Modo com threads virtuais (spring.threads.virtual.enabled=true): o Tomcat atende cada requisição em uma
+// thread virtual e, para que isso não vire uma fila enorme no pool do Hikari, o acesso ao banco passa pelo
+// LimitadorAcessoBanco (repositórios e TransactionTemplate). A pinagem de threads virtuais é monitorada via JFR.
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class ThreadsVirtuaisConfig {
+
+    @Bean
+    public LimitadorAcessoBanco limitadorAcessoBanco(MeterRegistry meterRegistry,
+                                                     @Value("${banco.admissao.permissoes:0}") int permissoes,
+                                                     @Value("${banco.admissao.espera-maxima:2s}") Duration esperaMaxima,
+                                                     @Value("${spring.datasource.hikari.maximum-pool-size:10}") int tamanhoPool) {
+        // Por padrão, uma vaga por conexão do pool
+        return new LimitadorAcessoBanco(permissoes > 0 ? permissoes : tamanhoPool, esperaMaxima, meterRegistry);
+    }
+
+    // Coloca o limitador como primeiro interceptor dos proxies de repositório, antes da abertura de transação
+    @Bean
+    public static BeanPostProcessor limitadorRepositorios(ObjectProvider<LimitadorAcessoBanco> limitador) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, repositoryInformation) -> proxyFactory.addAdvice(0, limitador.getObject())));
+                }
+                return bean;
+            }
+        };
+    }
+
+    // Substitui o TransactionTemplate padrão: cada transação programática ocupa uma vaga do limitador
+    @Bean
+    public TransactionTemplate transactionTemplate(PlatformTransactionManager transactionManager,
+                                                   LimitadorAcessoBanco limitador) {
+        return new TransactionTemplateLimitado(transactionManager, limitador);
+    }
+
+    @Bean
+    public MonitorPinagemThreadsVirtuais monitorPinagemThreadsVirtuais(MeterRegistry meterRegistry,
+                                                                       @Value("${threads-virtuais.pinagem.limite:20ms}") Duration limite) {
+        return new MonitorPinagemThreadsVirtuais(limite, meterRegistry);
+    }
+
+    private static class TransactionTemplateLimitado extends TransactionTemplate {
+
+        private final transient LimitadorAcessoBanco limitador;
+
+        TransactionTemplateLimitado(PlatformTransactionManager transactionManager, LimitadorAcessoBanco limitador) {
+            super(transactionManager);
+            this.limitador = limitador;
+        }
+
+        @Override
+        public <T> T execute(TransactionCallback<T> action) throws TransactionException {
+            return limitador.executar(() -> super.execute(action));
+        }
+    }
+}
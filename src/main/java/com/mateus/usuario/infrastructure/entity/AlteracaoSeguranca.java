@@ -0,0 +1,47 @@
+package com.mateus.usuario.infrastructure.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+// Nova versão mínima de segurança de um usuário, lida pelas demais instâncias; removida depois de expirar
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+
+@Entity
+@Table(name = "alteracao_seguranca")
+@Builder
+public class AlteracaoSeguranca {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "usuario_id", nullable = false)
+    private Long usuarioId;
+
+    @Column(name = "versao_minima", nullable = false)
+    private Long versaoMinima;
+
+    // Email anterior à alteração (chave do cache de autenticação)
+    @Column(name = "email", length = 100)
+    private String email;
+
+    @Column(name = "alterado_em", nullable = false)
+    private Instant alteradoEm;
+
+    @Column(name = "expira_em", nullable = false)
+    private Instant expiraEm;
+}
@@ -0,0 +1,42 @@
+package com.mateus.usuario.infrastructure.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+// Chave pública de assinatura de JWT publicada por uma instância (a privada fica só em memória)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+
+@Entity
+@Table(name = "chave_assinatura")
+@Builder
+public class ChaveAssinatura {
+
+    @Id
+    @Column(name = "kid", length = 64)
+    private String kid;
+
+    @Column(name = "algoritmo", length = 10, nullable = false)
+    private String algoritmo;
+
+    // SubjectPublicKeyInfo (X.509) codificado em DER
+    @Column(name = "chave_publica", nullable = false)
+    private byte[] chavePublica;
+
+    @Column(name = "ativa_em", nullable = false)
+    private Instant ativaEm;
+
+    @Column(name = "expira_em", nullable = false)
+    private Instant expiraEm;
+}
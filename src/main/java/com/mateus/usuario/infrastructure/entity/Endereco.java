@@ -1,7 +1,11 @@
 package com.mateus.usuario.infrastructure.entity;
 
+import com.mateus.usuario.infrastructure.config.CacheSegundoNivelConfig;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 
 @Getter
 @Setter
@@ -9,14 +13,25 @@ import lombok.*;
 @AllArgsConstructor
 
 @Entity
+@DynamicUpdate
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheSegundoNivelConfig.REGIAO_ENDERECO)
+// Índices definidos nas migrations do Flyway (db/migration)
 @Table(name = "endereco")
 @Builder
 public class Endereco {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Sequência com alocação em blocos (pooled): permite que o Hibernate agrupe os INSERTs em lotes JDBC
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "endereco_seq")
+    @SequenceGenerator(name = "endereco_seq", sequenceName = "endereco_seq", allocationSize = 50)
     private Long id;
 
+    // Controle de concorrência otimista (ETag / If-Match)
+    @Version
+    @Column(name = "versao")
+    private Long versao;
+
     @Column(name = "rua")
     private String rua;
 
@@ -0,0 +1,47 @@
+package com.mateus.usuario.infrastructure.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.UUID;
+
+// Refresh token emitido no login; o token em si nunca é gravado, apenas o seu SHA-256
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+
+@Entity
+@Table(name = "refresh_token")
+@Builder
+public class RefreshToken {
+
+    @Id
+    @Column(name = "hash", length = 64)
+    private String hash;
+
+    @Column(name = "familia", nullable = false)
+    private UUID familia;
+
+    @Column(name = "usuario_id", nullable = false)
+    private Long usuarioId;
+
+    // Versão de segurança do usuário na emissão: troca de senha/email invalida a família
+    @Column(name = "versao_seguranca", nullable = false)
+    private Long versaoSeguranca;
+
+    @Column(name = "expira_em", nullable = false)
+    private Instant expiraEm;
+
+    // Preenchido quando o token é trocado por um novo; depois disso ele não pode mais ser usado
+    @Column(name = "substituido_em")
+    private Instant substituidoEm;
+}
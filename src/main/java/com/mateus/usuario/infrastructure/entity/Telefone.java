@@ -1,7 +1,11 @@
 package com.mateus.usuario.infrastructure.entity;
 
+import com.mateus.usuario.infrastructure.config.CacheSegundoNivelConfig;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 
 @Getter
 @Setter
@@ -9,14 +13,24 @@ import lombok.*;
 @AllArgsConstructor
 
 @Entity
+@DynamicUpdate
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheSegundoNivelConfig.REGIAO_TELEFONE)
 @Table(name = "telefone")
 @Builder
 public class Telefone {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Sequência com alocação em blocos (pooled): permite que o Hibernate agrupe os INSERTs em lotes JDBC
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "telefone_seq")
+    @SequenceGenerator(name = "telefone_seq", sequenceName = "telefone_seq", allocationSize = 50)
     private Long id;
 
+    // Controle de concorrência otimista (ETag / If-Match)
+    @Version
+    @Column(name = "versao")
+    private Long versao;
+
     @Column(name = "ddd", length = 3)
     private String ddd;
 
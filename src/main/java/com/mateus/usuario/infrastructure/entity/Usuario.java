@@ -1,7 +1,13 @@
 package com.mateus.usuario.infrastructure.entity;
 
+import com.mateus.usuario.infrastructure.config.CacheSegundoNivelConfig;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
@@ -14,29 +20,51 @@ import java.util.List;
 @AllArgsConstructor
 
 @Entity
+@DynamicUpdate
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheSegundoNivelConfig.REGIAO_USUARIO)
+// Cache email -> id: buscas pelo email exato não vão ao banco (ver UsuarioLeituraRepository)
+@NaturalIdCache(region = CacheSegundoNivelConfig.REGIAO_USUARIO_EMAIL)
 @Table(name = "usuario")
 @Builder
 public class Usuario implements UserDetails {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Sequência com alocação em blocos (pooled): permite que o Hibernate agrupe os INSERTs em lotes JDBC
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "usuario_seq")
+    @SequenceGenerator(name = "usuario_seq", sequenceName = "usuario_seq", allocationSize = 50)
     private Long id;
 
+    // Controle de concorrência otimista (ETag / If-Match)
+    @Version
+    @Column(name = "versao")
+    private Long versao;
+
     @Column(name = "nome", length = 100)
     private String nome;
 
+    @NaturalId(mutable = true)
     @Column(name = "email", length = 100)
     private String email;
 
     @Column(name = "senha")
     private String senha;
 
+    // Incrementada a cada troca de senha/email; tokens com versão anterior deixam de ser aceitos
+    @Column(name = "versao_seguranca")
+    @Builder.Default
+    private Long versaoSeguranca = 0L;
+
+    // As coleções guardam apenas os ids no cache; endereços e telefones ficam nas próprias regiões.
+    // Inserções feitas direto pelos repositórios de endereço/telefone precisam remover a coleção do cache
     @OneToMany(cascade = CascadeType.ALL)
     @JoinColumn(name = "usuario_id", referencedColumnName = "id")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheSegundoNivelConfig.REGIAO_USUARIO_ENDERECOS)
     private List<Endereco> enderecos;
 
     @OneToMany(cascade = CascadeType.ALL)
     @JoinColumn(name = "usuario_id", referencedColumnName = "id")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheSegundoNivelConfig.REGIAO_USUARIO_TELEFONES)
     private List<Telefone> telefones;
 
 
@@ -0,0 +1,18 @@
+package com.mateus.usuario.infrastructure.exception;
+
+import io.jsonwebtoken.JwtException;
+
+// Token assinado com um "kid" que não está no chaveiro (ou sem "kid")
+public class ChaveDesconhecidaException extends JwtException {
+
+    private final String kid;
+
+    public ChaveDesconhecidaException(String kid) {
+        super("Chave de assinatura desconhecida: " + kid);
+        this.kid = kid;
+    }
+
+    public String getKid() {
+        return kid;
+    }
+}
@@ -0,0 +1,28 @@
+package com.mateus.usuario.infrastructure.exception;
+
+import java.time.Duration;
+
+public class TooManyRequestsException extends RuntimeException {
+
+    // Tempo sugerido até a próxima tentativa (header Retry-After); null quando desconhecido
+    private final Duration esperaSugerida;
+
+    public TooManyRequestsException(String message) {
+        this(message, (Duration) null);
+    }
+
+    public TooManyRequestsException(String message, Duration esperaSugerida) {
+        super(message);
+        this.esperaSugerida = esperaSugerida;
+    }
+
+    public TooManyRequestsException(String message, Throwable cause) {
+        super(message, cause);
+        this.esperaSugerida = null;
+    }
+
+    public Duration getEsperaSugerida() {
+        return esperaSugerida;
+    }
+
+}
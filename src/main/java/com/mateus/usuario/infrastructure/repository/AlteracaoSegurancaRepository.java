@@ -0,0 +1,34 @@
+package com.mateus.usuario.infrastructure.repository;
+
+import com.mateus.usuario.infrastructure.entity.AlteracaoSeguranca;
+import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface AlteracaoSegurancaRepository extends JpaRepository<AlteracaoSeguranca, Long> {
+
+    // Chamado dentro da transação que altera o usuário: a linha só aparece para as outras instâncias com o commit
+    @Transactional
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            insert into alteracao_seguranca (usuario_id, versao_minima, email, alterado_em, expira_em)
+            values (:usuarioId, :versaoMinima, :email, now(), :expiraEm)""")
+    int inserir(@Param("usuarioId") Long usuarioId, @Param("versaoMinima") long versaoMinima,
+                @Param("email") String email, @Param("expiraEm") Instant expiraEm);
+
+    // Alterações ainda válidas gravadas a partir de "desde" (por esta ou por outras instâncias)
+    @Query("select a from AlteracaoSeguranca a where a.alteradoEm >= :desde and a.expiraEm > :agora")
+    List<AlteracaoSeguranca> buscarAlteradasDesde(@Param("desde") Instant desde, @Param("agora") Instant agora);
+
+    @Transactional
+    @Modifying
+    @Query("delete from AlteracaoSeguranca a where a.expiraEm <= :agora")
+    int removerExpiradas(@Param("agora") Instant agora);
+}
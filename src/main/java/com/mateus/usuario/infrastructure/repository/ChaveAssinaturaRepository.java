@@ -0,0 +1,34 @@
+package com.mateus.usuario.infrastructure.repository;
+
+import com.mateus.usuario.infrastructure.entity.ChaveAssinatura;
+import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface ChaveAssinaturaRepository extends JpaRepository<ChaveAssinatura, String> {
+
+    // INSERT direto: com id atribuído, o save() faria um SELECT antes (merge) para descobrir se a linha é nova
+    @Transactional
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            insert into chave_assinatura (kid, algoritmo, chave_publica, ativa_em, expira_em)
+            values (:kid, :algoritmo, :chavePublica, :ativaEm, :expiraEm)""")
+    int inserir(@Param("kid") String kid, @Param("algoritmo") String algoritmo,
+                @Param("chavePublica") byte[] chavePublica, @Param("ativaEm") Instant ativaEm,
+                @Param("expiraEm") Instant expiraEm);
+
+    @Query("select c from ChaveAssinatura c where c.expiraEm > :agora")
+    List<ChaveAssinatura> buscarValidas(@Param("agora") Instant agora);
+
+    @Transactional
+    @Modifying
+    @Query("delete from ChaveAssinatura c where c.expiraEm <= :agora")
+    int removerExpiradas(@Param("agora") Instant agora);
+}
@@ -0,0 +1,13 @@
+package com.mateus.usuario.infrastructure.repository;
+
+import com.mateus.usuario.business.dto.UsuarioLocalizacaoDTO;
+
+import java.util.List;
+
+public interface EnderecoBuscaRepository {
+
+    // Busca endereços (com os dados do usuário) por estado, cidade e prefixo de CEP, em ordem de id do endereço.
+    // Filtros nulos são ignorados; "aposId" é o cursor da página anterior.
+    List<UsuarioLocalizacaoDTO> buscarPorLocalizacao(String cidade, String estado, String prefixoCep,
+                                                     Long aposId, int limite);
+}
@@ -0,0 +1,54 @@
+package com.mateus.usuario.infrastructure.repository;
+
+import com.mateus.usuario.business.dto.UsuarioLocalizacaoDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.util.List;
+
+// Consulta montada apenas com os filtros informados, para que o banco use os índices
+// endereco(estado, cidade) e endereco(cep) em vez de condições do tipo ":param is null or ..."
+public class EnderecoBuscaRepositoryImpl implements EnderecoBuscaRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<UsuarioLocalizacaoDTO> buscarPorLocalizacao(String cidade, String estado, String prefixoCep,
+                                                            Long aposId, int limite) {
+        StringBuilder jpql = new StringBuilder("""
+                select new com.mateus.usuario.business.dto.UsuarioLocalizacaoDTO(
+                    u.id, u.nome, u.email, e.id, e.rua, e.numero, e.complemento, e.cidade, e.estado, e.cep)
+                from Endereco e join Usuario u on u.id = e.usuario_id
+                where e.id > :aposId""");
+        if (estado != null) {
+            jpql.append(" and e.estado = :estado");
+        }
+        if (cidade != null) {
+            jpql.append(" and e.cidade = :cidade");
+        }
+        if (prefixoCep != null) {
+            jpql.append(" and e.cep like :prefixoCep escape '\\'");
+        }
+        jpql.append(" order by e.id");
+
+        TypedQuery<UsuarioLocalizacaoDTO> query = entityManager.createQuery(jpql.toString(), UsuarioLocalizacaoDTO.class)
+                .setParameter("aposId", aposId != null ? aposId : 0L)
+                .setMaxResults(limite);
+        if (estado != null) {
+            query.setParameter("estado", estado);
+        }
+        if (cidade != null) {
+            query.setParameter("cidade", cidade);
+        }
+        if (prefixoCep != null) {
+            query.setParameter("prefixoCep", escaparLike(prefixoCep) + "%");
+        }
+        return query.getResultList();
+    }
+
+    private static String escaparLike(String valor) {
+        return valor.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
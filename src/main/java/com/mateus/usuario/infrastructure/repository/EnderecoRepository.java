@@ -1,9 +1,22 @@
 package com.mateus.usuario.infrastructure.repository;
 
 import com.mateus.usuario.infrastructure.entity.Endereco;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
-public interface EnderecoRepository extends JpaRepository<Endereco, Long> {
+public interface EnderecoRepository extends JpaRepository<Endereco, Long>, EnderecoBuscaRepository {
+
+    // Busca os endereços de vários usuários em uma única consulta (exportação; fora do cache de segundo nível)
+    @Query("select e from Endereco e where e.usuario_id in :usuarioIds order by e.usuario_id, e.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE"))
+    List<Endereco> findByUsuarioIds(@Param("usuarioIds") Collection<Long> usuarioIds);
 }
@@ -0,0 +1,45 @@
+package com.mateus.usuario.infrastructure.repository;
+
+import com.mateus.usuario.infrastructure.entity.RefreshToken;
+import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, String> {
+
+    // INSERT direto: com id atribuído, o save() faria um SELECT antes (merge) para descobrir se a linha é nova
+    @Transactional
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            insert into refresh_token (hash, familia, usuario_id, versao_seguranca, expira_em)
+            values (:hash, :familia, :usuarioId, :versaoSeguranca, :expiraEm)""")
+    int inserir(@Param("hash") String hash, @Param("familia") UUID familia, @Param("usuarioId") Long usuarioId,
+                @Param("versaoSeguranca") long versaoSeguranca, @Param("expiraEm") Instant expiraEm);
+
+    // Marca o token como usado só se ainda estiver ativo; 0 significa que já foi usado (ou expirou)
+    // por outra requisição, o que torna a troca atômica mesmo com várias instâncias
+    @Transactional
+    @Modifying
+    @Query("""
+            update RefreshToken r set r.substituidoEm = :agora
+            where r.hash = :hash and r.substituidoEm is null and r.expiraEm > :agora""")
+    int marcarSubstituido(@Param("hash") String hash, @Param("agora") Instant agora);
+
+    @Transactional
+    @Modifying
+    @Query("delete from RefreshToken r where r.familia = :familia")
+    int removerFamilia(@Param("familia") UUID familia);
+
+    // Tokens substituídos continuam gravados até expirar, para detectar a reutilização
+    @Transactional
+    @Modifying
+    @Query("delete from RefreshToken r where r.expiraEm <= :agora")
+    int removerExpirados(@Param("agora") Instant agora);
+}
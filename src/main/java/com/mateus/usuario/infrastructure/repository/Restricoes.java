@@ -0,0 +1,23 @@
+package com.mateus.usuario.infrastructure.repository;
+
+import org.hibernate.exception.ConstraintViolationException;
+
+// Nomes das restrições do esquema (migrations do Flyway) usadas para traduzir erros do banco
+public final class Restricoes {
+
+    // Índice único de lower(email) em usuario (V1)
+    public static final String EMAIL_UNICO = "ux_usuario_email_lower";
+
+    private Restricoes() {
+    }
+
+    // Verifica se a exceção (ou alguma causa) é a violação da restrição informada
+    public static boolean violou(Throwable erro, String restricao) {
+        for (Throwable causa = erro; causa != null; causa = causa.getCause()) {
+            if (causa instanceof ConstraintViolationException violacao) {
+                return restricao.equalsIgnoreCase(violacao.getConstraintName());
+            }
+        }
+        return false;
+    }
+}
@@ -1,9 +1,22 @@
 package com.mateus.usuario.infrastructure.repository;
 
 import com.mateus.usuario.infrastructure.entity.Telefone;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface TelefoneRepository extends JpaRepository<Telefone, Long> {
+
+    // Busca os telefones de vários usuários em uma única consulta (exportação; fora do cache de segundo nível)
+    @Query("select t from Telefone t where t.usuario_id in :usuarioIds order by t.usuario_id, t.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE"))
+    List<Telefone> findByUsuarioIds(@Param("usuarioIds") Collection<Long> usuarioIds);
 }
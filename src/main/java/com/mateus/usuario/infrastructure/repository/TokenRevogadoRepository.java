@@ -0,0 +1,34 @@
+package com.mateus.usuario.infrastructure.repository;
+
+import com.mateus.usuario.infrastructure.entity.TokenRevogado;
+import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface TokenRevogadoRepository extends JpaRepository<TokenRevogado, String> {
+
+    // Logout repetido do mesmo token não gera erro
+    @Transactional
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            insert into token_revogado (jti, expira_em, revogado_em)
+            values (:jti, :expiraEm, now())
+            on conflict (jti) do nothing""")
+    int inserir(@Param("jti") String jti, @Param("expiraEm") Instant expiraEm);
+
+    // Revogações ainda válidas gravadas a partir de "desde" (por esta ou por outras instâncias)
+    @Query("select t from TokenRevogado t where t.revogadoEm >= :desde and t.expiraEm > :agora")
+    List<TokenRevogado> buscarRevogadosDesde(@Param("desde") Instant desde, @Param("agora") Instant agora);
+
+    @Transactional
+    @Modifying
+    @Query("delete from TokenRevogado t where t.expiraEm <= :agora")
+    int removerExpirados(@Param("agora") Instant agora);
+}
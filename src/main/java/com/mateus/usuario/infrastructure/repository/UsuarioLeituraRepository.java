@@ -0,0 +1,16 @@
+package com.mateus.usuario.infrastructure.repository;
+
+import com.mateus.usuario.business.dto.UsuarioDTO;
+import com.mateus.usuario.infrastructure.entity.Usuario;
+
+import java.util.Optional;
+
+public interface UsuarioLeituraRepository {
+
+    // Carrega o usuário e, se pedido, seus endereços e telefones: pelo cache de segundo nível quando
+    // o email bate exatamente com o cadastrado, senão em uma única consulta
+    Optional<UsuarioDTO> buscarDTOPorEmail(String email, boolean comEnderecos, boolean comTelefones);
+
+    // Busca pelo id natural (email), resolvida pelo cache de segundo nível quando possível
+    Optional<Usuario> buscarPorEmail(String email);
+}
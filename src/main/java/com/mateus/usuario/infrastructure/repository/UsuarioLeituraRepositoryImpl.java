@@ -0,0 +1,224 @@
+package com.mateus.usuario.infrastructure.repository;
+
+import com.mateus.usuario.business.dto.EnderecoDTO;
+import com.mateus.usuario.business.dto.TelefoneDTO;
+import com.mateus.usuario.business.dto.UsuarioDTO;
+import com.mateus.usuario.infrastructure.entity.Endereco;
+import com.mateus.usuario.infrastructure.entity.Telefone;
+import com.mateus.usuario.infrastructure.entity.Usuario;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Cache;
+import org.hibernate.cache.spi.access.NaturalIdDataAccess;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+// Plano de leitura explícito. Primeiro consulta o cache de segundo nível (email -> id -> entidade e coleções),
+// conferindo só a versão do usuário pela chave primária; se algo faltar no cache, estiver desatualizado ou o
+// email não bater exatamente, os filhos pedidos entram na mesma consulta por LEFT JOIN sobre lower(email),
+// atendida pelo índice único, e o resultado é montado direto no DTO.
+// A busca por id natural do Hibernate não é usada para resolver faltas: ela compara "email = ?", coluna sem
+// índice próprio. Em ambos os casos nada lazy escapa da transação (não depende de open-in-view).
+public class UsuarioLeituraRepositoryImpl implements UsuarioLeituraRepository {
+
+    // Papéis das coleções de Usuario no cache de segundo nível
+    private static final String COLECAO_ENDERECOS = Usuario.class.getName() + ".enderecos";
+    private static final String COLECAO_TELEFONES = Usuario.class.getName() + ".telefones";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<UsuarioDTO> buscarDTOPorEmail(String email, boolean comEnderecos, boolean comTelefones) {
+        Usuario usuario = carregarDoCache(email, comEnderecos, comTelefones);
+        if (usuario != null) {
+            return Optional.of(paraDTO(usuario, comEnderecos, comTelefones));
+        }
+        return consultarDTOPorEmail(email, comEnderecos, comTelefones);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Usuario> buscarPorEmail(String email) {
+        Usuario usuario = carregarDoCache(email, false, false);
+        if (usuario != null) {
+            return Optional.of(usuario);
+        }
+        // Fora do cache (ou com outra combinação de maiúsculas/minúsculas): uma consulta por lower(email).
+        // A entidade carregada alimenta o cache email -> id para as próximas leituras
+        return entityManager.createQuery("select u from Usuario u where lower(u.email) = lower(:email)", Usuario.class)
+                .setParameter("email", email)
+                .getResultStream()
+                .findFirst();
+    }
+
+    // Leitura do cache: devolve o usuário se o email (exato), a entidade e as coleções pedidas estiverem no cache
+    // de segundo nível com a versão atual; caso contrário, null. Só a versão é consultada no banco
+    private Usuario carregarDoCache(String email, boolean comEnderecos, boolean comTelefones) {
+        SessionImplementor sessao = entityManager.unwrap(SessionImplementor.class);
+        if (email == null || !sessao.getCacheMode().isGetEnabled()) {
+            return null;
+        }
+        EntityPersister persister = sessao.getFactory().getMappingMetamodel().getEntityDescriptor(Usuario.class);
+        NaturalIdDataAccess idsNaturais = persister.getNaturalIdCacheAccessStrategy();
+        Object chave = idsNaturais.generateCacheKey(persister.getNaturalIdMapping().normalizeInput(email), persister, sessao);
+        Object id = idsNaturais.get(sessao, chave);
+        if (id == null) {
+            return null;
+        }
+        Cache cache = sessao.getFactory().getCache();
+        if (!cache.containsEntity(Usuario.class, id)
+                || (comEnderecos && !cache.containsCollection(COLECAO_ENDERECOS, id))
+                || (comTelefones && !cache.containsCollection(COLECAO_TELEFONES, id))) {
+            return null;
+        }
+        Usuario usuario = entityManager.find(Usuario.class, id);
+        // O cache é local a cada instância: uma escrita feita em outra (no usuário, ou em endereços e telefones,
+        // que também incrementam a versão do usuário) só aparece comparando a versão com a do banco, pela chave
+        // primária. Entrada desatualizada ou de usuário removido sai do cache e a leitura segue pela consulta
+        if (usuario == null || !Objects.equals(usuario.getVersao(), versaoNoBanco(id))) {
+            descartar(cache, usuario, id);
+            return null;
+        }
+        // Entrada antiga do cache email -> id (email trocado antes da invalidação)
+        return email.equals(usuario.getEmail()) ? usuario : null;
+    }
+
+    private Long versaoNoBanco(Object id) {
+        return entityManager.createQuery("select u.versao from Usuario u where u.id = :id", Long.class)
+                .setParameter("id", id)
+                .getResultStream()
+                .findFirst()
+                .orElse(null);
+    }
+
+    // Remove o usuário, as suas coleções e os filhos nelas listados, que podem ter sido alterados junto
+    private void descartar(Cache cache, Usuario usuario, Object id) {
+        if (usuario != null) {
+            if (cache.containsCollection(COLECAO_ENDERECOS, id)) {
+                usuario.getEnderecos().forEach(endereco -> cache.evictEntityData(Endereco.class, endereco.getId()));
+            }
+            if (cache.containsCollection(COLECAO_TELEFONES, id)) {
+                usuario.getTelefones().forEach(telefone -> cache.evictEntityData(Telefone.class, telefone.getId()));
+            }
+            // Sem a instância desatualizada no contexto, a consulta seguinte devolve a linha atual
+            entityManager.detach(usuario);
+        }
+        cache.evictEntityData(Usuario.class, id);
+        cache.evictCollectionData(COLECAO_ENDERECOS, id);
+        cache.evictCollectionData(COLECAO_TELEFONES, id);
+    }
+
+    private UsuarioDTO paraDTO(Usuario usuario, boolean comEnderecos, boolean comTelefones) {
+        List<EnderecoDTO> enderecos = null;
+        if (comEnderecos) {
+            enderecos = new ArrayList<>(usuario.getEnderecos().size());
+            for (Endereco endereco : usuario.getEnderecos()) {
+                enderecos.add(EnderecoDTO.builder()
+                        .id(endereco.getId())
+                        .rua(endereco.getRua())
+                        .numero(endereco.getNumero())
+                        .complemento(endereco.getComplemento())
+                        .cidade(endereco.getCidade())
+                        .estado(endereco.getEstado())
+                        .cep(endereco.getCep())
+                        .build());
+            }
+        }
+        List<TelefoneDTO> telefones = null;
+        if (comTelefones) {
+            telefones = new ArrayList<>(usuario.getTelefones().size());
+            for (Telefone telefone : usuario.getTelefones()) {
+                telefones.add(TelefoneDTO.builder()
+                        .id(telefone.getId())
+                        .ddd(telefone.getDdd())
+                        .numero(telefone.getNumero())
+                        .build());
+            }
+        }
+        return UsuarioDTO.builder()
+                .nome(usuario.getNome())
+                .email(usuario.getEmail())
+                .senha(usuario.getSenha())
+                .versao(usuario.getVersao())
+                .enderecos(enderecos)
+                .telefones(telefones)
+                .build();
+    }
+
+    private Optional<UsuarioDTO> consultarDTOPorEmail(String email, boolean comEnderecos, boolean comTelefones) {
+        StringBuilder jpql = new StringBuilder("select u.nome, u.email, u.senha, u.versao");
+        if (comEnderecos) {
+            jpql.append(", e.id, e.rua, e.numero, e.complemento, e.cidade, e.estado, e.cep");
+        }
+        if (comTelefones) {
+            jpql.append(", t.id, t.ddd, t.numero");
+        }
+        jpql.append(" from Usuario u");
+        if (comEnderecos) {
+            jpql.append(" left join Endereco e on e.usuario_id = u.id");
+        }
+        if (comTelefones) {
+            jpql.append(" left join Telefone t on t.usuario_id = u.id");
+        }
+        jpql.append(" where lower(u.email) = lower(:email)");
+
+        List<Object[]> linhas = entityManager.createQuery(jpql.toString(), Object[].class)
+                .setParameter("email", email)
+                .getResultList();
+        if (linhas.isEmpty()) {
+            return Optional.empty();
+        }
+
+        // Com os dois joins cada endereço se repete por telefone (e vice-versa): remove as repetições pelo id
+        Map<Long, EnderecoDTO> enderecos = new LinkedHashMap<>();
+        Map<Long, TelefoneDTO> telefones = new LinkedHashMap<>();
+        for (Object[] linha : linhas) {
+            int coluna = 4;
+            if (comEnderecos) {
+                Long id = (Long) linha[coluna];
+                if (id != null && !enderecos.containsKey(id)) {
+                    enderecos.put(id, EnderecoDTO.builder()
+                            .id(id)
+                            .rua((String) linha[coluna + 1])
+                            .numero((String) linha[coluna + 2])
+                            .complemento((String) linha[coluna + 3])
+                            .cidade((String) linha[coluna + 4])
+                            .estado((String) linha[coluna + 5])
+                            .cep((String) linha[coluna + 6])
+                            .build());
+                }
+                coluna += 7;
+            }
+            if (comTelefones) {
+                Long id = (Long) linha[coluna];
+                if (id != null && !telefones.containsKey(id)) {
+                    telefones.put(id, TelefoneDTO.builder()
+                            .id(id)
+                            .ddd((String) linha[coluna + 1])
+                            .numero((String) linha[coluna + 2])
+                            .build());
+                }
+            }
+        }
+
+        Object[] primeira = linhas.get(0);
+        return Optional.of(UsuarioDTO.builder()
+                .nome((String) primeira[0])
+                .email((String) primeira[1])
+                .senha((String) primeira[2])
+                .versao((Long) primeira[3])
+                .enderecos(comEnderecos ? new ArrayList<>(enderecos.values()) : null)
+                .telefones(comTelefones ? new ArrayList<>(telefones.values()) : null)
+                .build());
+    }
+}
@@ -1,18 +1,103 @@
 package com.mateus.usuario.infrastructure.repository;
 
 import com.mateus.usuario.infrastructure.entity.Usuario;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import jakarta.transaction.Transactional;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+// As buscas por email comparam lower(email), usando o índice único ux_usuario_email_lower
 @Repository
-public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
+public interface UsuarioRepository extends JpaRepository<Usuario, Long>, UsuarioLeituraRepository {
 
-    boolean existsByEmail(String email);
-    Optional<Usuario> findByEmail(String email);
+    @Query("select case when count(u) > 0 then true else false end from Usuario u where lower(u.email) = lower(:email)")
+    boolean existsByEmail(@Param("email") String email);
 
+    @Query("select u from Usuario u where lower(u.email) = lower(:email)")
+    Optional<Usuario> findByEmail(@Param("email") String email);
+
+    // Próximo lote de usuários em ordem de id (paginação por chave, sem OFFSET).
+    // Usado pela exportação: não passa pelo cache de segundo nível, para não expulsar os perfis mais acessados
+    @Query("select u from Usuario u where u.id > :ultimoId order by u.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE"))
+    List<Usuario> findLoteAposId(@Param("ultimoId") Long ultimoId, Limit limite);
+
+    // Próximo lote de emails (em minúsculas) em ordem de id, só com as duas colunas, para o índice de disponibilidade
+    @Query("select u.id as id, lower(u.email) as email from Usuario u where u.id > :ultimoId and u.email is not null order by u.id")
+    List<EmailPorId> findEmailsAposId(@Param("ultimoId") Long ultimoId, Limit limite);
+
+    // Recebe os emails já em minúsculas e devolve os que existem (também em minúsculas)
+    @Query("select lower(u.email) from Usuario u where lower(u.email) in :emails")
+    List<String> findEmailsExistentes(@Param("emails") Collection<String> emails);
+
+    // Insere o usuário em um único comando; se o email já existir (índice único ux_usuario_email_lower)
+    // nada é inserido e o retorno é vazio, sem janela de corrida entre verificação e INSERT
+    @Query(nativeQuery = true, value = """
+            insert into usuario (id, nome, email, senha, versao_seguranca, versao)
+            values (nextval('usuario_seq'), :nome, :email, :senha, 0, 0)
+            on conflict ((lower(email))) do nothing
+            returning id""")
+    Optional<Long> inserirSeEmailLivre(@Param("nome") String nome, @Param("email") String email,
+                                       @Param("senha") String senha);
+
+    @Query("select u.id from Usuario u where lower(u.email) = lower(:email)")
+    Optional<Long> findIdByEmail(@Param("email") String email);
+
+    // Versão atual do usuário (ETag do perfil), sempre lida do banco: o cache de segundo nível é local a cada
+    // instância e não pode decidir sozinho um 304
+    @Query("select u.versao from Usuario u where lower(u.email) = lower(:email)")
+    Optional<Long> findVersaoByEmail(@Param("email") String email);
+
+    // Credenciais para a autenticação, sempre lidas do banco (projeção, fora do cache de segundo nível)
+    @Query("""
+            select u.id as id, u.email as email, u.senha as senha, u.versaoSeguranca as versaoSeguranca
+            from Usuario u where lower(u.email) = lower(:email)""")
+    Optional<Credenciais> buscarCredenciais(@Param("email") String email);
+
+    // Carrega e remove a entidade para que endereços e telefones sejam removidos em cascata
     @Transactional
-    void deleteByEmail(String email);
+    default void deleteByEmail(String email) {
+        buscarPorEmail(email).ifPresent(this::delete);
+    }
+
+    // Incrementa a versão do usuário (ETag do perfil) quando endereços ou telefones mudam. O lock da linha
+    // serializa as escritas concorrentes do mesmo usuário em vez de fazer uma delas falhar no commit
+    @Lock(LockModeType.PESSIMISTIC_FORCE_INCREMENT)
+    @Query("select u from Usuario u where u.id = :id")
+    Optional<Usuario> findByIdIncrementandoVersao(@Param("id") Long id);
+
+    // UPDATE em massa: o Hibernate invalida a região "usuario" do cache de segundo nível
+    @Transactional
+    @Modifying
+    @Query("update Usuario u set u.senha = :senha, u.versao = u.versao + 1 where lower(u.email) = lower(:email)")
+    int atualizarSenha(@Param("email") String email, @Param("senha") String senha);
+
+    // Projeção usada na leitura dos emails em lotes
+    interface EmailPorId {
+        Long getId();
+
+        String getEmail();
+    }
+
+    interface Credenciais {
+        Long getId();
+
+        String getEmail();
+
+        String getSenha();
+
+        Long getVersaoSeguranca();
+    }
 }
@@ -1,25 +1,39 @@
 package com.mateus.usuario.infrastructure.security.config;
 
 import com.mateus.usuario.infrastructure.security.filter.JwtRequestFilter;
+import com.mateus.usuario.infrastructure.security.service.VersaoSegurancaService;
+import com.mateus.usuario.infrastructure.security.util.BoundedPasswordEncoder;
 import com.mateus.usuario.infrastructure.security.util.JwtUtil;
+import com.mateus.usuario.infrastructure.security.util.ListaRevogacao;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.swagger.v3.oas.annotations.enums.SecuritySchemeType;
 import io.swagger.v3.oas.annotations.security.SecurityScheme;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import java.util.Map;
+
 @Configuration
 @EnableWebSecurity
 @SecurityScheme(name = SecurityConfig.SECURITY_SCHEME, type = SecuritySchemeType.HTTP,
@@ -27,30 +41,89 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 public class SecurityConfig {
 
     public static final String SECURITY_SCHEME = "Bearer";
+    public static final String PAPEL_OPERADOR = "OPERADOR";
 
     // Instâncias de JwtUtil e UserDetailsService injetadas pelo Spring
     private final JwtUtil jwtUtil;
     private final UserDetailsService userDetailsService;
+    private final VersaoSegurancaService versaoSegurancaService;
+    private final ListaRevogacao listaRevogacao;
+    // Modo de autenticação das requisições: "claims" (sem banco) ou "banco"
+    private final String modoAutenticacao;
 
     // Construtor para injeção de dependências de JwtUtil e UserDetailsService
     @Autowired
-    public SecurityConfig(JwtUtil jwtUtil, UserDetailsService userDetailsService) {
+    public SecurityConfig(JwtUtil jwtUtil, UserDetailsService userDetailsService,
+                          VersaoSegurancaService versaoSegurancaService, ListaRevogacao listaRevogacao,
+                          @Value("${seguranca.autenticacao.modo:claims}") String modoAutenticacao) {
         this.jwtUtil = jwtUtil;
         this.userDetailsService = userDetailsService;
+        this.versaoSegurancaService = versaoSegurancaService;
+        this.listaRevogacao = listaRevogacao;
+        this.modoAutenticacao = modoAutenticacao;
+    }
+
+    // Scrape do Prometheus: cadeia própria, avaliada antes da principal e sem o filtro JWT,
+    // para que a coleta frequente não passe por verificação de token nem consulta de usuário
+    @Bean
+    @Order(1)
+    public SecurityFilterChain actuatorFilterChain(HttpSecurity http) throws Exception {
+        http
+                .securityMatcher(EndpointRequest.to("prometheus"))
+                .csrf(AbstractHttpConfigurer::disable)
+                .authorizeHttpRequests(authorize -> authorize.anyRequest().permitAll())
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS));
+        return http.build();
+    }
+
+    // Importação e exportação em massa: cadeia própria, sem o filtro JWT, para que tokens de usuário final (qualquer
+    // um pode se cadastrar em POST /usuario) nunca cheguem a ela. Só a credencial de operador, via HTTP Basic, é
+    // aceita; sem operador configurado os endpoints ficam fechados
+    @Bean
+    @Order(2)
+    public SecurityFilterChain operadorFilterChain(HttpSecurity http,
+                                                   @Value("${seguranca.operador.usuario:}") String usuario,
+                                                   @Value("${seguranca.operador.senha:}") String senha) throws Exception {
+        boolean configurado = !usuario.isBlank() && !senha.isBlank();
+        http
+                .securityMatcher("/usuario/importacao", "/usuario/export")
+                .csrf(AbstractHttpConfigurer::disable)
+                .authorizeHttpRequests(authorize -> {
+                    if (configurado) {
+                        authorize.anyRequest().hasRole(PAPEL_OPERADOR);
+                    } else {
+                        authorize.anyRequest().denyAll();
+                    }
+                })
+                .httpBasic(basic -> basic.authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
+                .exceptionHandling(excecoes -> excecoes
+                        .authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS));
+        if (configurado) {
+            // A senha é configurada já com hash ({bcrypt}...) e conferida pelo PasswordEncoder da aplicação
+            http.userDetailsService(new InMemoryUserDetailsManager(
+                    User.withUsername(usuario).password(senha).roles(PAPEL_OPERADOR).build()));
+        }
+        return http.build();
     }
 
     // Configuração do filtro de segurança
     @Bean
+    @Order(3)
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         // Cria uma instância do JwtRequestFilter com JwtUtil e UserDetailsService
-        JwtRequestFilter jwtRequestFilter = new JwtRequestFilter(jwtUtil, userDetailsService);
+        JwtRequestFilter jwtRequestFilter = new JwtRequestFilter(jwtUtil, userDetailsService,
+                versaoSegurancaService, listaRevogacao, "claims".equalsIgnoreCase(modoAutenticacao));
 
         http
                 .csrf(AbstractHttpConfigurer::disable) // Desativa proteção CSRF para APIs REST (não aplicável a APIs que não mantêm estado)
                 .authorizeHttpRequests(authorize -> authorize
                         .requestMatchers("/v3/api-docs/**", "/swagger-ui", "/swagger-ui.html").permitAll()
                         .requestMatchers(HttpMethod.POST,"/usuario/login").permitAll() // Permite acesso ao endpoint de login sem autenticação
+                        .requestMatchers(HttpMethod.POST, "/usuario/refresh").permitAll() // Renovação usa o refresh token, não o access token (já expirado)
                         .requestMatchers(HttpMethod.GET, "/auth").permitAll()// Permite acesso ao endpoint GET /auth sem autenticação
+                        .requestMatchers(HttpMethod.GET, "/.well-known/jwks.json").permitAll() // Chaves públicas, para validação dos tokens por outros serviços
+                        .requestMatchers(HttpMethod.GET, "/usuario/disponivel").permitAll() // Consulta de email livre do formulário de cadastro
                         .requestMatchers(HttpMethod.POST, "/usuario").permitAll() // Permite acesso ao endpoint POST /usuario sem autenticação
                         .requestMatchers("/usuario/**").authenticated() // Requer autenticação para qualquer endpoint que comece com /usuario/
                         .anyRequest().authenticated() // Requer autenticação para todas as outras requisições
@@ -58,16 +131,37 @@ public class SecurityConfig {
                 .sessionManagement(session -> session
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS) // Configura a política de sessão como stateless (sem sessão)
                 )
+                // Sem token válido (ausente, expirado, malformado ou de chave desconhecida) a resposta é 401
+                .exceptionHandling(excecoes -> excecoes
+                        .authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
                 .addFilterBefore(jwtRequestFilter, UsernamePasswordAuthenticationFilter.class); // Adiciona o filtro JWT antes do filtro de autenticação padrão
 
         // Retorna a configuração do filtro de segurança construída
         return http.build();
     }
 
-    // Configura o PasswordEncoder para criptografar senhas usando BCrypt
+    // Configura o PasswordEncoder para criptografar senhas usando BCrypt com custo configurável.
+    // Os hashes passam a ser gravados com o prefixo {bcrypt}; hashes antigos (sem prefixo ou com custo menor)
+    // continuam válidos e são regravados no próximo login (ver UserDetailsServiceImpl#updatePassword).
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(); // Retorna uma instância de BCryptPasswordEncoder
+    public BoundedPasswordEncoder passwordEncoder(MeterRegistry meterRegistry,
+                                           @Value("${seguranca.senha.bcrypt-custo:10}") int custo,
+                                           @Value("${seguranca.senha.threads:0}") int threads,
+                                           @Value("${seguranca.senha.tamanho-fila:0}") int tamanhoFila,
+                                           @Value("${seguranca.senha.maximo-em-massa:0}") int maximoEmMassa) {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(custo);
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+
+        // Por padrão, uma thread de hash por núcleo disponível
+        int tamanhoPool = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        // Fila curta: cada tarefa enfileirada prende uma thread de requisição em future.get(), então uma fila
+        // do tamanho do pool do Tomcat deixaria uma rajada de logins ocupar todas elas antes do 503.
+        // Com 4 tarefas por thread de hash, a espera máxima fica em ~4 hashes e o excesso é rejeitado na hora
+        int tamanhoFilaEfetivo = tamanhoFila > 0 ? tamanhoFila : tamanhoPool * 4;
+        // Importações usam no máximo metade do pool (por padrão), para não derrubar login e cadastro com 503
+        int maximoEmMassaEfetivo = maximoEmMassa > 0 ? maximoEmMassa : Math.max(1, tamanhoPool / 2);
+        return new BoundedPasswordEncoder(delegating, tamanhoPool, tamanhoFilaEfetivo, maximoEmMassaEfetivo, meterRegistry);
     }
 
     // Configura o AuthenticationManager usando AuthenticationConfiguration
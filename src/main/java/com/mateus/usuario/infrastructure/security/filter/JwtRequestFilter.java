@@ -1,6 +1,11 @@
 package com.mateus.usuario.infrastructure.security.filter;
 
+import com.mateus.usuario.infrastructure.security.model.UsuarioAutenticado;
+import com.mateus.usuario.infrastructure.security.service.VersaoSegurancaService;
 import com.mateus.usuario.infrastructure.security.util.JwtUtil;
+import com.mateus.usuario.infrastructure.security.util.ListaRevogacao;
+import com.mateus.usuario.infrastructure.security.util.TokenVerificado;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -19,11 +24,21 @@ public class JwtRequestFilter extends OncePerRequestFilter {
     // Define propriedades para armazenar instâncias de JwtUtil e UserDetailsService
     private final JwtUtil jwtUtil;
     private final UserDetailsService userDetailsService;
+    private final VersaoSegurancaService versaoSegurancaService;
+    // Tokens revogados por logout (consulta em memória, sem banco)
+    private final ListaRevogacao listaRevogacao;
+    // Quando true, o principal é montado a partir das claims do token, sem consultar o banco
+    private final boolean autenticacaoPorClaims;
 
     // Construtor que inicializa as propriedades com instâncias fornecidas
-    public JwtRequestFilter(JwtUtil jwtUtil, UserDetailsService userDetailsService) {
+    public JwtRequestFilter(JwtUtil jwtUtil, UserDetailsService userDetailsService,
+                            VersaoSegurancaService versaoSegurancaService, ListaRevogacao listaRevogacao,
+                            boolean autenticacaoPorClaims) {
         this.jwtUtil = jwtUtil;
         this.userDetailsService = userDetailsService;
+        this.versaoSegurancaService = versaoSegurancaService;
+        this.listaRevogacao = listaRevogacao;
+        this.autenticacaoPorClaims = autenticacaoPorClaims;
     }
 
     // Metodo chamado uma vez por requisição para processar o filtro
@@ -38,15 +53,25 @@ public class JwtRequestFilter extends OncePerRequestFilter {
         if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
             // Extrai o token JWT do cabeçalho
             final String token = authorizationHeader.substring(7);
+            // Verifica o token uma única vez (assinatura e expiração) e obtém as claims. Token expirado, malformado
+            // ou assinado com chave desconhecida não autentica: a requisição segue anônima e o Spring Security
+            // responde 401 nas rotas protegidas (a recusa já é contada em jwt.rejeitados pelo JwtUtil)
+            final TokenVerificado tokenVerificado;
+            try {
+                tokenVerificado = jwtUtil.verificarToken(token);
+            } catch (JwtException e) {
+                chain.doFilter(request, response);
+                return;
+            }
             // Extrai o nome de usuário do token JWT
-            final String username = jwtUtil.extractUsername(token);
-
-            // Se o nome de usuário não for nulo e o usuário não estiver autenticado ainda
-            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                // Carrega os detalhes do usuário a partir do nome de usuário
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                // Valida o token JWT
-                if (jwtUtil.validateToken(token, username)) {
+            final String username = tokenVerificado.username();
+
+            // Se o nome de usuário não for nulo, o token não estiver revogado e o usuário não estiver autenticado ainda
+            if (username != null && !listaRevogacao.revogado(tokenVerificado)
+                    && SecurityContextHolder.getContext().getAuthentication() == null) {
+                // Obtém os detalhes do usuário (pelas claims ou, se necessário, pelo banco)
+                UserDetails userDetails = carregarUsuario(tokenVerificado);
+                if (userDetails != null) {
                     // Cria um objeto de autenticação com as informações do usuário
                     UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                             userDetails, null, userDetails.getAuthorities());
@@ -59,4 +84,27 @@ public class JwtRequestFilter extends OncePerRequestFilter {
         // Continua a cadeia de filtros, permitindo que a requisição prossiga
         chain.doFilter(request, response);
     }
+
+    // Retorna o principal da requisição, ou null se o token tiver sido revogado
+    private UserDetails carregarUsuario(TokenVerificado token) {
+        Long usuarioId = token.usuarioId();
+        Long versao = token.versaoSeguranca();
+
+        // Caminho sem banco: claims assinadas + tabela de versões em memória
+        if (autenticacaoPorClaims && usuarioId != null && versao != null
+                && versaoSegurancaService.podeValidarEmMemoria(token)) {
+            return versaoSegurancaService.versaoValida(usuarioId, versao)
+                    ? UsuarioAutenticado.doToken(usuarioId, token.username(), versao)
+                    : null;
+        }
+
+        // Carrega os detalhes do usuário a partir do nome de usuário
+        UserDetails userDetails = userDetailsService.loadUserByUsername(token.username());
+        // Tokens com versão de segurança anterior à atual do usuário não são mais aceitos
+        if (versao != null && userDetails instanceof UsuarioAutenticado usuario
+                && versao < usuario.getVersaoSeguranca()) {
+            return null;
+        }
+        return userDetails;
+    }
 }
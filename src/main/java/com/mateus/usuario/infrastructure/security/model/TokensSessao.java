@@ -0,0 +1,5 @@
+package com.mateus.usuario.infrastructure.security.model;
+
+// Par emitido no login e em cada renovação: access token JWT (curto) e refresh token opaco
+public record TokensSessao(String acesso, String renovacao) {
+}
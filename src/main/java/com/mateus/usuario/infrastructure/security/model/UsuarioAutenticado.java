@@ -0,0 +1,40 @@
+package com.mateus.usuario.infrastructure.security.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+// Principal usado pela segurança da aplicação: identifica o usuário sem manter a entidade JPA
+@Getter
+@AllArgsConstructor
+public class UsuarioAutenticado implements UserDetails {
+
+    private final Long id;
+    private final String email;
+    private final String senha;
+    private final long versaoSeguranca;
+
+    // Cria o principal a partir das claims assinadas do token (sem senha e sem acesso ao banco)
+    public static UsuarioAutenticado doToken(Long id, String email, long versaoSeguranca) {
+        return new UsuarioAutenticado(id, email, null, versaoSeguranca);
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of();
+    }
+
+    @Override
+    public String getPassword() {
+        return senha;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+}
@@ -0,0 +1,70 @@
+package com.mateus.usuario.infrastructure.security.service;
+
+import com.mateus.usuario.infrastructure.entity.AlteracaoSeguranca;
+import com.mateus.usuario.infrastructure.repository.AlteracaoSegurancaRepository;
+import com.mateus.usuario.infrastructure.security.util.JwtUtil;
+import jakarta.annotation.PostConstruct;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+
+// Leva para as demais instâncias as versões mínimas de segurança registradas no VersaoSegurancaService (troca de
+// senha/email e exclusão) e a remoção do usuário do cache de autenticação. A alteração é gravada em
+// alteracao_seguranca na mesma transação do usuário e cada instância relê as linhas novas periodicamente: um token
+// antigo (modo "claims") ou a senha antiga no login continuam aceitos nas outras instâncias por no máximo o
+// intervalo da sincronização
+@Service
+public class AlteracaoSegurancaService {
+
+    // Margem na busca incremental (ver RevogacaoTokenService)
+    private static final Duration SOBREPOSICAO = Duration.ofSeconds(5);
+
+    private final AlteracaoSegurancaRepository alteracaoSegurancaRepository;
+    private final VersaoSegurancaService versaoSegurancaService;
+    private final UserDetailsServiceImpl userDetailsService;
+
+    // Maior alterado_em já carregado do banco
+    private Instant ultimaAlteracao = Instant.EPOCH;
+
+    public AlteracaoSegurancaService(AlteracaoSegurancaRepository alteracaoSegurancaRepository,
+                                     VersaoSegurancaService versaoSegurancaService,
+                                     UserDetailsServiceImpl userDetailsService) {
+        this.alteracaoSegurancaRepository = alteracaoSegurancaRepository;
+        this.versaoSegurancaService = versaoSegurancaService;
+        this.userDetailsService = userDetailsService;
+    }
+
+    // Deve ser chamado dentro da transação que altera o usuário, com o email anterior à alteração; a tabela em
+    // memória e o cache desta instância continuam sendo atualizados pelo chamador só depois do commit
+    public void registrar(Long usuarioId, long versaoMinima, String email) {
+        alteracaoSegurancaRepository.inserir(usuarioId, versaoMinima, email, Instant.now().plus(JwtUtil.VALIDADE_TOKEN));
+    }
+
+    // Exclusão do usuário: nenhum token emitido antes dela volta a ser aceito
+    public void registrarExclusao(Long usuarioId, String email) {
+        registrar(usuarioId, Long.MAX_VALUE, email);
+    }
+
+    // Na inicialização carrega todas as alterações ainda válidas; depois, só as novas
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${seguranca.versao.sincronizacao:10s}",
+            initialDelayString = "${seguranca.versao.sincronizacao:10s}")
+    public synchronized void sincronizar() {
+        Instant desde = ultimaAlteracao.equals(Instant.EPOCH) ? Instant.EPOCH : ultimaAlteracao.minus(SOBREPOSICAO);
+        for (AlteracaoSeguranca alteracao : alteracaoSegurancaRepository.buscarAlteradasDesde(desde, Instant.now())) {
+            versaoSegurancaService.registrarNovaVersao(alteracao.getUsuarioId(), alteracao.getVersaoMinima());
+            userDetailsService.invalidar(alteracao.getEmail());
+            if (alteracao.getAlteradoEm().isAfter(ultimaAlteracao)) {
+                ultimaAlteracao = alteracao.getAlteradoEm();
+            }
+        }
+    }
+
+    // Depois da validade de um token a versão mínima não recusa mais nada: a tabela em memória já a descartou
+    @Scheduled(fixedDelayString = "${seguranca.versao.limpeza:1m}")
+    public void removerExpiradas() {
+        alteracaoSegurancaRepository.removerExpiradas(Instant.now());
+    }
+}
@@ -0,0 +1,120 @@
+package com.mateus.usuario.infrastructure.security.service;
+
+import com.mateus.usuario.infrastructure.entity.RefreshToken;
+import com.mateus.usuario.infrastructure.entity.Usuario;
+import com.mateus.usuario.infrastructure.exception.UnauthorizedException;
+import com.mateus.usuario.infrastructure.repository.RefreshTokenRepository;
+import com.mateus.usuario.infrastructure.repository.UsuarioRepository;
+import com.mateus.usuario.infrastructure.security.model.TokensSessao;
+import com.mateus.usuario.infrastructure.security.model.UsuarioAutenticado;
+import com.mateus.usuario.infrastructure.security.util.JwtUtil;
+import com.mateus.usuario.infrastructure.security.util.TokenRenovacao;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+// Emite e renova os tokens de sessão. A renovação troca o refresh token por um novo (rotação) e gera
+// outro access token sem verificar senha: só uma consulta por chave primária e um SHA-256, em vez do BCrypt
+// do login. Um refresh token já trocado que volte a ser apresentado revoga toda a família.
+@Service
+public class RenovacaoTokenService {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UsuarioRepository usuarioRepository;
+    private final JwtUtil jwtUtil;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration validade;
+    private final Counter renovacoes;
+    private final Counter reutilizacoes;
+
+    public RenovacaoTokenService(RefreshTokenRepository refreshTokenRepository, UsuarioRepository usuarioRepository,
+                                 JwtUtil jwtUtil, TransactionTemplate transactionTemplate, MeterRegistry meterRegistry,
+                                 @Value("${seguranca.refresh.validade:30d}") Duration validade) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.usuarioRepository = usuarioRepository;
+        this.jwtUtil = jwtUtil;
+        this.transactionTemplate = transactionTemplate;
+        this.validade = validade;
+        this.renovacoes = Counter.builder("jwt.renovacoes")
+                .description("Access tokens emitidos a partir de um refresh token")
+                .register(meterRegistry);
+        this.reutilizacoes = Counter.builder("jwt.refresh.reutilizados")
+                .description("Refresh tokens já trocados apresentados novamente (família revogada)")
+                .register(meterRegistry);
+    }
+
+    // Login: access token + refresh token de uma nova família
+    public TokensSessao emitir(UsuarioAutenticado usuario) {
+        return new TokensSessao(jwtUtil.generateToken(usuario), gravarNovo(UUID.randomUUID(), usuario));
+    }
+
+    // Resultado da rotação: os novos tokens ou o motivo da recusa. A recusa é devolvida em vez de lançada
+    // para que a revogação da família (reutilização, versão de segurança) seja confirmada junto com a transação
+    private record Renovacao(TokensSessao tokens, String recusa) {
+    }
+
+    public TokensSessao renovar(String refreshToken) {
+        Renovacao renovacao = transactionTemplate.execute(status -> rotacionar(refreshToken));
+        if (renovacao.recusa() != null) {
+            throw new UnauthorizedException(renovacao.recusa());
+        }
+        renovacoes.increment();
+        return renovacao.tokens();
+    }
+
+    // Marca o token atual como usado e grava o próximo na mesma transação: se a gravação falhar,
+    // o token atual continua válido em vez de ser consumido (o que encerraria a sessão do usuário)
+    private Renovacao rotacionar(String refreshToken) {
+        RefreshToken atual = refreshTokenRepository.findById(TokenRenovacao.hash(refreshToken)).orElse(null);
+        if (atual == null) {
+            return new Renovacao(null, "Refresh token inválido.");
+        }
+
+        Instant agora = Instant.now();
+        if (refreshTokenRepository.marcarSubstituido(atual.getHash(), agora) == 0) {
+            if (atual.getSubstituidoEm() != null || atual.getExpiraEm().isAfter(agora)) {
+                // Já trocado antes (ou agora, por outra requisição): o token pode ter vazado
+                reutilizacoes.increment();
+                refreshTokenRepository.removerFamilia(atual.getFamilia());
+            }
+            return new Renovacao(null, "Refresh token inválido.");
+        }
+
+        // Usuário removido ou com senha/email alterados desde o login: a sessão não pode ser renovada
+        Usuario usuario = usuarioRepository.findById(atual.getUsuarioId()).orElse(null);
+        long versaoAtual = usuario != null && usuario.getVersaoSeguranca() != null ? usuario.getVersaoSeguranca() : 0L;
+        if (usuario == null || versaoAtual > atual.getVersaoSeguranca()) {
+            refreshTokenRepository.removerFamilia(atual.getFamilia());
+            return new Renovacao(null, "Sessão encerrada, faça login novamente.");
+        }
+
+        UsuarioAutenticado autenticado = UsuarioAutenticado.doToken(usuario.getId(), usuario.getEmail(), versaoAtual);
+        String renovacao = gravarNovo(atual.getFamilia(), autenticado);
+        return new Renovacao(new TokensSessao(jwtUtil.generateToken(autenticado), renovacao), null);
+    }
+
+    // Logout: encerra a família do refresh token informado (tokens desconhecidos são ignorados)
+    public void revogar(String refreshToken) {
+        refreshTokenRepository.findById(TokenRenovacao.hash(refreshToken))
+                .ifPresent(token -> refreshTokenRepository.removerFamilia(token.getFamilia()));
+    }
+
+    @Scheduled(fixedDelayString = "${seguranca.refresh.limpeza:1h}")
+    public void removerExpirados() {
+        refreshTokenRepository.removerExpirados(Instant.now());
+    }
+
+    private String gravarNovo(UUID familia, UsuarioAutenticado usuario) {
+        String token = TokenRenovacao.gerar();
+        refreshTokenRepository.inserir(TokenRenovacao.hash(token), familia, usuario.getId(),
+                usuario.getVersaoSeguranca(), Instant.now().plus(validade));
+        return token;
+    }
+}
@@ -0,0 +1,78 @@
+package com.mateus.usuario.infrastructure.security.service;
+
+import com.mateus.usuario.infrastructure.entity.TokenRevogado;
+import com.mateus.usuario.infrastructure.exception.BadRequestException;
+import com.mateus.usuario.infrastructure.repository.TokenRevogadoRepository;
+import com.mateus.usuario.infrastructure.security.util.JwtUtil;
+import com.mateus.usuario.infrastructure.security.util.ListaRevogacao;
+import com.mateus.usuario.infrastructure.security.util.TokenVerificado;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+
+// Logout: grava o jti do token na tabela token_revogado (durável e compartilhada entre instâncias) e na
+// ListaRevogacao em memória, que é a única consultada pelo filtro JWT. Revogações feitas em outras
+// instâncias chegam pela sincronização periódica; as expiradas saem do banco e da memória na limpeza.
+@Service
+public class RevogacaoTokenService {
+
+    // Margem na busca incremental: cobre transações que gravaram revogado_em antes do último valor visto
+    // mas só foram confirmadas depois da sincronização anterior
+    private static final Duration SOBREPOSICAO = Duration.ofSeconds(5);
+
+    private final TokenRevogadoRepository tokenRevogadoRepository;
+    private final ListaRevogacao listaRevogacao;
+    private final JwtUtil jwtUtil;
+    private final Counter revogacoes;
+
+    // Maior revogado_em já carregado do banco
+    private Instant ultimaRevogacao = Instant.EPOCH;
+
+    public RevogacaoTokenService(TokenRevogadoRepository tokenRevogadoRepository, ListaRevogacao listaRevogacao,
+                                 JwtUtil jwtUtil, MeterRegistry meterRegistry) {
+        this.tokenRevogadoRepository = tokenRevogadoRepository;
+        this.listaRevogacao = listaRevogacao;
+        this.jwtUtil = jwtUtil;
+        this.revogacoes = Counter.builder("jwt.revogacoes")
+                .description("Tokens revogados por logout nesta instância")
+                .register(meterRegistry);
+    }
+
+    // Revoga o token informado no header Authorization até a sua expiração
+    public void revogar(String token) {
+        TokenVerificado verificado = jwtUtil.verificarToken(token.substring(7));
+        if (verificado.jti() == null || verificado.expiraEm() == null) {
+            throw new BadRequestException("Token sem identificador não pode ser revogado.");
+        }
+        tokenRevogadoRepository.inserir(verificado.jti(), verificado.expiraEm());
+        listaRevogacao.adicionar(verificado.jti(), verificado.expiraEm());
+        revogacoes.increment();
+    }
+
+    // Na inicialização carrega todas as revogações ainda válidas; depois, só as novas
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${seguranca.revogacao.sincronizacao:10s}",
+            initialDelayString = "${seguranca.revogacao.sincronizacao:10s}")
+    public synchronized void sincronizar() {
+        Instant desde = ultimaRevogacao.equals(Instant.EPOCH) ? Instant.EPOCH : ultimaRevogacao.minus(SOBREPOSICAO);
+        for (TokenRevogado revogado : tokenRevogadoRepository.buscarRevogadosDesde(desde, Instant.now())) {
+            listaRevogacao.adicionar(revogado.getJti(), revogado.getExpiraEm());
+            if (revogado.getRevogadoEm().isAfter(ultimaRevogacao)) {
+                ultimaRevogacao = revogado.getRevogadoEm();
+            }
+        }
+    }
+
+    // Tokens expirados já são recusados pela validação do JWT: não precisam mais estar na lista
+    @Scheduled(fixedDelayString = "${seguranca.revogacao.limpeza:1m}")
+    public void removerExpirados() {
+        Instant agora = Instant.now();
+        tokenRevogadoRepository.removerExpirados(agora);
+        listaRevogacao.removerExpirados(agora);
+    }
+}
@@ -0,0 +1,70 @@
+package com.mateus.usuario.infrastructure.security.service;
+
+import com.mateus.usuario.infrastructure.entity.ChaveAssinatura;
+import com.mateus.usuario.infrastructure.repository.ChaveAssinaturaRepository;
+import com.mateus.usuario.infrastructure.security.util.ChaveJwt;
+import com.mateus.usuario.infrastructure.security.util.ChaveiroJwt;
+import jakarta.annotation.PostConstruct;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+
+// Publica no banco as chaves públicas geradas por esta instância, carrega as das demais instâncias
+// no ChaveiroJwt e conduz a rotação (geração antecipada da próxima chave, promoção e limpeza)
+@Service
+public class RotacaoChavesService {
+
+    private final ChaveAssinaturaRepository chaveAssinaturaRepository;
+    private final ChaveiroJwt chaveiro;
+
+    public RotacaoChavesService(ChaveAssinaturaRepository chaveAssinaturaRepository, ChaveiroJwt chaveiro) {
+        this.chaveAssinaturaRepository = chaveAssinaturaRepository;
+        this.chaveiro = chaveiro;
+        // Token assinado por uma chave criada depois da última sincronização (ex.: instância recém-iniciada)
+        this.chaveiro.aoDesconhecerChave(kid -> chaveAssinaturaRepository.findById(kid).map(RotacaoChavesService::paraChave));
+    }
+
+    // Primeira chave desta instância: entra em uso na hora, as demais instâncias a buscam pelo "kid"
+    @PostConstruct
+    public void iniciar() {
+        Instant agora = Instant.now();
+        ChaveJwt primeira = chaveiro.gerar(agora);
+        publicar(primeira);
+        chaveiro.usar(primeira, agora);
+        sincronizar(agora);
+    }
+
+    @Scheduled(fixedDelayString = "${seguranca.jwt.sincronizacao:1m}", initialDelayString = "${seguranca.jwt.sincronizacao:1m}")
+    public void rotacionar() {
+        Instant agora = Instant.now();
+        // A próxima chave é publicada antes de assinar qualquer token
+        ChaveJwt proxima = chaveiro.gerarProximaSeNecessario(agora);
+        if (proxima != null) {
+            publicar(proxima);
+            chaveiro.usar(proxima, agora);
+        }
+        chaveiro.promover(agora);
+        sincronizar(agora);
+        chaveiro.removerExpiradas(agora);
+        chaveAssinaturaRepository.removerExpiradas(agora);
+    }
+
+    private void sincronizar(Instant agora) {
+        for (ChaveAssinatura chave : chaveAssinaturaRepository.buscarValidas(agora)) {
+            if (!chaveiro.conhece(chave.getKid())) {
+                chaveiro.adicionar(paraChave(chave));
+            }
+        }
+    }
+
+    private void publicar(ChaveJwt chave) {
+        chaveAssinaturaRepository.inserir(chave.kid(), chave.algoritmo().getId(), chave.publicaCodificada(),
+                chave.ativaEm(), chave.expiraEm());
+    }
+
+    private static ChaveJwt paraChave(ChaveAssinatura chave) {
+        return ChaveJwt.publicada(chave.getKid(), chave.getAlgoritmo(), chave.getChavePublica(),
+                chave.getAtivaEm(), chave.getExpiraEm());
+    }
+}
@@ -0,0 +1,134 @@
+package com.mateus.usuario.infrastructure.security.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+// Limita tentativas de login por email e por IP com token buckets em memória, antes de qualquer
+// consulta ao banco ou cálculo de BCrypt. Também limita, por IP, a consulta pública de email disponível,
+// que revelaria quais contas existem para um ataque de força bruta no login. Os buckets ficam distribuídos
+// em faixas (stripes), cada uma com seu próprio lock e capacidade fixa; ao atingir a capacidade, o bucket
+// usado há mais tempo é descartado.
+@Service
+public class TentativasLoginService {
+
+    private static final int FAIXAS = 64;
+
+    private final LimitePorChave porEmail;
+    private final LimitePorChave porIp;
+    private final LimitePorChave consultasPorIp;
+    // Relógio em nanossegundos (System::nanoTime; substituível nos testes)
+    private final LongSupplier relogio;
+
+    @Autowired
+    public TentativasLoginService(@Value("${seguranca.login.email.capacidade:5}") int capacidadeEmail,
+                                  @Value("${seguranca.login.email.por-minuto:5}") int porMinutoEmail,
+                                  @Value("${seguranca.login.ip.capacidade:20}") int capacidadeIp,
+                                  @Value("${seguranca.login.ip.por-minuto:60}") int porMinutoIp,
+                                  @Value("${seguranca.disponibilidade.ip.capacidade:30}") int capacidadeConsultas,
+                                  @Value("${seguranca.disponibilidade.ip.por-minuto:60}") int porMinutoConsultas,
+                                  @Value("${seguranca.login.max-chaves:100000}") int maximoChaves) {
+        this(capacidadeEmail, porMinutoEmail, capacidadeIp, porMinutoIp, capacidadeConsultas, porMinutoConsultas,
+                maximoChaves, System::nanoTime);
+    }
+
+    TentativasLoginService(int capacidadeEmail, int porMinutoEmail, int capacidadeIp, int porMinutoIp,
+                           int capacidadeConsultas, int porMinutoConsultas, int maximoChaves, LongSupplier relogio) {
+        this.porEmail = new LimitePorChave(capacidadeEmail, porMinutoEmail, maximoChaves);
+        this.porIp = new LimitePorChave(capacidadeIp, porMinutoIp, maximoChaves);
+        this.consultasPorIp = new LimitePorChave(capacidadeConsultas, porMinutoConsultas, maximoChaves);
+        this.relogio = relogio;
+    }
+
+    // Consome uma tentativa do IP e do email. Retorna Duration.ZERO se permitida ou, se algum dos
+    // dois estiver sem saldo, o tempo até haver uma tentativa disponível (usado no Retry-After)
+    public Duration consumirTentativa(String email, String ip) {
+        String chaveEmail = email != null ? email.trim().toLowerCase(Locale.ROOT) : "";
+        long agora = relogio.getAsLong();
+        long espera = porIp.tentarConsumir(ip != null ? ip : "", agora);
+        if (espera == 0) {
+            espera = porEmail.tentarConsumir(chaveEmail, agora);
+        }
+        return Duration.ofNanos(espera);
+    }
+
+    // Consome uma consulta de email disponível do IP; mesmo retorno de consumirTentativa
+    public Duration consumirConsultaDisponibilidade(String ip) {
+        return Duration.ofNanos(consultasPorIp.tentarConsumir(ip != null ? ip : "", relogio.getAsLong()));
+    }
+
+    // Conjunto de buckets de um tipo de chave (email ou IP)
+    private static class LimitePorChave {
+
+        private final double capacidade;
+        private final double tokensPorNano;
+        private final Faixa[] faixas = new Faixa[FAIXAS];
+
+        LimitePorChave(int capacidade, int porMinuto, int maximoChaves) {
+            this.capacidade = capacidade;
+            this.tokensPorNano = porMinuto / 60_000_000_000d;
+            int chavesPorFaixa = Math.max(1, maximoChaves / FAIXAS);
+            for (int i = 0; i < FAIXAS; i++) {
+                faixas[i] = new Faixa(chavesPorFaixa);
+            }
+        }
+
+        // Retorna 0 se consumiu uma tentativa, ou os nanossegundos até o bucket ter uma tentativa inteira
+        long tentarConsumir(String chave, long agora) {
+            Faixa faixa = faixas[faixa(chave)];
+            synchronized (faixa) {
+                Bucket bucket = faixa.buckets.get(chave);
+                if (bucket == null) {
+                    bucket = new Bucket(capacidade, agora);
+                    faixa.buckets.put(chave, bucket);
+                } else {
+                    // Reabastece proporcionalmente ao tempo desde a última tentativa
+                    bucket.tokens = Math.min(capacidade, bucket.tokens + (agora - bucket.atualizadoEm) * tokensPorNano);
+                    bucket.atualizadoEm = agora;
+                }
+                if (bucket.tokens < 1d) {
+                    return Math.max(1L, (long) Math.ceil((1d - bucket.tokens) / tokensPorNano));
+                }
+                bucket.tokens -= 1d;
+                return 0L;
+            }
+        }
+    }
+
+    // Faixa (stripe) de uma chave
+    static int faixa(String chave) {
+        return (chave.hashCode() & 0x7fffffff) % FAIXAS;
+    }
+
+    // Mapa em ordem de acesso com tamanho máximo: o bucket ocioso há mais tempo é removido primeiro
+    private static class Faixa {
+
+        private final Map<String, Bucket> buckets;
+
+        Faixa(int maximoChaves) {
+            this.buckets = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Bucket> eldest) {
+                    return size() > maximoChaves;
+                }
+            };
+        }
+    }
+
+    private static class Bucket {
+
+        private double tokens;
+        private long atualizadoEm;
+
+        Bucket(double tokens, long atualizadoEm) {
+            this.tokens = tokens;
+            this.atualizadoEm = atualizadoEm;
+        }
+    }
+}
@@ -1,32 +1,88 @@
 package com.mateus.usuario.infrastructure.security.service;
 
-import com.mateus.usuario.infrastructure.entity.Usuario;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.mateus.usuario.infrastructure.repository.UsuarioRepository;
-import lombok.RequiredArgsConstructor;
+import com.mateus.usuario.infrastructure.security.model.UsuarioAutenticado;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.Locale;
+
 @Service
-@RequiredArgsConstructor(onConstructor = @__(@Autowired))
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
 
     // Repositório para acessar dados de usuário no banco de dados
     private final UsuarioRepository usuarioRepository;
 
+    // Cache local dos usuários já carregados (usado pelo filtro JWT e pelo AuthenticationManager no login)
+    private final Cache<String, UsuarioAutenticado> usuariosCarregados;
+
+    @Autowired
+    public UserDetailsServiceImpl(UsuarioRepository usuarioRepository, MeterRegistry meterRegistry,
+                                  @Value("${seguranca.usuario-cache.tamanho-maximo:10000}") long tamanhoMaximo,
+                                  @Value("${seguranca.usuario-cache.ttl:5m}") Duration ttl) {
+        this.usuarioRepository = usuarioRepository;
+        this.usuariosCarregados = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        // Expõe acertos, falhas e remoções do cache como métricas (cache.gets, cache.evictions, ...)
+        CaffeineCacheMetrics.monitor(meterRegistry, usuariosCarregados, "usuarioDetails");
+    }
+
     // Implementação do método para carregar detalhes do usuário pelo e-mail
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        // Busca o usuário no banco de dados pelo e-mail
-        Usuario usuario = usuarioRepository.findByEmail(email)
+        // Busca no cache e, se não encontrar, no banco de dados (usuários inexistentes não são guardados)
+        // A chave do cache ignora maiúsculas/minúsculas, assim como o email no banco
+        return usuariosCarregados.get(email.toLowerCase(Locale.ROOT), this::buscarUsuario);
+    }
+
+    // Chamado pelo AuthenticationManager após um login bem-sucedido quando o hash armazenado
+    // usa algoritmo ou custo desatualizado: grava o novo hash sem exigir troca de senha
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        usuarioRepository.atualizarSenha(user.getUsername(), newPassword);
+        if (user instanceof UsuarioAutenticado usuario) {
+            UsuarioAutenticado atualizado = new UsuarioAutenticado(
+                    usuario.getId(), usuario.getEmail(), newPassword, usuario.getVersaoSeguranca());
+            usuariosCarregados.put(usuario.getEmail().toLowerCase(Locale.ROOT), atualizado);
+            return atualizado;
+        }
+        invalidar(user.getUsername());
+        return loadUserByUsername(user.getUsername());
+    }
+
+    // Remove o usuário do cache; deve ser chamado sempre que os dados do usuário forem alterados ou removidos.
+    // Nas demais instâncias, a remoção chega pela sincronização do AlteracaoSegurancaService
+    public void invalidar(String email) {
+        if (email != null) {
+            usuariosCarregados.invalidate(email.toLowerCase(Locale.ROOT));
+        }
+    }
+
+    private UsuarioAutenticado buscarUsuario(String email) {
+        // Busca as credenciais no banco de dados pelo e-mail. Não usa o cache de segundo nível, que é local: depois
+        // de uma invalidação vinda de outra instância, ele ainda poderia devolver a senha antiga
+        UsuarioRepository.Credenciais usuario = usuarioRepository.buscarCredenciais(email)
                 .orElseThrow(() -> new UsernameNotFoundException("Usuário não encontrado: " + email));
 
         // Cria e retorna um objeto UserDetails com base no usuário encontrado
-        return org.springframework.security.core.userdetails.User
-                .withUsername(usuario.getEmail()) // Define o nome de usuário como o e-mail
-                .password(usuario.getSenha()) // Define a senha do usuário
-                .build(); // Constrói o objeto UserDetails
+        // (inclui id e versão de segurança, que são gravados no token no login)
+        return new UsuarioAutenticado(
+                usuario.getId(),
+                usuario.getEmail(), // Define o nome de usuário como o e-mail
+                usuario.getSenha(), // Define a senha do usuário
+                usuario.getVersaoSeguranca() != null ? usuario.getVersaoSeguranca() : 0L);
     }
 }
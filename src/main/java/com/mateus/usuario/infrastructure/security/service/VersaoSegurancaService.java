@@ -0,0 +1,45 @@
+package com.mateus.usuario.infrastructure.security.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mateus.usuario.infrastructure.security.util.JwtUtil;
+import com.mateus.usuario.infrastructure.security.util.TokenVerificado;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+
+// Tabela em memória com a versão mínima de segurança aceita para cada usuário.
+// Só guarda usuários que trocaram senha/email ou foram deletados, e apenas durante a validade de um token,
+// pois qualquer token emitido antes da alteração expira dentro desse intervalo. Alterações feitas em outras
+// instâncias chegam pela sincronização de alteracao_seguranca (AlteracaoSegurancaService e equivalente reativo).
+@Service
+public class VersaoSegurancaService {
+
+    // Momento de inicialização: alterações anteriores a ele não estão na tabela em memória
+    private final Instant inicializadoEm = Instant.now();
+
+    private final Cache<Long, Long> versoesMinimas = Caffeine.newBuilder()
+            .expireAfterWrite(JwtUtil.VALIDADE_TOKEN)
+            .build();
+
+    // Registra uma nova versão de segurança, invalidando tokens emitidos com versões anteriores
+    public void registrarNovaVersao(Long usuarioId, long versao) {
+        versoesMinimas.asMap().merge(usuarioId, versao, Math::max);
+    }
+
+    // Invalida todos os tokens do usuário (ex.: usuário deletado)
+    public void revogarTodos(Long usuarioId) {
+        registrarNovaVersao(usuarioId, Long.MAX_VALUE);
+    }
+
+    // A tabela em memória só é suficiente para tokens emitidos depois da inicialização da aplicação
+    public boolean podeValidarEmMemoria(TokenVerificado token) {
+        return token.emitidoEm() != null && token.emitidoEm().isAfter(inicializadoEm);
+    }
+
+    // Verifica se a versão de segurança do token ainda é aceita para o usuário
+    public boolean versaoValida(Long usuarioId, long versao) {
+        Long versaoMinima = versoesMinimas.getIfPresent(usuarioId);
+        return versaoMinima == null || versao >= versaoMinima;
+    }
+}
@@ -0,0 +1,148 @@
+package com.mateus.usuario.infrastructure.security.util;
+
+import com.mateus.usuario.infrastructure.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+// PasswordEncoder que executa o hash (custoso) em um pool dedicado, do tamanho do número de núcleos,
+// com fila limitada. Assim uma rajada de logins não ocupa todas as threads do Tomcat nem disputa CPU
+// sem limite com as requisições baratas; quando a fila enche a chamada é rejeitada na hora (503).
+public class BoundedPasswordEncoder implements PasswordEncoder, AutoCloseable {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final Timer tempoEspera;
+    private final Timer tempoEncode;
+    private final Timer tempoMatches;
+    private final Counter rejeitados;
+    // Vagas do pool para hashes em massa (encodeTodos): o restante fica livre para login e cadastro
+    private final Semaphore vagasEmMassa;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int tamanhoFila, int maximoEmMassa,
+                                  MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.vagasEmMassa = new Semaphore(Math.max(1, maximoEmMassa));
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(tamanhoFila),
+                Thread.ofPlatform().name("hash-senha-", 0).daemon(true).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor.prestartAllCoreThreads();
+
+        // Métricas do pool (executor.queued, executor.active, ...) com o nome "hashSenha"
+        ExecutorServiceMetrics.monitor(meterRegistry, executor, "hashSenha");
+        this.tempoEspera = Timer.builder("senha.hash.espera")
+                .description("Tempo de espera na fila do pool de hash de senha")
+                .register(meterRegistry);
+        this.tempoEncode = Timer.builder("senha.hash")
+                .tag("operacao", "encode")
+                .register(meterRegistry);
+        this.tempoMatches = Timer.builder("senha.hash")
+                .tag("operacao", "matches")
+                .register(meterRegistry);
+        this.rejeitados = Counter.builder("senha.hash.rejeitados")
+                .description("Operações de hash rejeitadas por fila cheia")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return executar(tempoEncode, () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return executar(tempoMatches, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    // Calcula vários hashes em paralelo no pool, com no máximo "maximoEmMassa" em andamento ao mesmo tempo:
+    // a chamadora espera uma vaga antes de enviar cada senha, então uma importação nunca ocupa o pool
+    // inteiro nem enche a fila usada pelas requisições interativas. Se a fila estiver cheia mesmo assim,
+    // o hash é calculado na própria thread chamadora, o que reduz o ritmo de quem está enviando em massa.
+    public List<String> encodeTodos(List<? extends CharSequence> senhas) {
+        List<Future<String>> futures = new ArrayList<>(senhas.size());
+        for (CharSequence senha : senhas) {
+            try {
+                vagasEmMassa.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ServiceUnavailableException("Operação de senha interrompida.", e);
+            }
+            try {
+                futures.add(executor.submit(() -> {
+                    try {
+                        return tempoEncode.recordCallable(() -> delegate.encode(senha));
+                    } finally {
+                        vagasEmMassa.release();
+                    }
+                }));
+            } catch (RejectedExecutionException e) {
+                try {
+                    futures.add(CompletableFuture.completedFuture(tempoEncode.record(() -> delegate.encode(senha))));
+                } finally {
+                    vagasEmMassa.release();
+                }
+            }
+        }
+        List<String> hashes = new ArrayList<>(futures.size());
+        for (Future<String> future : futures) {
+            hashes.add(aguardar(future));
+        }
+        return hashes;
+    }
+
+    // Apenas inspeciona o prefixo/custo do hash, não precisa do pool
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    private <T> T executar(Timer tempoExecucao, Callable<T> tarefa) {
+        long enfileiradoEm = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                tempoEspera.record(System.nanoTime() - enfileiradoEm, TimeUnit.NANOSECONDS);
+                return tempoExecucao.recordCallable(tarefa);
+            });
+        } catch (RejectedExecutionException e) {
+            rejeitados.increment();
+            throw new ServiceUnavailableException("Servidor ocupado, tente novamente em instantes.", e);
+        }
+        return aguardar(future);
+    }
+
+    private <T> T aguardar(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new ServiceUnavailableException("Operação de senha interrompida.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
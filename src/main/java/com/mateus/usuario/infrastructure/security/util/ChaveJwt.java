@@ -0,0 +1,34 @@
+package com.mateus.usuario.infrastructure.security.util;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.SignatureAlgorithm;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Instant;
+
+// Chave do chaveiro JWT. "privada" só existe nas chaves geradas por esta instância; as de outras
+// instâncias (carregadas do banco) servem apenas para verificar assinaturas
+public record ChaveJwt(String kid, SignatureAlgorithm algoritmo, PublicKey publica, PrivateKey privada,
+                       Instant ativaEm, Instant expiraEm) {
+
+    // Reconstrói a chave pública gravada no banco (X.509/DER)
+    public static ChaveJwt publicada(String kid, String algoritmo, byte[] chavePublica, Instant ativaEm, Instant expiraEm) {
+        SignatureAlgorithm assinatura = ChaveiroJwt.algoritmo(algoritmo);
+        try {
+            KeyFactory fabrica = KeyFactory.getInstance(assinatura == Jwts.SIG.ES256 ? "EC" : "RSA");
+            PublicKey publica = fabrica.generatePublic(new X509EncodedKeySpec(chavePublica));
+            return new ChaveJwt(kid, assinatura, publica, null, ativaEm, expiraEm);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Chave pública inválida: " + kid, e);
+        }
+    }
+
+    // Formato gravado no banco
+    public byte[] publicaCodificada() {
+        return publica.getEncoded();
+    }
+}
@@ -0,0 +1,271 @@
+package com.mateus.usuario.infrastructure.security.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mateus.usuario.infrastructure.exception.ChaveDesconhecidaException;
+import io.jsonwebtoken.Header;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.Locator;
+import io.jsonwebtoken.ProtectedHeader;
+import io.jsonwebtoken.security.SignatureAlgorithm;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigInteger;
+import java.security.Key;
+import java.security.KeyPair;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+// Chaveiro dos JWTs: a chave privada ativa (assinatura) desta instância e as chaves públicas de todas as
+// instâncias, indexadas pelo "kid" do header do token. A verificação é só uma consulta ao mapa.
+//
+// Rotação: cada chave assina por "rotacao" a partir de ativaEm. A próxima é gerada e publicada "antecedencia"
+// antes de entrar em uso, para que outras instâncias e os serviços que leem o JWKS já a conheçam quando o
+// primeiro token assinado com ela aparecer; a anterior continua publicada até expirarem os tokens que assinou.
+// A persistência e a sincronização das chaves públicas ficam com o RotacaoChavesService.
+@Component
+public class ChaveiroJwt {
+
+    // Um "kid" desconhecido é buscado no banco no máximo uma vez por intervalo: tokens forjados repetindo o mesmo
+    // "kid" não geram uma consulta cada, e a busca de um "kid" não impede a de outro (uma chave real recém-criada
+    // continua sendo encontrada mesmo com tokens forjados chegando ao mesmo tempo)
+    private static final Duration INTERVALO_BUSCA_POR_KID = Duration.ofSeconds(10);
+    private static final int MAXIMO_KIDS_BUSCADOS = 10_000;
+    // Teto de buscas por segundo somando todos os "kids", para que "kids" aleatórios não virem uma consulta por token
+    private static final int MAXIMO_BUSCAS_POR_SEGUNDO = 10;
+    private static final long JANELA_BUSCAS = Duration.ofSeconds(1).toNanos();
+
+    private final SignatureAlgorithm algoritmo;
+    private final Duration rotacao;
+    private final Duration antecedencia;
+
+    private final Map<String, ChaveJwt> chaves = new ConcurrentHashMap<>();
+    private volatile ChaveJwt ativa;
+    private volatile ChaveJwt proxima;
+    // JWKS montado a cada alteração do chaveiro, não a cada requisição
+    private volatile Map<String, Object> jwks = Map.of("keys", List.of());
+
+    private volatile Function<String, Optional<ChaveJwt>> buscaSobDemanda;
+    // "kids" buscados no último INTERVALO_BUSCA_POR_KID (encontrados ou não)
+    private final Cache<String, Boolean> kidsBuscados;
+    private final LongSupplier relogio;
+    private final AtomicLong inicioJanelaBuscas;
+    private final AtomicInteger buscasNaJanela = new AtomicInteger();
+
+    @Autowired
+    public ChaveiroJwt(@Value("${seguranca.jwt.algoritmo:ES256}") String algoritmo,
+                       @Value("${seguranca.jwt.rotacao:1d}") Duration rotacao,
+                       @Value("${seguranca.jwt.antecedencia:15m}") Duration antecedencia) {
+        this(algoritmo, rotacao, antecedencia, System::nanoTime);
+    }
+
+    // Relógio em nanossegundos substituível nos testes
+    ChaveiroJwt(String algoritmo, Duration rotacao, Duration antecedencia, LongSupplier relogio) {
+        this.algoritmo = algoritmo(algoritmo);
+        this.rotacao = rotacao;
+        this.antecedencia = antecedencia;
+        this.relogio = relogio;
+        this.kidsBuscados = Caffeine.newBuilder()
+                .expireAfterWrite(INTERVALO_BUSCA_POR_KID)
+                .maximumSize(MAXIMO_KIDS_BUSCADOS)
+                .ticker(relogio::getAsLong)
+                .build();
+        this.inicioJanelaBuscas = new AtomicLong(relogio.getAsLong());
+    }
+
+    // Algoritmos aceitos: ES256 (padrão, assinatura e tokens menores) e RS256 (compatibilidade)
+    public static SignatureAlgorithm algoritmo(String nome) {
+        return switch (nome) {
+            case "ES256" -> Jwts.SIG.ES256;
+            case "RS256" -> Jwts.SIG.RS256;
+            default -> throw new IllegalArgumentException("Algoritmo de assinatura não suportado: " + nome);
+        };
+    }
+
+    // Gera um novo par de chaves que assina a partir de "ativaEm" (ainda não é usado nem publicado)
+    public ChaveJwt gerar(Instant ativaEm) {
+        KeyPair par = algoritmo.keyPair().build();
+        // Vale até o fim do período de assinatura (com folga de "antecedencia") mais a validade dos tokens
+        Instant expiraEm = ativaEm.plus(rotacao).plus(antecedencia).plus(JwtUtil.VALIDADE_TOKEN);
+        return new ChaveJwt(UUID.randomUUID().toString(), algoritmo, par.getPublic(), par.getPrivate(), ativaEm, expiraEm);
+    }
+
+    // Próxima chave, se já estiver a menos de "antecedencia" do fim da ativa; null se ainda não for a hora
+    public ChaveJwt gerarProximaSeNecessario(Instant agora) {
+        ChaveJwt atual = ativa;
+        if (atual == null || proxima != null) {
+            return null;
+        }
+        Instant fim = atual.ativaEm().plus(rotacao);
+        if (agora.isBefore(fim.minus(antecedencia))) {
+            return null;
+        }
+        return gerar(fim.isAfter(agora) ? fim : agora);
+    }
+
+    // Registra uma chave gerada por esta instância, depois de publicada: vira a ativa se já estiver no período
+    // de uso (ou se não houver outra), senão fica como próxima
+    public synchronized void usar(ChaveJwt chave, Instant agora) {
+        chaves.put(chave.kid(), chave);
+        if (ativa == null || !chave.ativaEm().isAfter(agora)) {
+            ativa = chave;
+        } else {
+            proxima = chave;
+        }
+        atualizarJwks();
+    }
+
+    // A próxima chave assume a assinatura quando chega o seu ativaEm
+    public synchronized void promover(Instant agora) {
+        if (proxima != null && !proxima.ativaEm().isAfter(agora)) {
+            ativa = proxima;
+            proxima = null;
+        }
+    }
+
+    // Chave pública de outra instância
+    public void adicionar(ChaveJwt chave) {
+        if (chaves.putIfAbsent(chave.kid(), chave) == null) {
+            atualizarJwks();
+        }
+    }
+
+    public boolean conhece(String kid) {
+        return chaves.containsKey(kid);
+    }
+
+    public synchronized void removerExpiradas(Instant agora) {
+        if (chaves.values().removeIf(chave -> !chave.expiraEm().isAfter(agora) && chave != ativa && chave != proxima)) {
+            atualizarJwks();
+        }
+    }
+
+    public ChaveJwt ativa() {
+        ChaveJwt chave = ativa;
+        if (chave == null) {
+            throw new IllegalStateException("Nenhuma chave de assinatura disponível.");
+        }
+        return chave;
+    }
+
+    // Conteúdo de /.well-known/jwks.json
+    public Map<String, Object> jwks() {
+        return jwks;
+    }
+
+    // Consulta usada pelo chaveiro quando recebe um "kid" desconhecido (ex.: chave recém-criada por outra
+    // instância, antes da próxima sincronização). Sem ela, o token é recusado com ChaveDesconhecidaException
+    public void aoDesconhecerChave(Function<String, Optional<ChaveJwt>> busca) {
+        this.buscaSobDemanda = busca;
+    }
+
+    // No máximo uma busca por "kid" a cada INTERVALO_BUSCA_POR_KID e MAXIMO_BUSCAS_POR_SEGUNDO no total.
+    // Um "kid" barrado pelo teto global não fica marcado e pode ser buscado na janela seguinte
+    public boolean permitirBuscaSobDemanda(String kid) {
+        if (kid == null || kidsBuscados.asMap().putIfAbsent(kid, Boolean.TRUE) != null) {
+            return false;
+        }
+        if (!reservarBusca()) {
+            kidsBuscados.invalidate(kid);
+            return false;
+        }
+        return true;
+    }
+
+    private boolean reservarBusca() {
+        long agora = relogio.getAsLong();
+        long inicio = inicioJanelaBuscas.get();
+        if (agora - inicio >= JANELA_BUSCAS && inicioJanelaBuscas.compareAndSet(inicio, agora)) {
+            buscasNaJanela.set(0);
+        }
+        return buscasNaJanela.incrementAndGet() <= MAXIMO_BUSCAS_POR_SEGUNDO;
+    }
+
+    // Localiza a chave de verificação pelo "kid" do header (usado pelo JwtParser)
+    public Locator<Key> localizador() {
+        return this::localizar;
+    }
+
+    private Key localizar(Header header) {
+        String kid = header instanceof ProtectedHeader protegido ? protegido.getKeyId() : null;
+        if (kid == null) {
+            throw new ChaveDesconhecidaException(null);
+        }
+        ChaveJwt chave = chaves.get(kid);
+        if (chave == null) {
+            chave = buscarSobDemanda(kid);
+        }
+        if (chave == null) {
+            throw new ChaveDesconhecidaException(kid);
+        }
+        return chave.publica();
+    }
+
+    private ChaveJwt buscarSobDemanda(String kid) {
+        Function<String, Optional<ChaveJwt>> busca = buscaSobDemanda;
+        if (busca == null || !permitirBuscaSobDemanda(kid)) {
+            return null;
+        }
+        Optional<ChaveJwt> chave = busca.apply(kid);
+        chave.ifPresent(this::adicionar);
+        return chave.orElse(null);
+    }
+
+    private synchronized void atualizarJwks() {
+        List<Map<String, Object>> chavesPublicas = chaves.values().stream()
+                .sorted(Comparator.comparing(ChaveJwt::ativaEm))
+                .map(ChaveiroJwt::paraJwk)
+                .toList();
+        jwks = Map.of("keys", chavesPublicas);
+    }
+
+    // Representação JWK (RFC 7517/7518) da chave pública
+    private static Map<String, Object> paraJwk(ChaveJwt chave) {
+        Map<String, Object> jwk = new LinkedHashMap<>();
+        jwk.put("kid", chave.kid());
+        jwk.put("use", "sig");
+        jwk.put("alg", chave.algoritmo().getId());
+        if (chave.publica() instanceof ECPublicKey ec) {
+            jwk.put("kty", "EC");
+            jwk.put("crv", "P-256");
+            jwk.put("x", base64Url(ec.getW().getAffineX(), 32));
+            jwk.put("y", base64Url(ec.getW().getAffineY(), 32));
+        } else if (chave.publica() instanceof RSAPublicKey rsa) {
+            jwk.put("kty", "RSA");
+            jwk.put("n", base64Url(rsa.getModulus(), 0));
+            jwk.put("e", base64Url(rsa.getPublicExponent(), 0));
+        }
+        return jwk;
+    }
+
+    // Inteiro sem sinal, big-endian, completado com zeros à esquerda até "tamanho" bytes (0 = tamanho mínimo)
+    private static String base64Url(BigInteger valor, int tamanho) {
+        byte[] bytes = valor.toByteArray();
+        if (bytes.length > 1 && bytes[0] == 0) {
+            bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+        if (bytes.length < tamanho) {
+            byte[] completo = new byte[tamanho];
+            System.arraycopy(bytes, 0, completo, tamanho - bytes.length, bytes.length);
+            bytes = completo;
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
@@ -0,0 +1,77 @@
+package com.mateus.usuario.infrastructure.security.util;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+// Filtro de Bloom concorrente e sem locks: os bits ficam em um long[] e são ligados com
+// getAndBitwiseOr atômico (VarHandle). A consulta só lê palavras do array e calcula dois hashes
+// sobre os caracteres da chave, sem alocar nada. Não há remoção: para descartar chaves, monte outro filtro.
+public final class FiltroBloom {
+
+    private static final VarHandle BITS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private static final long SEMENTE_1 = 0xcbf29ce484222325L;
+    private static final long SEMENTE_2 = 0x9e3779b97f4a7c15L;
+
+    private final long[] bits;
+    // Quantidade de bits é potência de 2: a posição é obtida com uma máscara em vez de resto da divisão
+    private final long mascara;
+    private final int funcoes;
+
+    // Dimensiona o filtro para "capacidade" chaves com a taxa de falso positivo informada
+    public FiltroBloom(int capacidade, double taxaFalsoPositivo) {
+        double ln2 = Math.log(2);
+        long bitsNecessarios = (long) Math.ceil(-Math.max(capacidade, 1) * Math.log(taxaFalsoPositivo) / (ln2 * ln2));
+        long quantidadeBits = Math.max(64, Long.highestOneBit(bitsNecessarios - 1) << 1);
+        this.bits = new long[(int) (quantidadeBits >>> 6)];
+        this.mascara = quantidadeBits - 1;
+        this.funcoes = Math.max(1, (int) Math.round((double) quantidadeBits / Math.max(capacidade, 1) * ln2));
+    }
+
+    public void adicionar(CharSequence chave) {
+        long h1 = hash(chave, SEMENTE_1);
+        long h2 = hash(chave, SEMENTE_2) | 1;
+        for (int i = 0; i < funcoes; i++) {
+            long posicao = (h1 + i * h2) & mascara;
+            BITS.getAndBitwiseOr(bits, (int) (posicao >>> 6), 1L << posicao);
+        }
+    }
+
+    // false: a chave certamente não foi adicionada; true: provavelmente foi (confirmar em um conjunto exato)
+    public boolean podeConter(CharSequence chave) {
+        long h1 = hash(chave, SEMENTE_1);
+        long h2 = hash(chave, SEMENTE_2) | 1;
+        for (int i = 0; i < funcoes; i++) {
+            long posicao = (h1 + i * h2) & mascara;
+            long palavra = (long) BITS.getAcquire(bits, (int) (posicao >>> 6));
+            if ((palavra & (1L << posicao)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Dimensionamento efetivo (para testes e diagnóstico)
+    long quantidadeBits() {
+        return mascara + 1;
+    }
+
+    int funcoes() {
+        return funcoes;
+    }
+
+    // FNV-1a de 64 bits com semente, finalizado com o mix do MurmurHash3 para espalhar os bits baixos
+    private static long hash(CharSequence chave, long semente) {
+        long h = semente;
+        for (int i = 0; i < chave.length(); i++) {
+            h ^= chave.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
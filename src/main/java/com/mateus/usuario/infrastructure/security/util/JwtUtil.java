@@ -1,62 +1,191 @@
 package com.mateus.usuario.infrastructure.security.util;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.mateus.usuario.infrastructure.security.model.UsuarioAutenticado;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Date;
+import java.util.HexFormat;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class JwtUtil {
 
-    // Chave secreta usada para assinar e verificar tokens JWT
-    private final String secretKey = "sua-chave-secreta-super-segura-que-deve-ser-bem-longa";
+    // Tempo de validade dos access tokens; sessões longas são mantidas pelo refresh token (/usuario/refresh)
+    public static final Duration VALIDADE_TOKEN = Duration.ofMinutes(15);
 
-    // Converte a chave secreta em um objeto SecretKey
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8));
+    // Nomes das claims usadas na autenticação sem acesso ao banco
+    public static final String CLAIM_USUARIO_ID = "uid";
+    public static final String CLAIM_VERSAO_SEGURANCA = "sv";
+
+    // Chaves de assinatura (ES256/RS256) e de verificação, indexadas pelo "kid" do header
+    private final ChaveiroJwt chaveiro;
+
+    // Parser construído uma única vez (imutável e thread-safe); a chave vem do chaveiro a cada token
+    private final JwtParser parser;
+
+    // Cache de tokens já verificados, indexado pelo hash SHA-256 do token e expirado junto com o próprio token
+    private final Cache<String, TokenVerificado> tokensVerificados;
+
+    // Métricas: emissão, verificação (pelo cache ou calculando a assinatura) e tokens rejeitados
+    private final Timer tempoGeracao;
+    private final Timer tempoVerificacaoCache;
+    private final Timer tempoVerificacaoAssinatura;
+    private final Counter rejeitados;
+
+    public JwtUtil(@Value("${jwt.cache.tamanho-maximo:10000}") long tamanhoMaximoCache, MeterRegistry meterRegistry,
+                   ChaveiroJwt chaveiro) {
+        this.chaveiro = chaveiro;
+        this.parser = Jwts.parser()
+                .keyLocator(chaveiro.localizador()) // Escolhe a chave pública pelo "kid" para validar a assinatura
+                .build();
+        this.tokensVerificados = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximoCache)
+                .expireAfter(new ExpiraJuntoComToken())
+                .build();
+        this.tempoGeracao = Timer.builder("jwt.geracao")
+                .description("Tempo para emitir e assinar um token")
+                .register(meterRegistry);
+        this.tempoVerificacaoCache = Timer.builder("jwt.verificacao")
+                .tag("origem", "cache")
+                .register(meterRegistry);
+        this.tempoVerificacaoAssinatura = Timer.builder("jwt.verificacao")
+                .tag("origem", "assinatura")
+                .register(meterRegistry);
+        this.rejeitados = Counter.builder("jwt.rejeitados")
+                .description("Tokens com assinatura inválida, malformados ou expirados")
+                .register(meterRegistry);
     }
 
-    // Gera um token JWT com o nome de usuário e validade de 1 hora
+    // Gera um token JWT com o nome de usuário e validade de VALIDADE_TOKEN
     public String generateToken(String username) {
-        return Jwts.builder()
+        ChaveJwt chave = chaveiro.ativa();
+        return tempoGeracao.record(() -> Jwts.builder()
+                .header().keyId(chave.kid()).and() // Identifica a chave para quem for verificar (JWKS)
+                .id(UUID.randomUUID().toString()) // Identificador único do token (jti), usado na revogação
                 .subject(username) // Define o nome de usuário como o assunto do token
                 .issuedAt(Date.from(Instant.now())) // Define a data e hora de emissão do token
-                .expiration(new Date(System.currentTimeMillis() + 1000 * 60 * 60)) // Define a data e hora de expiração (1 hora a partir da emissão) -> Alteração do formato de validade
-                .signWith(getSigningKey()) // Assina o token com a chave secreta
-                .compact(); // Constrói o token JWT
+                .expiration(new Date(System.currentTimeMillis() + VALIDADE_TOKEN.toMillis())) // Define a data e hora de expiração (VALIDADE_TOKEN a partir da emissão) -> Alteração do formato de validade
+                .signWith(chave.privada(), chave.algoritmo()) // Assina o token com a chave privada ativa
+                .compact()); // Constrói o token JWT
+    }
+
+    // Gera um token JWT contendo também o id e a versão de segurança do usuário,
+    // permitindo autenticar as requisições seguintes sem consultar o banco
+    public String generateToken(UsuarioAutenticado usuario) {
+        ChaveJwt chave = chaveiro.ativa();
+        return tempoGeracao.record(() -> Jwts.builder()
+                .header().keyId(chave.kid()).and()
+                .id(UUID.randomUUID().toString())
+                .subject(usuario.getEmail())
+                .claim(CLAIM_USUARIO_ID, usuario.getId())
+                .claim(CLAIM_VERSAO_SEGURANCA, usuario.getVersaoSeguranca())
+                .issuedAt(Date.from(Instant.now()))
+                .expiration(new Date(System.currentTimeMillis() + VALIDADE_TOKEN.toMillis()))
+                .signWith(chave.privada(), chave.algoritmo())
+                .compact());
+    }
+
+    // Verifica o token uma única vez (assinatura + expiração) e devolve uma visão imutável das claims.
+    // Tokens já verificados são servidos do cache sem recalcular a assinatura.
+    public TokenVerificado verificarToken(String token) {
+        long inicio = System.nanoTime();
+        String chave = hashToken(token);
+        TokenVerificado verificado = tokensVerificados.getIfPresent(chave);
+        if (verificado != null && !verificado.expirado()) {
+            tempoVerificacaoCache.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+            return verificado;
+        }
+
+        // Lança JwtException (ex.: ExpiredJwtException, SignatureException) se o token for inválido
+        Claims claims;
+        try {
+            claims = extractClaims(token);
+        } catch (JwtException e) {
+            rejeitados.increment();
+            throw e;
+        }
+        verificado = new TokenVerificado(
+                claims.getSubject(),
+                claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null,
+                claims.getExpiration() != null ? claims.getExpiration().toInstant() : null,
+                claims);
+        tokensVerificados.put(chave, verificado);
+        tempoVerificacaoAssinatura.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        return verificado;
     }
 
     // Extrai as claims do token JWT (informações adicionais do token)
     public Claims extractClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey()) // Define a chave secreta para validar a assinatura do token
-                .build()
+        return parser
                 .parseSignedClaims(token) // Analisa o token JWT e obtém as claims
                 .getPayload(); // Retorna o corpo das claims
     }
 
     // Extrai o nome/email de usuário do token JWT
     public String extractUsername(String token) {
-        // Obtém o assunto (nome de usuário) das claims do token
-        return extractClaims(token).getSubject();
+        // Obtém o assunto (nome de usuário) do token verificado
+        return verificarToken(token).username();
     }
 
     // Verifica se o token JWT está expirado
     public boolean isTokenExpired(String token) {
         // Compara a data de expiração do token com a data atual
-        return extractClaims(token).getExpiration().before(new Date());
+        return verificarToken(token).expirado();
     }
 
     // Valida o token JWT verificando o nome de usuário e se o token não está expirado
     public boolean validateToken(String token, String username) {
-        // Extrai o nome de usuário do token
-        final String extractedUsername = extractUsername(token);
-        // Verifica se o nome de usuário do token corresponde ao fornecido e se o token não está expirado
-        return (extractedUsername.equals(username) && !isTokenExpired(token));
+        // Uma única verificação fornece o nome de usuário e a data de expiração
+        TokenVerificado verificado = verificarToken(token);
+        return verificado.username().equals(username) && !verificado.expirado();
+    }
+
+    // Calcula o hash SHA-256 do token para não manter o token em claro como chave do cache
+    private String hashToken(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 não disponível", e);
+        }
+    }
+
+    // Política de expiração do cache: cada entrada vive apenas até a expiração do token correspondente
+    private static class ExpiraJuntoComToken implements Expiry<String, TokenVerificado> {
+
+        @Override
+        public long expireAfterCreate(String chave, TokenVerificado token, long currentTime) {
+            if (token.expiraEm() == null) {
+                return 0L;
+            }
+            return Math.max(0L, Duration.between(Instant.now(), token.expiraEm()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String chave, TokenVerificado token, long currentTime, long currentDuration) {
+            return expireAfterCreate(chave, token, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String chave, TokenVerificado token, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
@@ -0,0 +1,59 @@
+package com.mateus.usuario.infrastructure.security.util;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Tokens revogados (jti -> expiração) em memória, consultados a cada requisição autenticada.
+// O filtro de Bloom responde "não revogado" para quase todos os tokens sem tocar no mapa; só os
+// positivos (revogados de fato ou falsos positivos) são confirmados no conjunto exato.
+// A persistência e a sincronização entre instâncias ficam com quem alimenta a lista (RevogacaoTokenService).
+@Component
+public class ListaRevogacao {
+
+    private final int capacidadeMinima;
+    private final double taxaFalsoPositivo;
+    private final Map<String, Instant> revogados = new ConcurrentHashMap<>();
+
+    // Trocado por removerExpirados(); a leitura no caminho da requisição não usa lock
+    private volatile FiltroBloom filtro;
+
+    public ListaRevogacao(@Value("${seguranca.revogacao.capacidade:100000}") int capacidadeMinima,
+                          @Value("${seguranca.revogacao.taxa-falso-positivo:0.001}") double taxaFalsoPositivo,
+                          MeterRegistry meterRegistry) {
+        this.capacidadeMinima = capacidadeMinima;
+        this.taxaFalsoPositivo = taxaFalsoPositivo;
+        this.filtro = new FiltroBloom(capacidadeMinima, taxaFalsoPositivo);
+        Gauge.builder("jwt.revogados", revogados, Map::size)
+                .description("Tokens revogados ainda não expirados")
+                .register(meterRegistry);
+    }
+
+    // Sincronizado com removerExpirados(): uma revogação feita durante a reconstrução não pode ir só para o
+    // filtro antigo, senão o token voltaria a ser aceito até a próxima reconstrução. Fica fora do caminho
+    // das requisições (só logout e sincronização), então o lock não custa nada na verificação
+    public synchronized void adicionar(String jti, Instant expiraEm) {
+        revogados.put(jti, expiraEm);
+        filtro.adicionar(jti);
+    }
+
+    // Caminho de toda requisição autenticada: O(1) e sem alocação
+    public boolean revogado(TokenVerificado token) {
+        String jti = token.jti();
+        return jti != null && filtro.podeConter(jti) && revogados.containsKey(jti);
+    }
+
+    // Descarta os tokens já expirados e monta um novo filtro só com os restantes (o de Bloom não permite remoção).
+    // O filtro cresce junto com a quantidade de revogações, para manter a taxa de falso positivo
+    public synchronized void removerExpirados(Instant agora) {
+        revogados.values().removeIf(expiraEm -> !expiraEm.isAfter(agora));
+        FiltroBloom novo = new FiltroBloom(Math.max(capacidadeMinima, revogados.size() * 2), taxaFalsoPositivo);
+        revogados.keySet().forEach(novo::adicionar);
+        filtro = novo;
+    }
+}
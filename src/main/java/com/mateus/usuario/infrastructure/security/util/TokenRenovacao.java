@@ -0,0 +1,36 @@
+package com.mateus.usuario.infrastructure.security.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.HexFormat;
+
+// Refresh token opaco: 256 bits aleatórios em Base64 URL. Por ter entropia alta não precisa de hash lento
+// (BCrypt) como uma senha; o SHA-256 basta para que o valor gravado no banco não sirva como token
+public final class TokenRenovacao {
+
+    // Header usado para devolver (login/refresh) e receber (refresh/logout) o refresh token
+    public static final String HEADER = "Refresh-Token";
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private TokenRenovacao() {
+    }
+
+    public static String gerar() {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    public static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 não disponível", e);
+        }
+    }
+}
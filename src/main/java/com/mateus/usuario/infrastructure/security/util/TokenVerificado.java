@@ -0,0 +1,45 @@
+package com.mateus.usuario.infrastructure.security.util;
+
+import io.jsonwebtoken.Claims;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Visão imutável de um token JWT já verificado (assinatura e validade conferidas uma única vez)
+public record TokenVerificado(String username, Instant emitidoEm, Instant expiraEm, Map<String, Object> claims) {
+
+    public TokenVerificado {
+        // Copia as claims para que o objeto possa ser compartilhado pelo cache sem risco de alteração
+        claims = Collections.unmodifiableMap(new LinkedHashMap<>(claims));
+    }
+
+    // Verifica se o token já passou da data de expiração
+    public boolean expirado() {
+        return expiraEm != null && expiraEm.isBefore(Instant.now());
+    }
+
+    // Id do usuário gravado no token (null para tokens emitidos sem essa claim)
+    public Long usuarioId() {
+        Number id = claim(JwtUtil.CLAIM_USUARIO_ID, Number.class);
+        return id != null ? id.longValue() : null;
+    }
+
+    // Identificador único do token (claim jti), usado no logout (null para tokens antigos, sem jti)
+    public String jti() {
+        return claim(Claims.ID, String.class);
+    }
+
+    // Versão de segurança do usuário no momento da emissão do token (null se ausente)
+    public Long versaoSeguranca() {
+        Number versao = claim(JwtUtil.CLAIM_VERSAO_SEGURANCA, Number.class);
+        return versao != null ? versao.longValue() : null;
+    }
+
+    // Retorna uma claim específica convertida para o tipo informado (ou null se não existir)
+    public <T> T claim(String nome, Class<T> tipo) {
+        Object valor = claims.get(nome);
+        return tipo.isInstance(valor) ? tipo.cast(valor) : null;
+    }
+}
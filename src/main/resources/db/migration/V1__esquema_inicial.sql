@@ -0,0 +1,52 @@
+-- Esquema inicial de usuario, endereco e telefone.
+-- Escrito de forma idempotente para também ser aplicado sobre bancos criados anteriormente
+-- pelo ddl-auto=update (Flyway configurado com baseline-version=0).
+
+create table if not exists usuario (
+    id               bigint       not null primary key,
+    nome             varchar(100),
+    email            varchar(100),
+    senha            varchar(255),
+    versao_seguranca bigint       default 0
+);
+
+alter table usuario add column if not exists versao_seguranca bigint default 0;
+
+create table if not exists endereco (
+    id          bigint       not null primary key,
+    rua         varchar(255),
+    numero      varchar(255),
+    complemento varchar(10),
+    cidade      varchar(150),
+    estado      varchar(2),
+    cep         varchar(10),
+    usuario_id  bigint       references usuario (id)
+);
+
+create table if not exists telefone (
+    id         bigint      not null primary key,
+    ddd        varchar(3),
+    numero     varchar(10),
+    usuario_id bigint      references usuario (id)
+);
+
+-- Sequências com incremento igual ao allocationSize das entidades (otimizador pooled do Hibernate)
+create sequence if not exists usuario_seq start with 1 increment by 50;
+create sequence if not exists endereco_seq start with 1 increment by 50;
+create sequence if not exists telefone_seq start with 1 increment by 50;
+
+-- Posiciona as sequências após os ids já existentes (tabelas antigas usavam IDENTITY)
+select setval('usuario_seq', greatest(coalesce((select max(id) from usuario), 0), (select last_value from usuario_seq)) + 50, false);
+select setval('endereco_seq', greatest(coalesce((select max(id) from endereco), 0), (select last_value from endereco_seq)) + 50, false);
+select setval('telefone_seq', greatest(coalesce((select max(id) from telefone), 0), (select last_value from telefone_seq)) + 50, false);
+
+-- Email único sem diferenciar maiúsculas/minúsculas; atende às buscas por lower(email)
+create unique index if not exists ux_usuario_email_lower on usuario (lower(email));
+
+-- Índices das chaves estrangeiras (usados nas buscas dos filhos e na remoção do usuário)
+create index if not exists idx_endereco_usuario_id on endereco (usuario_id);
+create index if not exists idx_telefone_usuario_id on telefone (usuario_id);
+
+-- Busca por localização: igualdade em estado/cidade e prefixo de CEP (LIKE 'x%')
+create index if not exists idx_endereco_estado_cidade on endereco (estado, cidade);
+create index if not exists idx_endereco_cep on endereco (cep varchar_pattern_ops);
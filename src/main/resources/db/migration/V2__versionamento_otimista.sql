@@ -0,0 +1,4 @@
+-- Coluna de versão para controle de concorrência otimista (@Version) e ETag / If-Match
+alter table usuario add column if not exists versao bigint not null default 0;
+alter table endereco add column if not exists versao bigint not null default 0;
+alter table telefone add column if not exists versao bigint not null default 0;
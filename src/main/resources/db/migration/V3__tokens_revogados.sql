@@ -0,0 +1,10 @@
+-- Lista de tokens revogados (logout). Cada linha só precisa existir até a expiração do próprio token;
+-- revogado_em permite que cada instância carregue apenas as revogações novas desde a última leitura
+create table if not exists token_revogado (
+    jti         varchar(64)              not null primary key,
+    expira_em   timestamp with time zone not null,
+    revogado_em timestamp with time zone not null default now()
+);
+
+create index if not exists idx_token_revogado_revogado_em on token_revogado (revogado_em);
+create index if not exists idx_token_revogado_expira_em on token_revogado (expira_em);
@@ -0,0 +1,15 @@
+-- Refresh tokens opacos. Guarda apenas o SHA-256 do token; cada login abre uma família e cada renovação
+-- marca o token usado (substituido_em) e grava o próximo na mesma família. Reapresentar um token já
+-- substituído indica vazamento e derruba a família inteira
+create table if not exists refresh_token (
+    hash             varchar(64)              not null primary key,
+    familia          uuid                     not null,
+    usuario_id       bigint                   not null references usuario (id) on delete cascade,
+    versao_seguranca bigint                   not null,
+    expira_em        timestamp with time zone not null,
+    substituido_em   timestamp with time zone
+);
+
+create index if not exists idx_refresh_token_familia on refresh_token (familia);
+create index if not exists idx_refresh_token_usuario_id on refresh_token (usuario_id);
+create index if not exists idx_refresh_token_expira_em on refresh_token (expira_em);
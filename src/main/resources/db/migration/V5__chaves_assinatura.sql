@@ -0,0 +1,14 @@
+-- Chaves públicas de assinatura dos JWTs (ES256/RS256), publicadas em /.well-known/jwks.json.
+-- Cada instância gera o próprio par de chaves e grava aqui só a parte pública (X.509/DER), para que as
+-- demais consigam verificar os tokens que ela emite. A chave privada nunca sai da memória da instância.
+-- expira_em já nasce preenchida (fim do período de assinatura + validade dos tokens): chaves de instâncias
+-- que pararam somem sozinhas
+create table if not exists chave_assinatura (
+    kid           varchar(64)              not null primary key,
+    algoritmo     varchar(10)              not null,
+    chave_publica bytea                    not null,
+    ativa_em      timestamp with time zone not null,
+    expira_em     timestamp with time zone not null
+);
+
+create index if not exists idx_chave_assinatura_expira_em on chave_assinatura (expira_em);
@@ -0,0 +1,13 @@
+-- Versão mínima de segurança de cada usuário que trocou senha/email ou foi deletado, para as demais instâncias.
+-- Cada linha só precisa existir durante a validade de um access token; alterado_em permite que cada instância
+-- carregue apenas as alterações novas desde a última leitura (mesmo esquema de token_revogado)
+create table if not exists alteracao_seguranca (
+    id            bigint generated always as identity primary key,
+    usuario_id    bigint                   not null,
+    versao_minima bigint                   not null,
+    alterado_em   timestamp with time zone not null default now(),
+    expira_em     timestamp with time zone not null
+);
+
+create index if not exists idx_alteracao_seguranca_alterado_em on alteracao_seguranca (alterado_em);
+create index if not exists idx_alteracao_seguranca_expira_em on alteracao_seguranca (expira_em);
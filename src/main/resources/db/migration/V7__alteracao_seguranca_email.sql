@@ -0,0 +1,3 @@
+-- Email do usuário antes da alteração: as demais instâncias removem essa chave do cache de autenticação,
+-- para que a senha antiga deixe de ser aceita no login sem esperar a expiração do cache
+alter table alteracao_seguranca add column if not exists email varchar(100);
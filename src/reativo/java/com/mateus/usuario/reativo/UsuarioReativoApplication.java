@@ -0,0 +1,34 @@
+package com.mateus.usuario.reativo;
+
+import com.mateus.usuario.business.converter.SerializadorUsuario;
+import com.mateus.usuario.business.converter.UsuarioConverter;
+import com.mateus.usuario.controller.GlobalExceptionHandler;
+import com.mateus.usuario.controller.JwksController;
+import com.mateus.usuario.infrastructure.security.service.TentativasLoginService;
+import com.mateus.usuario.infrastructure.security.service.VersaoSegurancaService;
+import com.mateus.usuario.infrastructure.security.util.ChaveiroJwt;
+import com.mateus.usuario.infrastructure.security.util.JwtUtil;
+import com.mateus.usuario.infrastructure.security.util.ListaRevogacao;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Variante reativa (WebFlux + R2DBC) da API de usuários, com o mesmo contrato do UsuarioController.
+// Só examina o pacote "reativo"; do código servlet reaproveita apenas as classes sem dependência de JPA/servlet.
+// Executar com ./gradlew bootRunReativo ou empacotar com ./gradlew bootJarReativo
+@SpringBootApplication
+@Import({UsuarioConverter.class, SerializadorUsuario.class, JwtUtil.class, ChaveiroJwt.class,
+        VersaoSegurancaService.class, TentativasLoginService.class, ListaRevogacao.class,
+        GlobalExceptionHandler.class, JwksController.class})
+@EnableScheduling
+public class UsuarioReativoApplication {
+
+    public static void main(String[] args) {
+        // Usa reativo.properties; o application.properties do classpath é o da variante servlet
+        new SpringApplicationBuilder(UsuarioReativoApplication.class)
+                .properties("spring.config.name=reativo")
+                .run(args);
+    }
+
+}
@@ -0,0 +1,349 @@
+package com.mateus.usuario.reativo.business;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mateus.usuario.business.UsuarioService;
+import com.mateus.usuario.business.converter.UsuarioConverter;
+import com.mateus.usuario.business.dto.EnderecoDTO;
+import com.mateus.usuario.business.dto.TelefoneDTO;
+import com.mateus.usuario.business.dto.UsuarioDTO;
+import com.mateus.usuario.infrastructure.entity.Endereco;
+import com.mateus.usuario.infrastructure.entity.Telefone;
+import com.mateus.usuario.infrastructure.entity.Usuario;
+import com.mateus.usuario.infrastructure.exception.BadRequestException;
+import com.mateus.usuario.infrastructure.exception.ConflictException;
+import com.mateus.usuario.infrastructure.exception.PreconditionFailedException;
+import com.mateus.usuario.infrastructure.exception.ResourceNotFoundException;
+import com.mateus.usuario.infrastructure.security.service.VersaoSegurancaService;
+import com.mateus.usuario.infrastructure.security.util.JwtUtil;
+import com.mateus.usuario.reativo.infrastructure.entity.EnderecoRegistro;
+import com.mateus.usuario.reativo.infrastructure.entity.TelefoneRegistro;
+import com.mateus.usuario.reativo.infrastructure.entity.UsuarioRegistro;
+import com.mateus.usuario.reativo.infrastructure.repository.EnderecoReativoRepository;
+import com.mateus.usuario.reativo.infrastructure.repository.TelefoneReativoRepository;
+import com.mateus.usuario.reativo.infrastructure.repository.UsuarioReativoRepository;
+import com.mateus.usuario.reativo.infrastructure.security.AlteracaoSegurancaReativoService;
+import com.mateus.usuario.reativo.infrastructure.security.HashSenhaReativo;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+// Mesmas regras do UsuarioService sobre R2DBC: nenhuma chamada bloqueia o event loop
+// (o hash de senha vai para o scheduler do HashSenhaReativo) e as escritas usam TransactionalOperator
+@Service
+@RequiredArgsConstructor
+public class UsuarioReativoService {
+
+    private final UsuarioReativoRepository usuarioRepository;
+    private final EnderecoReativoRepository enderecoRepository;
+    private final TelefoneReativoRepository telefoneRepository;
+    private final UsuarioConverter usuarioConverter;
+    private final HashSenhaReativo hashSenha;
+    private final JwtUtil jwtUtil;
+    private final VersaoSegurancaService versaoSegurancaService;
+    private final AlteracaoSegurancaReativoService alteracaoSegurancaService;
+    private final TransactionalOperator transactionalOperator;
+    private final ObjectMapper objectMapper;
+
+    public Mono<UsuarioDTO> salvarUsuario(UsuarioDTO usuarioDTO) {
+        // Verificação rápida para não gastar o hash com emails já cadastrados;
+        // quem garante a unicidade é o índice único usado no INSERT
+        return emailExiste(usuarioDTO.getEmail())
+                .then(hashSenha.encode(usuarioDTO.getSenha()))
+                .flatMap(hash -> {
+                    usuarioDTO.setSenha(hash);
+                    return transactionalOperator.transactional(inserirUsuario(usuarioConverter.paraUsuario(usuarioDTO)));
+                })
+                .map(usuarioConverter::paraUsuarioDTO)
+                .onErrorMap(DataIntegrityViolationException.class, e ->
+                        new ConflictException("O email: " + usuarioDTO.getEmail() + " já está cadastrado.", e));
+    }
+
+    // INSERT ... ON CONFLICT do usuário e, em seguida, os filhos já com o usuario_id (em sequência, na mesma conexão)
+    private Mono<Usuario> inserirUsuario(Usuario usuario) {
+        return usuarioRepository.inserirSeEmailLivre(usuario.getNome(), usuario.getEmail(), usuario.getSenha())
+                .switchIfEmpty(Mono.error(() ->
+                        new ConflictException("O email: " + usuario.getEmail() + " já está cadastrado.")))
+                .flatMap(id -> {
+                    usuario.setId(id);
+                    usuario.setVersao(0L);
+                    return Flux.fromIterable(listaOuVazia(usuario.getEnderecos()))
+                            .doOnNext(endereco -> endereco.setUsuario_id(id))
+                            .concatMap(this::inserirEndereco)
+                            .collectList()
+                            .zipWhen(enderecos -> Flux.fromIterable(listaOuVazia(usuario.getTelefones()))
+                                    .doOnNext(telefone -> telefone.setUsuario_id(id))
+                                    .concatMap(this::inserirTelefone)
+                                    .collectList())
+                            .map(filhos -> {
+                                usuario.setEnderecos(usuario.getEnderecos() != null ? filhos.getT1() : null);
+                                usuario.setTelefones(usuario.getTelefones() != null ? filhos.getT2() : null);
+                                return usuario;
+                            });
+                });
+    }
+
+    private Mono<Void> emailExiste(String email) {
+        return usuarioRepository.existsByEmail(email)
+                .flatMap(existe -> existe
+                        ? Mono.error(new ConflictException("O email: " + email + " já está cadastrado."))
+                        : Mono.empty());
+    }
+
+    // Versão atual do usuário (base do ETag do perfil), sem carregar endereços e telefones
+    public Mono<Long> buscarVersaoUsuario(String email) {
+        return usuarioRepository.buscarVersaoPorEmail(email)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Email não encontrado: " + email)));
+    }
+
+    // "campos" (nome, email, enderecos, telefones) limita o que é carregado e devolvido; sem "campos", o usuário completo
+    public Mono<UsuarioDTO> buscarUsuarioPorEmail(String email, Set<String> campos) {
+        boolean completo = campos == null || campos.isEmpty();
+        return usuarioRepository.buscarPorEmail(email)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Email não encontrado: " + email)))
+                .flatMap(registro -> comFilhos(registro.paraEntidade(),
+                        completo || campos.contains(UsuarioService.CAMPO_ENDERECOS),
+                        completo || campos.contains(UsuarioService.CAMPO_TELEFONES)))
+                .map(usuario -> {
+                    UsuarioDTO dto = usuarioConverter.paraUsuarioDTO(usuario);
+                    if (!completo) {
+                        dto.setSenha(null);
+                        dto.setNome(campos.contains(UsuarioService.CAMPO_NOME) ? dto.getNome() : null);
+                        dto.setEmail(campos.contains(UsuarioService.CAMPO_EMAIL) ? dto.getEmail() : null);
+                    }
+                    return dto;
+                });
+    }
+
+    // Carrega endereços e telefones em sequência (funciona dentro e fora de transação)
+    private Mono<Usuario> comFilhos(Usuario usuario, boolean carregarEnderecos, boolean carregarTelefones) {
+        Mono<List<Endereco>> enderecos = carregarEnderecos
+                ? enderecoRepository.buscarPorUsuario(usuario.getId()).map(EnderecoRegistro::paraEntidade).collectList()
+                : Mono.just(List.of());
+        Mono<List<Telefone>> telefones = carregarTelefones
+                ? telefoneRepository.buscarPorUsuario(usuario.getId()).map(TelefoneRegistro::paraEntidade).collectList()
+                : Mono.just(List.of());
+        return enderecos.zipWhen(lista -> telefones)
+                .map(filhos -> {
+                    usuario.setEnderecos(carregarEnderecos ? filhos.getT1() : null);
+                    usuario.setTelefones(carregarTelefones ? filhos.getT2() : null);
+                    return usuario;
+                });
+    }
+
+    public Mono<Void> deletarUsuarioPorEmail(String email) {
+        return transactionalOperator.transactional(usuarioRepository.buscarPorEmail(email)
+                        .flatMap(usuario -> enderecoRepository.deleteByUsuarioId(usuario.id())
+                                .then(telefoneRepository.deleteByUsuarioId(usuario.id()))
+                                .then(usuarioRepository.deleteById(usuario.id()))
+                                // Confirmada junto com a exclusão; as demais instâncias a leem na sincronização seguinte
+                                .then(alteracaoSegurancaService.registrarExclusao(usuario.id(), usuario.email()))
+                                .thenReturn(usuario.id())))
+                // Revoga os tokens já emitidos só depois do commit: se a remoção falhar, o usuário continua com acesso
+                .doOnNext(versaoSegurancaService::revogarTodos)
+                .then();
+    }
+
+    // PUT: campos nulos no DTO mantêm o valor atual. "versaoEsperada" vem do If-Match (null = sem verificação)
+    public Mono<UsuarioDTO> atualizarDadosUsuario(String token, UsuarioDTO dto, Long versaoEsperada) {
+        String email = jwtUtil.extractUsername(token.substring(7));
+
+        // Criptografia de senha (antes da transação, para não segurar conexão durante o hash)
+        Mono<String> senha = dto.getSenha() != null ? hashSenha.encode(dto.getSenha()) : Mono.empty();
+        return senha.doOnNext(dto::setSenha)
+                .then(atualizarUsuario(email, versaoEsperada, usuario -> usuarioConverter.updateUsuario(dto, usuario)));
+    }
+
+    // PATCH com JSON Merge Patch (RFC 7396): campos presentes substituem o valor atual, inclusive com null
+    public Mono<UsuarioDTO> atualizarDadosUsuarioParcial(String token, JsonNode patch, Long versaoEsperada) {
+        String email = jwtUtil.extractUsername(token.substring(7));
+        Mono<String> senha = patch.hasNonNull("senha") ? hashSenha.encode(patch.get("senha").asText()) : Mono.empty();
+        return senha.map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(novaSenha -> atualizarUsuario(email, versaoEsperada, usuario -> {
+                    UsuarioDTO alterado = aplicarMergePatch(UsuarioDTO.builder()
+                            .nome(usuario.getNome())
+                            .email(usuario.getEmail())
+                            .build(), patch);
+                    alterado.setSenha(novaSenha.orElse(null));
+                    usuarioConverter.aplicarUsuario(alterado, usuario);
+                }));
+    }
+
+    // Usuário atualizado e se as credenciais mudaram (a nova versão de segurança só é registrada após o commit)
+    private record UsuarioAtualizado(Usuario usuario, boolean credenciaisAlteradas) {
+    }
+
+    // Uma leitura e um UPDATE condicionado à versão lida, na mesma transação
+    private Mono<UsuarioDTO> atualizarUsuario(String email, Long versaoEsperada, Consumer<Usuario> alteracao) {
+        return transactionalOperator.transactional(usuarioRepository.buscarPorEmail(email)
+                        .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Email não localizado.")))
+                        .flatMap(registro -> {
+                            verificarVersao(registro.versao(), versaoEsperada);
+                            Usuario usuario = registro.paraEntidade();
+                            alteracao.accept(usuario);
+
+                            // Troca de senha ou email invalida os tokens emitidos anteriormente
+                            boolean emailAlterado = !registro.email().equalsIgnoreCase(usuario.getEmail());
+                            boolean credenciaisAlteradas = emailAlterado
+                                    || !Objects.equals(registro.senha(), usuario.getSenha());
+                            if (credenciaisAlteradas) {
+                                usuario.setVersaoSeguranca(usuario.getVersaoSeguranca() + 1);
+                            }
+                            return usuarioRepository.atualizar(usuario.getId(), registro.versao(), usuario.getNome(),
+                                            usuario.getEmail(), usuario.getSenha(), usuario.getVersaoSeguranca())
+                                    // Troca para um email que já pertence a outro usuário (índice único de lower(email))
+                                    .onErrorMap(e -> emailAlterado && e instanceof DataIntegrityViolationException,
+                                            e -> new ConflictException("O email informado já está cadastrado.", e))
+                                    .flatMap(linhas -> verificarAtualizacao(linhas, registro.versao()))
+                                    .flatMap(versao -> credenciaisAlteradas
+                                            ? alteracaoSegurancaService.registrar(usuario.getId(),
+                                                            usuario.getVersaoSeguranca(), registro.email())
+                                                    .thenReturn(versao)
+                                            : Mono.just(versao))
+                                    .flatMap(versao -> {
+                                        usuario.setVersao(versao);
+                                        return comFilhos(usuario, true, true);
+                                    })
+                                    .map(atualizado -> new UsuarioAtualizado(atualizado, credenciaisAlteradas));
+                        }))
+                // Só depois do commit: se a transação fosse desfeita, a versão mínima em memória ficaria
+                // à frente do banco e recusaria todos os tokens do usuário
+                .doOnNext(resultado -> {
+                    if (resultado.credenciaisAlteradas()) {
+                        Usuario usuario = resultado.usuario();
+                        versaoSegurancaService.registrarNovaVersao(usuario.getId(), usuario.getVersaoSeguranca());
+                    }
+                })
+                .map(resultado -> usuarioConverter.paraUsuarioDTO(resultado.usuario()));
+    }
+
+    public Mono<EnderecoDTO> atualizaEndereco(Long idEndereco, EnderecoDTO enderecoDTO, Long versaoEsperada) {
+        return atualizarEndereco(idEndereco, versaoEsperada,
+                entity -> usuarioConverter.updateEndereco(enderecoDTO, entity));
+    }
+
+    public Mono<EnderecoDTO> atualizaEnderecoParcial(Long idEndereco, JsonNode patch, Long versaoEsperada) {
+        return atualizarEndereco(idEndereco, versaoEsperada, entity -> usuarioConverter.aplicarEndereco(
+                aplicarMergePatch(usuarioConverter.paraEnderecoDTO(entity), patch), entity));
+    }
+
+    private Mono<EnderecoDTO> atualizarEndereco(Long idEndereco, Long versaoEsperada, Consumer<Endereco> alteracao) {
+        return transactionalOperator.transactional(enderecoRepository.findById(idEndereco)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("ID não encontrado: " + idEndereco)))
+                .flatMap(registro -> {
+                    verificarVersao(registro.versao(), versaoEsperada);
+                    Endereco entity = registro.paraEntidade();
+                    alteracao.accept(entity);
+                    return usuarioRepository.incrementarVersao(entity.getUsuario_id())
+                            .then(enderecoRepository.atualizar(entity.getId(), registro.versao(), entity.getRua(),
+                                    entity.getNumero(), entity.getComplemento(), entity.getCidade(),
+                                    entity.getEstado(), entity.getCep()))
+                            .flatMap(linhas -> verificarAtualizacao(linhas, registro.versao()))
+                            .map(versao -> {
+                                entity.setVersao(versao);
+                                return usuarioConverter.paraEnderecoDTO(entity);
+                            });
+                }));
+    }
+
+    public Mono<TelefoneDTO> atualizaTelefone(Long idTelefone, TelefoneDTO telefoneDTO, Long versaoEsperada) {
+        return atualizarTelefone(idTelefone, versaoEsperada,
+                entity -> usuarioConverter.updateTelefone(telefoneDTO, entity));
+    }
+
+    public Mono<TelefoneDTO> atualizaTelefoneParcial(Long idTelefone, JsonNode patch, Long versaoEsperada) {
+        return atualizarTelefone(idTelefone, versaoEsperada, entity -> usuarioConverter.aplicarTelefone(
+                aplicarMergePatch(usuarioConverter.paraTelefoneDTO(entity), patch), entity));
+    }
+
+    private Mono<TelefoneDTO> atualizarTelefone(Long idTelefone, Long versaoEsperada, Consumer<Telefone> alteracao) {
+        return transactionalOperator.transactional(telefoneRepository.findById(idTelefone)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("ID não encontrado: " + idTelefone)))
+                .flatMap(registro -> {
+                    verificarVersao(registro.versao(), versaoEsperada);
+                    Telefone entity = registro.paraEntidade();
+                    alteracao.accept(entity);
+                    return usuarioRepository.incrementarVersao(entity.getUsuario_id())
+                            .then(telefoneRepository.atualizar(entity.getId(), registro.versao(), entity.getDdd(),
+                                    entity.getNumero()))
+                            .flatMap(linhas -> verificarAtualizacao(linhas, registro.versao()))
+                            .map(versao -> {
+                                entity.setVersao(versao);
+                                return usuarioConverter.paraTelefoneDTO(entity);
+                            });
+                }));
+    }
+
+    public Mono<EnderecoDTO> cadastraEndereco(String token, EnderecoDTO dto) {
+        return buscarIdUsuario(token)
+                .flatMap(idUsuario -> transactionalOperator.transactional(usuarioRepository.incrementarVersao(idUsuario)
+                        .then(inserirEndereco(usuarioConverter.paraEnderecoEntity(dto, idUsuario)))))
+                .map(usuarioConverter::paraEnderecoDTO);
+    }
+
+    public Mono<TelefoneDTO> cadastraTelefone(String token, TelefoneDTO dto) {
+        return buscarIdUsuario(token)
+                .flatMap(idUsuario -> transactionalOperator.transactional(usuarioRepository.incrementarVersao(idUsuario)
+                        .then(inserirTelefone(usuarioConverter.paraTelefoneEntity(dto, idUsuario)))))
+                .map(usuarioConverter::paraTelefoneDTO);
+    }
+
+    private Mono<Long> buscarIdUsuario(String token) {
+        String email = jwtUtil.extractUsername(token.substring(7));
+        return usuarioRepository.buscarPorEmail(email)
+                .map(UsuarioRegistro::id)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Email não localizado " + email)));
+    }
+
+    private Mono<Endereco> inserirEndereco(Endereco endereco) {
+        return enderecoRepository.inserir(endereco.getRua(), endereco.getNumero(), endereco.getComplemento(),
+                        endereco.getCidade(), endereco.getEstado(), endereco.getCep(), endereco.getUsuario_id())
+                .map(EnderecoRegistro::paraEntidade);
+    }
+
+    private Mono<Telefone> inserirTelefone(Telefone telefone) {
+        return telefoneRepository.inserir(telefone.getDdd(), telefone.getNumero(), telefone.getUsuario_id())
+                .map(TelefoneRegistro::paraEntidade);
+    }
+
+    private void verificarVersao(Long versaoAtual, Long versaoEsperada) {
+        if (versaoEsperada != null && !versaoEsperada.equals(versaoAtual)) {
+            throw new PreconditionFailedException("O recurso foi alterado por outra requisição.");
+        }
+    }
+
+    // Nenhuma linha alterada: outra requisição mudou a versão entre a leitura e o UPDATE (412, como no servlet)
+    private Mono<Long> verificarAtualizacao(int linhas, Long versaoLida) {
+        return linhas == 0
+                ? Mono.error(new OptimisticLockingFailureException("Versão alterada por outra requisição."))
+                : Mono.just(versaoLida + 1);
+    }
+
+    // Aplica o JSON Merge Patch sobre o DTO com o estado atual
+    private <T> T aplicarMergePatch(T atual, JsonNode patch) {
+        if (patch == null || !patch.isObject()) {
+            throw new BadRequestException("O corpo deve ser um objeto JSON Merge Patch.");
+        }
+        try {
+            return objectMapper.readerForUpdating(atual).readValue(patch);
+        } catch (IOException e) {
+            throw new BadRequestException("JSON Merge Patch inválido: " + e.getMessage(), e);
+        }
+    }
+
+    private static <T> List<T> listaOuVazia(List<T> lista) {
+        return lista != null ? lista : List.of();
+    }
+}
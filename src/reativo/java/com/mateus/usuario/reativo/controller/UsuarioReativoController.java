@@ -0,0 +1,188 @@
+package com.mateus.usuario.reativo.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.mateus.usuario.business.dto.EnderecoDTO;
+import com.mateus.usuario.business.dto.TelefoneDTO;
+import com.mateus.usuario.business.dto.UsuarioDTO;
+import com.mateus.usuario.controller.ETags;
+import com.mateus.usuario.infrastructure.exception.TooManyRequestsException;
+import com.mateus.usuario.infrastructure.exception.UnauthorizedException;
+import com.mateus.usuario.infrastructure.security.model.UsuarioAutenticado;
+import com.mateus.usuario.infrastructure.security.service.TentativasLoginService;
+import com.mateus.usuario.infrastructure.security.model.TokensSessao;
+import com.mateus.usuario.infrastructure.security.util.TokenRenovacao;
+import com.mateus.usuario.reativo.business.UsuarioReativoService;
+import com.mateus.usuario.reativo.infrastructure.security.HashSenhaReativo;
+import com.mateus.usuario.reativo.infrastructure.security.RenovacaoTokenReativoService;
+import com.mateus.usuario.reativo.infrastructure.security.RevogacaoTokenReativoService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
+
+// Mesmo contrato do UsuarioController (rotas, cabeçalhos, ETags e códigos de status) sobre WebFlux.
+// Importação, exportação, busca por localização, disponibilidade de email e os endpoints em lote continuam
+// apenas na variante servlet
+@RestController
+@RequestMapping("/usuario")
+@RequiredArgsConstructor
+public class UsuarioReativoController {
+
+    // Tipo de conteúdo do JSON Merge Patch (RFC 7396)
+    private static final String MERGE_PATCH_JSON = "application/merge-patch+json";
+
+    private final UsuarioReativoService usuarioService;
+    private final ReactiveAuthenticationManager authenticationManager;
+    private final TentativasLoginService tentativasLoginService;
+    private final HashSenhaReativo hashSenha;
+    private final RevogacaoTokenReativoService revogacaoTokenService;
+    private final RenovacaoTokenReativoService renovacaoTokenService;
+
+    @PostMapping
+    public Mono<ResponseEntity<UsuarioDTO>> salvar(@RequestBody UsuarioDTO usuarioDTO) {
+        return usuarioService.salvarUsuario(usuarioDTO).map(ResponseEntity::ok);
+    }
+
+    @PostMapping("/login")
+    public Mono<ResponseEntity<String>> login(@RequestBody UsuarioDTO usuarioDTO, ServerHttpRequest request) {
+        // Barra o excesso de tentativas antes de consultar o banco ou calcular o hash da senha
+        InetSocketAddress remoto = request.getRemoteAddress();
+        String ip = remoto != null ? remoto.getHostString() : null;
+        Duration espera = tentativasLoginService.consumirTentativa(usuarioDTO.getEmail(), ip);
+        if (!espera.isZero()) {
+            return Mono.error(new TooManyRequestsException("Muitas tentativas de login. Tente novamente em instantes.", espera));
+        }
+        return authenticationManager.authenticate(
+                        new UsernamePasswordAuthenticationToken(usuarioDTO.getEmail(), usuarioDTO.getSenha()))
+                .onErrorMap(BadCredentialsException.class, e -> new UnauthorizedException("Credenciais inválidas.", e))
+                .onErrorMap(RejectedExecutionException.class, hashSenha::servidorOcupado)
+                .flatMap(authentication -> renovacaoTokenService.emitir((UsuarioAutenticado) authentication.getPrincipal()))
+                .map(UsuarioReativoController::tokens);
+    }
+
+    @PostMapping("/refresh")
+    public Mono<ResponseEntity<String>> refresh(@RequestHeader(TokenRenovacao.HEADER) String refreshToken) {
+        return renovacaoTokenService.renovar(refreshToken).map(UsuarioReativoController::tokens);
+    }
+
+    @PostMapping("/logout")
+    public Mono<ResponseEntity<Void>> logout(@RequestHeader("Authorization") String token,
+                                             @RequestHeader(value = TokenRenovacao.HEADER, required = false) String refreshToken) {
+        // Com o refresh token, encerra também a sessão (família) que ele representa
+        Mono<Void> sessao = refreshToken != null ? renovacaoTokenService.revogar(refreshToken) : Mono.empty();
+        return revogacaoTokenService.revogar(token)
+                .then(sessao)
+                .then(Mono.fromSupplier(() -> ResponseEntity.ok().<Void>build()));
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<UsuarioDTO>> buscarUsuarioPorEmail(@RequestParam("email") String email,
+                                                                  @RequestParam(value = "fields", required = false) Set<String> fields,
+                                                                  @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        Mono<ResponseEntity<UsuarioDTO>> completo = usuarioService.buscarUsuarioPorEmail(email, fields)
+                .map(usuario -> ETags.okRevalidavel(usuario, ETags.doPerfil(usuario.getVersao(), fields)));
+        if (ifNoneMatch == null) {
+            return completo;
+        }
+        // Com If-None-Match, confere só a versão antes de carregar filhos ou montar o DTO
+        return usuarioService.buscarVersaoUsuario(email)
+                .map(versao -> ETags.doPerfil(versao, fields))
+                .flatMap(etagAtual -> ETags.corresponde(ifNoneMatch, etagAtual)
+                        ? Mono.just(ETags.<UsuarioDTO>naoModificado(etagAtual))
+                        : completo);
+    }
+
+    @DeleteMapping("/{email}")
+    public Mono<ResponseEntity<Void>> deletarUsuarioPorEmail(@PathVariable String email) {
+        return usuarioService.deletarUsuarioPorEmail(email)
+                .then(Mono.fromSupplier(() -> ResponseEntity.ok().<Void>build()));
+    }
+
+    @PutMapping
+    public Mono<ResponseEntity<UsuarioDTO>> atualizarDadoUsuario(@RequestBody UsuarioDTO usuarioDTO,
+                                                                 @RequestHeader("Authorization") String token,
+                                                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        // defer: If-Match inválido vira um erro do Mono (412), não uma exceção antes da assinatura
+        return Mono.defer(() -> usuarioService.atualizarDadosUsuario(token, usuarioDTO, ETags.versaoDoIfMatch(ifMatch)))
+                .map(atualizado -> ETags.ok(atualizado, atualizado.getVersao()));
+    }
+
+    @PatchMapping(consumes = MERGE_PATCH_JSON)
+    public Mono<ResponseEntity<UsuarioDTO>> atualizarParcialmenteUsuario(@RequestBody JsonNode patch,
+                                                                         @RequestHeader("Authorization") String token,
+                                                                         @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return Mono.defer(() -> usuarioService.atualizarDadosUsuarioParcial(token, patch, ETags.versaoDoIfMatch(ifMatch)))
+                .map(atualizado -> ETags.ok(atualizado, atualizado.getVersao()));
+    }
+
+    @PutMapping("/endereco")
+    public Mono<ResponseEntity<EnderecoDTO>> atualizarEndereco(@RequestBody EnderecoDTO enderecoDTO,
+                                                               @RequestParam("id") Long id,
+                                                               @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return Mono.defer(() -> usuarioService.atualizaEndereco(id, enderecoDTO, ETags.versaoDoIfMatch(ifMatch)))
+                .map(atualizado -> ETags.ok(atualizado, atualizado.getVersao()));
+    }
+
+    @PatchMapping(value = "/endereco", consumes = MERGE_PATCH_JSON)
+    public Mono<ResponseEntity<EnderecoDTO>> atualizarParcialmenteEndereco(@RequestBody JsonNode patch,
+                                                                           @RequestParam("id") Long id,
+                                                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return Mono.defer(() -> usuarioService.atualizaEnderecoParcial(id, patch, ETags.versaoDoIfMatch(ifMatch)))
+                .map(atualizado -> ETags.ok(atualizado, atualizado.getVersao()));
+    }
+
+    @PutMapping("/telefone")
+    public Mono<ResponseEntity<TelefoneDTO>> atualizarTelefone(@RequestBody TelefoneDTO telefoneDTO,
+                                                               @RequestParam("id") Long id,
+                                                               @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return Mono.defer(() -> usuarioService.atualizaTelefone(id, telefoneDTO, ETags.versaoDoIfMatch(ifMatch)))
+                .map(atualizado -> ETags.ok(atualizado, atualizado.getVersao()));
+    }
+
+    @PatchMapping(value = "/telefone", consumes = MERGE_PATCH_JSON)
+    public Mono<ResponseEntity<TelefoneDTO>> atualizarParcialmenteTelefone(@RequestBody JsonNode patch,
+                                                                           @RequestParam("id") Long id,
+                                                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return Mono.defer(() -> usuarioService.atualizaTelefoneParcial(id, patch, ETags.versaoDoIfMatch(ifMatch)))
+                .map(atualizado -> ETags.ok(atualizado, atualizado.getVersao()));
+    }
+
+    @PostMapping("/endereco")
+    public Mono<ResponseEntity<EnderecoDTO>> cadastraEndereco(@RequestBody EnderecoDTO enderecoDTO,
+                                                              @RequestHeader("Authorization") String token) {
+        return usuarioService.cadastraEndereco(token, enderecoDTO).map(ResponseEntity::ok);
+    }
+
+    @PostMapping("/telefone")
+    public Mono<ResponseEntity<TelefoneDTO>> cadastraTelefone(@RequestBody TelefoneDTO telefoneDTO,
+                                                              @RequestHeader("Authorization") String token) {
+        return usuarioService.cadastraTelefone(token, telefoneDTO).map(ResponseEntity::ok);
+    }
+
+    // Mesmo formato da variante servlet: access token no corpo e refresh token no header
+    private static ResponseEntity<String> tokens(TokensSessao tokens) {
+        return ResponseEntity.ok()
+                .header(TokenRenovacao.HEADER, tokens.renovacao())
+                .body("Bearer " + tokens.acesso());
+    }
+}
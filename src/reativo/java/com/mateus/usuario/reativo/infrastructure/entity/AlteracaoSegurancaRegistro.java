@@ -0,0 +1,11 @@
+package com.mateus.usuario.reativo.infrastructure.entity;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.Instant;
+
+@Table("alteracao_seguranca")
+public record AlteracaoSegurancaRegistro(@Id Long id, Long usuarioId, Long versaoMinima, String email,
+                                         Instant alteradoEm, Instant expiraEm) {
+}
@@ -0,0 +1,16 @@
+package com.mateus.usuario.reativo.infrastructure.entity;
+
+import com.mateus.usuario.infrastructure.security.util.ChaveJwt;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.Instant;
+
+@Table("chave_assinatura")
+public record ChaveAssinaturaRegistro(@Id String kid, String algoritmo, byte[] chavePublica,
+                                      Instant ativaEm, Instant expiraEm) {
+
+    public ChaveJwt paraChave() {
+        return ChaveJwt.publicada(kid, algoritmo, chavePublica, ativaEm, expiraEm);
+    }
+}
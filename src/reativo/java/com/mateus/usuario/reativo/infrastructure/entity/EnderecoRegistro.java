@@ -0,0 +1,24 @@
+package com.mateus.usuario.reativo.infrastructure.entity;
+
+import com.mateus.usuario.infrastructure.entity.Endereco;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+@Table("endereco")
+public record EnderecoRegistro(@Id Long id, Long versao, String rua, String numero, String complemento,
+                               String cidade, String estado, String cep, Long usuarioId) {
+
+    public Endereco paraEntidade() {
+        return Endereco.builder()
+                .id(id)
+                .versao(versao)
+                .rua(rua)
+                .numero(numero)
+                .complemento(complemento)
+                .cidade(cidade)
+                .estado(estado)
+                .cep(cep)
+                .usuario_id(usuarioId)
+                .build();
+    }
+}
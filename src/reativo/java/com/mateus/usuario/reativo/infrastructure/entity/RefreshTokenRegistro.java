@@ -0,0 +1,12 @@
+package com.mateus.usuario.reativo.infrastructure.entity;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Table("refresh_token")
+public record RefreshTokenRegistro(@Id String hash, UUID familia, Long usuarioId, Long versaoSeguranca,
+                                   Instant expiraEm, Instant substituidoEm) {
+}
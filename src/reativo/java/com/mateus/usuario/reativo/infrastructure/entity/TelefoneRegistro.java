@@ -0,0 +1,19 @@
+package com.mateus.usuario.reativo.infrastructure.entity;
+
+import com.mateus.usuario.infrastructure.entity.Telefone;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+@Table("telefone")
+public record TelefoneRegistro(@Id Long id, Long versao, String ddd, String numero, Long usuarioId) {
+
+    public Telefone paraEntidade() {
+        return Telefone.builder()
+                .id(id)
+                .versao(versao)
+                .ddd(ddd)
+                .numero(numero)
+                .usuario_id(usuarioId)
+                .build();
+    }
+}
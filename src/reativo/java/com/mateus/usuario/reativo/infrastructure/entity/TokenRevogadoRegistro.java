@@ -0,0 +1,10 @@
+package com.mateus.usuario.reativo.infrastructure.entity;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.Instant;
+
+@Table("token_revogado")
+public record TokenRevogadoRegistro(@Id String jti, Instant expiraEm, Instant revogadoEm) {
+}
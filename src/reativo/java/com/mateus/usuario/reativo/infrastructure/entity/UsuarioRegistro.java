@@ -0,0 +1,23 @@
+package com.mateus.usuario.reativo.infrastructure.entity;
+
+import com.mateus.usuario.infrastructure.entity.Usuario;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+// Linha da tabela usuario lida pelo R2DBC (sem relacionamentos: endereços e telefones são buscados à parte).
+// Convertida para a entidade Usuario apenas para reaproveitar o UsuarioConverter
+@Table("usuario")
+public record UsuarioRegistro(@Id Long id, Long versao, String nome, String email, String senha,
+                              Long versaoSeguranca) {
+
+    public Usuario paraEntidade() {
+        return Usuario.builder()
+                .id(id)
+                .versao(versao)
+                .nome(nome)
+                .email(email)
+                .senha(senha)
+                .versaoSeguranca(versaoSeguranca != null ? versaoSeguranca : 0L)
+                .build();
+    }
+}
@@ -0,0 +1,31 @@
+package com.mateus.usuario.reativo.infrastructure.repository;
+
+import com.mateus.usuario.reativo.infrastructure.entity.AlteracaoSegurancaRegistro;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+// Equivalente reativo do AlteracaoSegurancaRepository (mesma tabela alteracao_seguranca)
+@Repository
+public interface AlteracaoSegurancaReativoRepository extends ReactiveCrudRepository<AlteracaoSegurancaRegistro, Long> {
+
+    @Modifying
+    @Query("""
+            insert into alteracao_seguranca (usuario_id, versao_minima, email, alterado_em, expira_em)
+            values (:usuarioId, :versaoMinima, :email, now(), :expiraEm)""")
+    Mono<Integer> inserir(@Param("usuarioId") Long usuarioId, @Param("versaoMinima") long versaoMinima,
+                          @Param("email") String email, @Param("expiraEm") Instant expiraEm);
+
+    @Query("select * from alteracao_seguranca where alterado_em >= :desde and expira_em > :agora")
+    Flux<AlteracaoSegurancaRegistro> buscarAlteradasDesde(@Param("desde") Instant desde, @Param("agora") Instant agora);
+
+    @Modifying
+    @Query("delete from alteracao_seguranca where expira_em <= :agora")
+    Mono<Integer> removerExpiradas(@Param("agora") Instant agora);
+}
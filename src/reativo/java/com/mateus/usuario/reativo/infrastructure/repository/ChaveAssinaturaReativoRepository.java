@@ -0,0 +1,32 @@
+package com.mateus.usuario.reativo.infrastructure.repository;
+
+import com.mateus.usuario.reativo.infrastructure.entity.ChaveAssinaturaRegistro;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+// Equivalente reativo do ChaveAssinaturaRepository (mesma tabela chave_assinatura)
+@Repository
+public interface ChaveAssinaturaReativoRepository extends ReactiveCrudRepository<ChaveAssinaturaRegistro, String> {
+
+    @Modifying
+    @Query("""
+            insert into chave_assinatura (kid, algoritmo, chave_publica, ativa_em, expira_em)
+            values (:kid, :algoritmo, :chavePublica, :ativaEm, :expiraEm)""")
+    Mono<Integer> inserir(@Param("kid") String kid, @Param("algoritmo") String algoritmo,
+                          @Param("chavePublica") byte[] chavePublica, @Param("ativaEm") Instant ativaEm,
+                          @Param("expiraEm") Instant expiraEm);
+
+    @Query("select * from chave_assinatura where expira_em > :agora")
+    Flux<ChaveAssinaturaRegistro> buscarValidas(@Param("agora") Instant agora);
+
+    @Modifying
+    @Query("delete from chave_assinatura where expira_em <= :agora")
+    Mono<Integer> removerExpiradas(@Param("agora") Instant agora);
+}
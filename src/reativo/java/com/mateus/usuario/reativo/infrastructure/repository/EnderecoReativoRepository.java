@@ -0,0 +1,40 @@
+package com.mateus.usuario.reativo.infrastructure.repository;
+
+import com.mateus.usuario.reativo.infrastructure.entity.EnderecoRegistro;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface EnderecoReativoRepository extends ReactiveCrudRepository<EnderecoRegistro, Long> {
+
+    @Query("select * from endereco where usuario_id = :usuarioId order by id")
+    Flux<EnderecoRegistro> buscarPorUsuario(@Param("usuarioId") Long usuarioId);
+
+    @Query("""
+            insert into endereco (id, versao, rua, numero, complemento, cidade, estado, cep, usuario_id)
+            values (nextval('endereco_seq'), 0, :rua, :numero, :complemento, :cidade, :estado, :cep, :usuarioId)
+            returning *""")
+    Mono<EnderecoRegistro> inserir(@Param("rua") String rua, @Param("numero") String numero,
+                                   @Param("complemento") String complemento, @Param("cidade") String cidade,
+                                   @Param("estado") String estado, @Param("cep") String cep,
+                                   @Param("usuarioId") Long usuarioId);
+
+    @Modifying
+    @Query("""
+            update endereco set rua = :rua, numero = :numero, complemento = :complemento,
+                cidade = :cidade, estado = :estado, cep = :cep, versao = versao + 1
+            where id = :id and versao = :versao""")
+    Mono<Integer> atualizar(@Param("id") Long id, @Param("versao") Long versao, @Param("rua") String rua,
+                            @Param("numero") String numero, @Param("complemento") String complemento,
+                            @Param("cidade") String cidade, @Param("estado") String estado,
+                            @Param("cep") String cep);
+
+    @Modifying
+    @Query("delete from endereco where usuario_id = :usuarioId")
+    Mono<Integer> deleteByUsuarioId(@Param("usuarioId") Long usuarioId);
+}
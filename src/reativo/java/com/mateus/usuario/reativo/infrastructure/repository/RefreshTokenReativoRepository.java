@@ -0,0 +1,38 @@
+package com.mateus.usuario.reativo.infrastructure.repository;
+
+import com.mateus.usuario.reativo.infrastructure.entity.RefreshTokenRegistro;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.UUID;
+
+// Equivalente reativo do RefreshTokenRepository (mesma tabela refresh_token)
+@Repository
+public interface RefreshTokenReativoRepository extends ReactiveCrudRepository<RefreshTokenRegistro, String> {
+
+    @Modifying
+    @Query("""
+            insert into refresh_token (hash, familia, usuario_id, versao_seguranca, expira_em)
+            values (:hash, :familia, :usuarioId, :versaoSeguranca, :expiraEm)""")
+    Mono<Integer> inserir(@Param("hash") String hash, @Param("familia") UUID familia, @Param("usuarioId") Long usuarioId,
+                          @Param("versaoSeguranca") long versaoSeguranca, @Param("expiraEm") Instant expiraEm);
+
+    @Modifying
+    @Query("""
+            update refresh_token set substituido_em = :agora
+            where hash = :hash and substituido_em is null and expira_em > :agora""")
+    Mono<Integer> marcarSubstituido(@Param("hash") String hash, @Param("agora") Instant agora);
+
+    @Modifying
+    @Query("delete from refresh_token where familia = :familia")
+    Mono<Integer> removerFamilia(@Param("familia") UUID familia);
+
+    @Modifying
+    @Query("delete from refresh_token where expira_em <= :agora")
+    Mono<Integer> removerExpirados(@Param("agora") Instant agora);
+}
@@ -0,0 +1,33 @@
+package com.mateus.usuario.reativo.infrastructure.repository;
+
+import com.mateus.usuario.reativo.infrastructure.entity.TelefoneRegistro;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface TelefoneReativoRepository extends ReactiveCrudRepository<TelefoneRegistro, Long> {
+
+    @Query("select * from telefone where usuario_id = :usuarioId order by id")
+    Flux<TelefoneRegistro> buscarPorUsuario(@Param("usuarioId") Long usuarioId);
+
+    @Query("""
+            insert into telefone (id, versao, ddd, numero, usuario_id)
+            values (nextval('telefone_seq'), 0, :ddd, :numero, :usuarioId)
+            returning *""")
+    Mono<TelefoneRegistro> inserir(@Param("ddd") String ddd, @Param("numero") String numero,
+                                   @Param("usuarioId") Long usuarioId);
+
+    @Modifying
+    @Query("update telefone set ddd = :ddd, numero = :numero, versao = versao + 1 where id = :id and versao = :versao")
+    Mono<Integer> atualizar(@Param("id") Long id, @Param("versao") Long versao, @Param("ddd") String ddd,
+                            @Param("numero") String numero);
+
+    @Modifying
+    @Query("delete from telefone where usuario_id = :usuarioId")
+    Mono<Integer> deleteByUsuarioId(@Param("usuarioId") Long usuarioId);
+}
@@ -0,0 +1,31 @@
+package com.mateus.usuario.reativo.infrastructure.repository;
+
+import com.mateus.usuario.reativo.infrastructure.entity.TokenRevogadoRegistro;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+// Equivalente reativo do TokenRevogadoRepository (mesma tabela token_revogado)
+@Repository
+public interface TokenRevogadoReativoRepository extends ReactiveCrudRepository<TokenRevogadoRegistro, String> {
+
+    @Modifying
+    @Query("""
+            insert into token_revogado (jti, expira_em, revogado_em)
+            values (:jti, :expiraEm, now())
+            on conflict (jti) do nothing""")
+    Mono<Integer> inserir(@Param("jti") String jti, @Param("expiraEm") Instant expiraEm);
+
+    @Query("select * from token_revogado where revogado_em >= :desde and expira_em > :agora")
+    Flux<TokenRevogadoRegistro> buscarRevogadosDesde(@Param("desde") Instant desde, @Param("agora") Instant agora);
+
+    @Modifying
+    @Query("delete from token_revogado where expira_em <= :agora")
+    Mono<Integer> removerExpirados(@Param("agora") Instant agora);
+}
@@ -0,0 +1,56 @@
+package com.mateus.usuario.reativo.infrastructure.repository;
+
+import com.mateus.usuario.reativo.infrastructure.entity.UsuarioRegistro;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+// Equivalente reativo do UsuarioRepository. As buscas por email comparam lower(email),
+// usando o índice único ux_usuario_email_lower
+@Repository
+public interface UsuarioReativoRepository extends ReactiveCrudRepository<UsuarioRegistro, Long> {
+
+    @Query("select exists(select 1 from usuario where lower(email) = lower(:email))")
+    Mono<Boolean> existsByEmail(@Param("email") String email);
+
+    @Query("select * from usuario where lower(email) = lower(:email)")
+    Mono<UsuarioRegistro> buscarPorEmail(@Param("email") String email);
+
+    // Versão atual (base do ETag do perfil) sem trazer o restante da linha
+    @Query("select versao from usuario where lower(email) = lower(:email)")
+    Mono<Long> buscarVersaoPorEmail(@Param("email") String email);
+
+    // Mesmo INSERT ... ON CONFLICT da variante servlet: vazio quando o email já está cadastrado.
+    // O id vem direto da sequência, sem colidir com os blocos reservados pelo otimizador pooled do Hibernate
+    @Query("""
+            insert into usuario (id, nome, email, senha, versao_seguranca, versao)
+            values (nextval('usuario_seq'), :nome, :email, :senha, 0, 0)
+            on conflict ((lower(email))) do nothing
+            returning id""")
+    Mono<Long> inserirSeEmailLivre(@Param("nome") String nome, @Param("email") String email,
+                                   @Param("senha") String senha);
+
+    // UPDATE condicionado à versão lida (controle otimista); devolve 0 se outra requisição alterou a linha antes
+    @Modifying
+    @Query("""
+            update usuario set nome = :nome, email = :email, senha = :senha,
+                versao_seguranca = :versaoSeguranca, versao = versao + 1
+            where id = :id and versao = :versao""")
+    Mono<Integer> atualizar(@Param("id") Long id, @Param("versao") Long versao, @Param("nome") String nome,
+                            @Param("email") String email, @Param("senha") String senha,
+                            @Param("versaoSeguranca") Long versaoSeguranca);
+
+    // Incrementa a versão do usuário (ETag do perfil) quando endereços ou telefones mudam;
+    // o UPDATE mantém a linha bloqueada até o fim da transação, como o PESSIMISTIC_FORCE_INCREMENT
+    @Modifying
+    @Query("update usuario set versao = versao + 1 where id = :id")
+    Mono<Integer> incrementarVersao(@Param("id") Long id);
+
+    // Regrava o hash da senha (algoritmo ou custo desatualizado) após um login bem-sucedido
+    @Modifying
+    @Query("update usuario set senha = :senha, versao = versao + 1 where lower(email) = lower(:email)")
+    Mono<Integer> atualizarSenha(@Param("email") String email, @Param("senha") String senha);
+}
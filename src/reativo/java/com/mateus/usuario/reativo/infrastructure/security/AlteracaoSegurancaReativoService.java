@@ -0,0 +1,64 @@
+package com.mateus.usuario.reativo.infrastructure.security;
+
+import com.mateus.usuario.infrastructure.security.service.VersaoSegurancaService;
+import com.mateus.usuario.infrastructure.security.util.JwtUtil;
+import com.mateus.usuario.reativo.infrastructure.repository.AlteracaoSegurancaReativoRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+
+// Equivalente reativo do AlteracaoSegurancaService: mesma tabela, de modo que uma troca de senha/email ou
+// exclusão em qualquer variante e instância recusa os tokens antigos em todas. Aqui não há cache de
+// autenticação a invalidar (ver UsuarioReativoDetailsService); o email só é gravado para a variante servlet
+@Service
+public class AlteracaoSegurancaReativoService {
+
+    // Margem na busca incremental (ver RevogacaoTokenService)
+    private static final Duration SOBREPOSICAO = Duration.ofSeconds(5);
+
+    private final AlteracaoSegurancaReativoRepository alteracaoSegurancaRepository;
+    private final VersaoSegurancaService versaoSegurancaService;
+
+    // Maior alterado_em já carregado do banco; só é alterado pela sincronização, que nunca roda em paralelo
+    private volatile Instant ultimaAlteracao = Instant.EPOCH;
+
+    public AlteracaoSegurancaReativoService(AlteracaoSegurancaReativoRepository alteracaoSegurancaRepository,
+                                            VersaoSegurancaService versaoSegurancaService) {
+        this.alteracaoSegurancaRepository = alteracaoSegurancaRepository;
+        this.versaoSegurancaService = versaoSegurancaService;
+    }
+
+    // Deve fazer parte da transação que altera o usuário, com o email anterior à alteração
+    public Mono<Void> registrar(Long usuarioId, long versaoMinima, String email) {
+        return alteracaoSegurancaRepository.inserir(usuarioId, versaoMinima, email,
+                        Instant.now().plus(JwtUtil.VALIDADE_TOKEN))
+                .then();
+    }
+
+    public Mono<Void> registrarExclusao(Long usuarioId, String email) {
+        return registrar(usuarioId, Long.MAX_VALUE, email);
+    }
+
+    // Sem atraso inicial: a primeira execução, logo na inicialização, carrega todas as alterações válidas
+    @Scheduled(fixedDelayString = "${seguranca.versao.sincronizacao:10s}")
+    public Mono<Void> sincronizar() {
+        Instant ultima = ultimaAlteracao;
+        Instant desde = ultima.equals(Instant.EPOCH) ? Instant.EPOCH : ultima.minus(SOBREPOSICAO);
+        return alteracaoSegurancaRepository.buscarAlteradasDesde(desde, Instant.now())
+                .doOnNext(alteracao -> {
+                    versaoSegurancaService.registrarNovaVersao(alteracao.usuarioId(), alteracao.versaoMinima());
+                    if (alteracao.alteradoEm().isAfter(ultimaAlteracao)) {
+                        ultimaAlteracao = alteracao.alteradoEm();
+                    }
+                })
+                .then();
+    }
+
+    @Scheduled(fixedDelayString = "${seguranca.versao.limpeza:1m}")
+    public Mono<Void> removerExpiradas() {
+        return alteracaoSegurancaRepository.removerExpiradas(Instant.now()).then();
+    }
+}
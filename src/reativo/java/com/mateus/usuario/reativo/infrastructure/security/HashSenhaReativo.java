@@ -0,0 +1,73 @@
+package com.mateus.usuario.reativo.infrastructure.security;
+
+import com.mateus.usuario.infrastructure.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+
+// Equivalente reativo do BoundedPasswordEncoder: o BCrypt (custoso e bloqueante) roda em um scheduler
+// com poucas threads e fila limitada, nunca no event loop do Netty. Quando a fila enche, a operação
+// falha na hora com 503 em vez de acumular requisições.
+public class HashSenhaReativo implements AutoCloseable {
+
+    private final PasswordEncoder delegate;
+    private final Scheduler scheduler;
+    private final Timer tempoEncode;
+    private final Timer tempoMatches;
+    private final Counter rejeitados;
+
+    public HashSenhaReativo(PasswordEncoder delegate, int threads, int tamanhoFila, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.scheduler = Schedulers.newBoundedElastic(threads, tamanhoFila, "hash-senha", 60, true);
+        this.tempoEncode = Timer.builder("senha.hash")
+                .tag("operacao", "encode")
+                .register(meterRegistry);
+        this.tempoMatches = Timer.builder("senha.hash")
+                .tag("operacao", "matches")
+                .register(meterRegistry);
+        this.rejeitados = Counter.builder("senha.hash.rejeitados")
+                .description("Operações de hash rejeitadas por fila cheia")
+                .register(meterRegistry);
+    }
+
+    public Mono<String> encode(CharSequence rawPassword) {
+        return executar(tempoEncode, () -> delegate.encode(rawPassword));
+    }
+
+    public Mono<Boolean> matches(CharSequence rawPassword, String encodedPassword) {
+        return executar(tempoMatches, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    // Encoder síncrono, para o ReactiveAuthenticationManager (que já o chama dentro do scheduler abaixo)
+    public PasswordEncoder getPasswordEncoder() {
+        return delegate;
+    }
+
+    public Scheduler getScheduler() {
+        return scheduler;
+    }
+
+    // Converte a rejeição do scheduler (fila cheia) no 503 usado pela variante servlet
+    public Throwable servidorOcupado(RejectedExecutionException e) {
+        rejeitados.increment();
+        return new ServiceUnavailableException("Servidor ocupado, tente novamente em instantes.", e);
+    }
+
+    @Override
+    public void close() {
+        scheduler.dispose();
+    }
+
+    private <T> Mono<T> executar(Timer tempoExecucao, Callable<T> tarefa) {
+        return Mono.fromCallable(() -> tempoExecucao.recordCallable(tarefa))
+                .subscribeOn(scheduler)
+                .onErrorMap(RejectedExecutionException.class, this::servidorOcupado);
+    }
+}
@@ -0,0 +1,101 @@
+package com.mateus.usuario.reativo.infrastructure.security;
+
+import com.mateus.usuario.infrastructure.exception.ChaveDesconhecidaException;
+import com.mateus.usuario.infrastructure.security.model.UsuarioAutenticado;
+import com.mateus.usuario.infrastructure.security.service.VersaoSegurancaService;
+import com.mateus.usuario.infrastructure.security.util.JwtUtil;
+import com.mateus.usuario.infrastructure.security.util.ListaRevogacao;
+import com.mateus.usuario.infrastructure.security.util.TokenVerificado;
+import io.jsonwebtoken.JwtException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+
+// Equivalente reativo do JwtRequestFilter: autentica a requisição pelo token "Bearer" e grava
+// o principal no contexto do Reactor (não há ThreadLocal, a requisição troca de thread)
+public class JwtWebFilter implements WebFilter {
+
+    private final JwtUtil jwtUtil;
+    private final ReactiveUserDetailsService userDetailsService;
+    private final VersaoSegurancaService versaoSegurancaService;
+    // Tokens revogados por logout (consulta em memória, sem banco)
+    private final ListaRevogacao listaRevogacao;
+    private final RotacaoChavesReativoService rotacaoChaves;
+    // Quando true, o principal é montado a partir das claims do token, sem consultar o banco
+    private final boolean autenticacaoPorClaims;
+
+    public JwtWebFilter(JwtUtil jwtUtil, ReactiveUserDetailsService userDetailsService,
+                        VersaoSegurancaService versaoSegurancaService, ListaRevogacao listaRevogacao,
+                        RotacaoChavesReativoService rotacaoChaves, boolean autenticacaoPorClaims) {
+        this.jwtUtil = jwtUtil;
+        this.userDetailsService = userDetailsService;
+        this.versaoSegurancaService = versaoSegurancaService;
+        this.listaRevogacao = listaRevogacao;
+        this.rotacaoChaves = rotacaoChaves;
+        this.autenticacaoPorClaims = autenticacaoPorClaims;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String authorizationHeader = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authorizationHeader == null || !authorizationHeader.startsWith("Bearer ")) {
+            return chain.filter(exchange);
+        }
+
+        // Token inválido, expirado ou revogado: segue sem autenticação e a regra de acesso responde.
+        // Só grava o contexto quando há principal; "vazio" (token revogado) segue sem autenticação
+        return verificar(authorizationHeader.substring(7))
+                .filter(token -> token.username() != null && !listaRevogacao.revogado(token))
+                .flatMap(this::carregarUsuario)
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(usuario -> usuario
+                        .map(userDetails -> chain.filter(exchange).contextWrite(
+                                ReactiveSecurityContextHolder.withAuthentication(new UsernamePasswordAuthenticationToken(
+                                        userDetails, null, userDetails.getAuthorities()))))
+                        .orElseGet(() -> chain.filter(exchange)));
+    }
+
+    // A verificação é CPU pura e curta (assinatura, com cache), então roda no próprio event loop.
+    // Um "kid" desconhecido pode ser de uma chave recém-criada por outra instância: busca a chave no banco
+    // (sem bloquear) e verifica de novo. Token inválido resulta em vazio
+    private Mono<TokenVerificado> verificar(String token) {
+        try {
+            return Mono.just(jwtUtil.verificarToken(token));
+        } catch (ChaveDesconhecidaException e) {
+            return rotacaoChaves.buscar(e.getKid())
+                    .filter(encontrada -> encontrada)
+                    .flatMap(encontrada -> Mono.fromCallable(() -> jwtUtil.verificarToken(token)))
+                    .onErrorResume(JwtException.class, erro -> Mono.empty());
+        } catch (JwtException e) {
+            return Mono.empty();
+        }
+    }
+
+    // Emite o principal da requisição, ou vazio se o token tiver sido revogado
+    private Mono<UserDetails> carregarUsuario(TokenVerificado token) {
+        Long usuarioId = token.usuarioId();
+        Long versao = token.versaoSeguranca();
+
+        // Caminho sem banco: claims assinadas + tabela de versões em memória
+        if (autenticacaoPorClaims && usuarioId != null && versao != null
+                && versaoSegurancaService.podeValidarEmMemoria(token)) {
+            return versaoSegurancaService.versaoValida(usuarioId, versao)
+                    ? Mono.just(UsuarioAutenticado.doToken(usuarioId, token.username(), versao))
+                    : Mono.empty();
+        }
+
+        // Tokens com versão de segurança anterior à atual do usuário não são mais aceitos
+        return userDetailsService.findByUsername(token.username())
+                .filter(userDetails -> versao == null || !(userDetails instanceof UsuarioAutenticado usuario)
+                        || versao >= usuario.getVersaoSeguranca());
+    }
+}
@@ -0,0 +1,127 @@
+package com.mateus.usuario.reativo.infrastructure.security;
+
+import com.mateus.usuario.infrastructure.exception.UnauthorizedException;
+import com.mateus.usuario.infrastructure.security.model.TokensSessao;
+import com.mateus.usuario.infrastructure.security.model.UsuarioAutenticado;
+import com.mateus.usuario.infrastructure.security.util.JwtUtil;
+import com.mateus.usuario.infrastructure.security.util.TokenRenovacao;
+import com.mateus.usuario.reativo.infrastructure.entity.RefreshTokenRegistro;
+import com.mateus.usuario.reativo.infrastructure.repository.RefreshTokenReativoRepository;
+import com.mateus.usuario.reativo.infrastructure.repository.UsuarioReativoRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+// Equivalente reativo do RenovacaoTokenService: mesma tabela, mesma rotação e mesma revogação da família
+// quando um refresh token já trocado é reapresentado
+@Service
+public class RenovacaoTokenReativoService {
+
+    private final RefreshTokenReativoRepository refreshTokenRepository;
+    private final UsuarioReativoRepository usuarioRepository;
+    private final JwtUtil jwtUtil;
+    private final TransactionalOperator transactionalOperator;
+    private final Duration validade;
+    private final Counter renovacoes;
+    private final Counter reutilizacoes;
+
+    public RenovacaoTokenReativoService(RefreshTokenReativoRepository refreshTokenRepository,
+                                        UsuarioReativoRepository usuarioRepository, JwtUtil jwtUtil,
+                                        TransactionalOperator transactionalOperator, MeterRegistry meterRegistry,
+                                        @Value("${seguranca.refresh.validade:30d}") Duration validade) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.usuarioRepository = usuarioRepository;
+        this.jwtUtil = jwtUtil;
+        this.transactionalOperator = transactionalOperator;
+        this.validade = validade;
+        this.renovacoes = Counter.builder("jwt.renovacoes")
+                .description("Access tokens emitidos a partir de um refresh token")
+                .register(meterRegistry);
+        this.reutilizacoes = Counter.builder("jwt.refresh.reutilizados")
+                .description("Refresh tokens já trocados apresentados novamente (família revogada)")
+                .register(meterRegistry);
+    }
+
+    public Mono<TokensSessao> emitir(UsuarioAutenticado usuario) {
+        return gravarNovo(UUID.randomUUID(), usuario)
+                .map(refreshToken -> new TokensSessao(jwtUtil.generateToken(usuario), refreshToken));
+    }
+
+    // Resultado da rotação: os novos tokens ou o motivo da recusa. A recusa só vira erro depois da transação,
+    // senão o TransactionalOperator desfaria a revogação da família
+    private record Renovacao(TokensSessao tokens, String recusa) {
+
+        static Renovacao recusada(String recusa) {
+            return new Renovacao(null, recusa);
+        }
+    }
+
+    // Marcação do token atual e gravação do próximo na mesma transação: se a gravação falhar,
+    // o token atual continua válido em vez de ser consumido
+    public Mono<TokensSessao> renovar(String refreshToken) {
+        return transactionalOperator.transactional(refreshTokenRepository.findById(TokenRenovacao.hash(refreshToken))
+                        .flatMap(atual -> refreshTokenRepository.marcarSubstituido(atual.hash(), Instant.now())
+                                .flatMap(linhas -> linhas == 0 ? recusarReutilizado(atual) : renovarFamilia(atual)))
+                        .defaultIfEmpty(Renovacao.recusada("Refresh token inválido.")))
+                .flatMap(renovacao -> {
+                    if (renovacao.recusa() != null) {
+                        return Mono.error(new UnauthorizedException(renovacao.recusa()));
+                    }
+                    renovacoes.increment();
+                    return Mono.just(renovacao.tokens());
+                });
+    }
+
+    public Mono<Void> revogar(String refreshToken) {
+        return refreshTokenRepository.findById(TokenRenovacao.hash(refreshToken))
+                .flatMap(token -> refreshTokenRepository.removerFamilia(token.familia()))
+                .then();
+    }
+
+    @Scheduled(fixedDelayString = "${seguranca.refresh.limpeza:1h}")
+    public Mono<Void> removerExpirados() {
+        return refreshTokenRepository.removerExpirados(Instant.now()).then();
+    }
+
+    // Já trocado antes (ou agora, por outra requisição): o token pode ter vazado. Expirado sem uso só é recusado
+    private Mono<Renovacao> recusarReutilizado(RefreshTokenRegistro atual) {
+        Mono<Integer> revogacao = Mono.empty();
+        if (atual.substituidoEm() != null || atual.expiraEm().isAfter(Instant.now())) {
+            reutilizacoes.increment();
+            revogacao = refreshTokenRepository.removerFamilia(atual.familia());
+        }
+        return revogacao.thenReturn(Renovacao.recusada("Refresh token inválido."));
+    }
+
+    // Usuário removido ou com senha/email alterados desde o login: a sessão não pode ser renovada
+    private Mono<Renovacao> renovarFamilia(RefreshTokenRegistro atual) {
+        Mono<Renovacao> encerrada = refreshTokenRepository.removerFamilia(atual.familia())
+                .thenReturn(Renovacao.recusada("Sessão encerrada, faça login novamente."));
+        return usuarioRepository.findById(atual.usuarioId())
+                .flatMap(usuario -> {
+                    long versaoAtual = usuario.versaoSeguranca() != null ? usuario.versaoSeguranca() : 0L;
+                    if (versaoAtual > atual.versaoSeguranca()) {
+                        return encerrada;
+                    }
+                    UsuarioAutenticado autenticado = UsuarioAutenticado.doToken(usuario.id(), usuario.email(), versaoAtual);
+                    return gravarNovo(atual.familia(), autenticado)
+                            .map(novo -> new Renovacao(new TokensSessao(jwtUtil.generateToken(autenticado), novo), null));
+                })
+                .switchIfEmpty(encerrada);
+    }
+
+    private Mono<String> gravarNovo(UUID familia, UsuarioAutenticado usuario) {
+        String token = TokenRenovacao.gerar();
+        return refreshTokenRepository.inserir(TokenRenovacao.hash(token), familia, usuario.getId(),
+                        usuario.getVersaoSeguranca(), Instant.now().plus(validade))
+                .thenReturn(token);
+    }
+}
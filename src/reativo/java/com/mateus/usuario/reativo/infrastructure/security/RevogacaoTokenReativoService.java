@@ -0,0 +1,80 @@
+package com.mateus.usuario.reativo.infrastructure.security;
+
+import com.mateus.usuario.infrastructure.exception.BadRequestException;
+import com.mateus.usuario.infrastructure.security.util.JwtUtil;
+import com.mateus.usuario.infrastructure.security.util.ListaRevogacao;
+import com.mateus.usuario.infrastructure.security.util.TokenVerificado;
+import com.mateus.usuario.reativo.infrastructure.repository.TokenRevogadoReativoRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+
+// Equivalente reativo do RevogacaoTokenService: mesma tabela e mesma ListaRevogacao em memória,
+// de modo que um logout em qualquer variante vale para as duas. As tarefas @Scheduled devolvem Mono
+// e são assinadas pelo próprio Spring, sem bloquear a thread do agendador
+@Service
+public class RevogacaoTokenReativoService {
+
+    // Margem na busca incremental (ver RevogacaoTokenService)
+    private static final Duration SOBREPOSICAO = Duration.ofSeconds(5);
+
+    private final TokenRevogadoReativoRepository tokenRevogadoRepository;
+    private final ListaRevogacao listaRevogacao;
+    private final JwtUtil jwtUtil;
+    private final Counter revogacoes;
+
+    // Maior revogado_em já carregado do banco; só é alterado pela sincronização, que nunca roda em paralelo
+    private volatile Instant ultimaRevogacao = Instant.EPOCH;
+
+    public RevogacaoTokenReativoService(TokenRevogadoReativoRepository tokenRevogadoRepository,
+                                        ListaRevogacao listaRevogacao, JwtUtil jwtUtil, MeterRegistry meterRegistry) {
+        this.tokenRevogadoRepository = tokenRevogadoRepository;
+        this.listaRevogacao = listaRevogacao;
+        this.jwtUtil = jwtUtil;
+        this.revogacoes = Counter.builder("jwt.revogacoes")
+                .description("Tokens revogados por logout nesta instância")
+                .register(meterRegistry);
+    }
+
+    public Mono<Void> revogar(String token) {
+        return Mono.fromCallable(() -> jwtUtil.verificarToken(token.substring(7)))
+                .filter(verificado -> verificado.jti() != null && verificado.expiraEm() != null)
+                .switchIfEmpty(Mono.error(() -> new BadRequestException("Token sem identificador não pode ser revogado.")))
+                .flatMap(verificado -> tokenRevogadoRepository.inserir(verificado.jti(), verificado.expiraEm())
+                        .doOnSuccess(linhas -> adicionar(verificado)))
+                .then();
+    }
+
+    // Sem atraso inicial: a primeira execução, logo na inicialização, carrega todas as revogações válidas
+    @Scheduled(fixedDelayString = "${seguranca.revogacao.sincronizacao:10s}")
+    public Mono<Void> sincronizar() {
+        Instant ultima = ultimaRevogacao;
+        Instant desde = ultima.equals(Instant.EPOCH) ? Instant.EPOCH : ultima.minus(SOBREPOSICAO);
+        return tokenRevogadoRepository.buscarRevogadosDesde(desde, Instant.now())
+                .doOnNext(revogado -> {
+                    listaRevogacao.adicionar(revogado.jti(), revogado.expiraEm());
+                    if (revogado.revogadoEm().isAfter(ultimaRevogacao)) {
+                        ultimaRevogacao = revogado.revogadoEm();
+                    }
+                })
+                .then();
+    }
+
+    @Scheduled(fixedDelayString = "${seguranca.revogacao.limpeza:1m}")
+    public Mono<Void> removerExpirados() {
+        Instant agora = Instant.now();
+        return tokenRevogadoRepository.removerExpirados(agora)
+                .doOnSuccess(linhas -> listaRevogacao.removerExpirados(agora))
+                .then();
+    }
+
+    private void adicionar(TokenVerificado verificado) {
+        listaRevogacao.adicionar(verificado.jti(), verificado.expiraEm());
+        revogacoes.increment();
+    }
+}
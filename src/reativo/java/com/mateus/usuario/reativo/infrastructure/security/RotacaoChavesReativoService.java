@@ -0,0 +1,78 @@
+package com.mateus.usuario.reativo.infrastructure.security;
+
+import com.mateus.usuario.infrastructure.security.util.ChaveJwt;
+import com.mateus.usuario.infrastructure.security.util.ChaveiroJwt;
+import com.mateus.usuario.reativo.infrastructure.entity.ChaveAssinaturaRegistro;
+import com.mateus.usuario.reativo.infrastructure.repository.ChaveAssinaturaReativoRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+// Equivalente reativo do RotacaoChavesService. O chaveiro não recebe busca sob demanda (seria uma consulta
+// bloqueante no event loop): o JwtWebFilter chama buscar() quando encontra um "kid" desconhecido
+@Service
+public class RotacaoChavesReativoService {
+
+    private final ChaveAssinaturaReativoRepository chaveAssinaturaRepository;
+    private final ChaveiroJwt chaveiro;
+
+    public RotacaoChavesReativoService(ChaveAssinaturaReativoRepository chaveAssinaturaRepository, ChaveiroJwt chaveiro) {
+        this.chaveAssinaturaRepository = chaveAssinaturaRepository;
+        this.chaveiro = chaveiro;
+    }
+
+    // Na inicialização (thread principal) a chave precisa estar publicada antes do primeiro token, então aguarda
+    @PostConstruct
+    public void iniciar() {
+        Instant agora = Instant.now();
+        ChaveJwt primeira = chaveiro.gerar(agora);
+        publicar(primeira)
+                .doOnSuccess(linhas -> chaveiro.usar(primeira, agora))
+                .then(sincronizar(agora))
+                .block();
+    }
+
+    @Scheduled(fixedDelayString = "${seguranca.jwt.sincronizacao:1m}", initialDelayString = "${seguranca.jwt.sincronizacao:1m}")
+    public Mono<Void> rotacionar() {
+        Instant agora = Instant.now();
+        ChaveJwt proxima = chaveiro.gerarProximaSeNecessario(agora);
+        Mono<Void> publicacao = proxima == null
+                ? Mono.empty()
+                : publicar(proxima).doOnSuccess(linhas -> chaveiro.usar(proxima, agora)).then();
+        return publicacao
+                .then(Mono.fromRunnable(() -> chaveiro.promover(agora)))
+                .then(sincronizar(agora))
+                .then(Mono.fromRunnable(() -> chaveiro.removerExpiradas(agora)))
+                .then(chaveAssinaturaRepository.removerExpiradas(agora))
+                .then();
+    }
+
+    // Busca um "kid" ainda não sincronizado; true se a chave passou a estar no chaveiro
+    public Mono<Boolean> buscar(String kid) {
+        if (!chaveiro.permitirBuscaSobDemanda(kid)) {
+            return Mono.just(false);
+        }
+        return chaveAssinaturaRepository.findById(kid)
+                .map(chave -> {
+                    chaveiro.adicionar(chave.paraChave());
+                    return true;
+                })
+                .defaultIfEmpty(false);
+    }
+
+    private Mono<Void> sincronizar(Instant agora) {
+        return chaveAssinaturaRepository.buscarValidas(agora)
+                .filter(chave -> !chaveiro.conhece(chave.kid()))
+                .map(ChaveAssinaturaRegistro::paraChave)
+                .doOnNext(chaveiro::adicionar)
+                .then();
+    }
+
+    private Mono<Integer> publicar(ChaveJwt chave) {
+        return chaveAssinaturaRepository.inserir(chave.kid(), chave.algoritmo().getId(), chave.publicaCodificada(),
+                chave.ativaEm(), chave.expiraEm());
+    }
+}
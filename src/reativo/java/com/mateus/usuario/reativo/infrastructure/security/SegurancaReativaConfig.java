@@ -0,0 +1,88 @@
+package com.mateus.usuario.reativo.infrastructure.security;
+
+import com.mateus.usuario.infrastructure.security.service.VersaoSegurancaService;
+import com.mateus.usuario.infrastructure.security.util.JwtUtil;
+import com.mateus.usuario.infrastructure.security.util.ListaRevogacao;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.reactive.EndpointRequest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UserDetailsRepositoryReactiveAuthenticationManager;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.authentication.HttpStatusServerEntryPoint;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+
+import java.util.Map;
+
+// Mesmas regras de acesso do SecurityConfig da variante servlet, na cadeia de filtros do WebFlux
+@Configuration
+@EnableWebFluxSecurity
+public class SegurancaReativaConfig {
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http, JwtUtil jwtUtil,
+                                                         UsuarioReativoDetailsService userDetailsService,
+                                                         VersaoSegurancaService versaoSegurancaService,
+                                                         ListaRevogacao listaRevogacao,
+                                                         RotacaoChavesReativoService rotacaoChaves,
+                                                         @Value("${seguranca.autenticacao.modo:claims}") String modoAutenticacao) {
+        JwtWebFilter jwtWebFilter = new JwtWebFilter(jwtUtil, userDetailsService, versaoSegurancaService,
+                listaRevogacao, rotacaoChaves, "claims".equalsIgnoreCase(modoAutenticacao));
+
+        return http
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+                .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+                // Stateless: nada é gravado em sessão, o token é verificado a cada requisição
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                .authorizeExchange(authorize -> authorize
+                        .matchers(EndpointRequest.to("prometheus")).permitAll()
+                        .pathMatchers(HttpMethod.POST, "/usuario/login").permitAll()
+                        .pathMatchers(HttpMethod.POST, "/usuario/refresh").permitAll()
+                        .pathMatchers(HttpMethod.GET, "/.well-known/jwks.json").permitAll()
+                        .pathMatchers(HttpMethod.POST, "/usuario").permitAll()
+                        .anyExchange().authenticated())
+                // Sem token válido a resposta é 401, como na variante servlet
+                .exceptionHandling(excecoes -> excecoes
+                        .authenticationEntryPoint(new HttpStatusServerEntryPoint(HttpStatus.UNAUTHORIZED)))
+                .addFilterAt(jwtWebFilter, SecurityWebFiltersOrder.AUTHENTICATION)
+                .build();
+    }
+
+    // Mesmo encoder da variante servlet ({bcrypt} com custo configurável), executado no scheduler limitado
+    @Bean(destroyMethod = "close")
+    public HashSenhaReativo hashSenhaReativo(MeterRegistry meterRegistry,
+                                             @Value("${seguranca.senha.bcrypt-custo:10}") int custo,
+                                             @Value("${seguranca.senha.threads:0}") int threads,
+                                             @Value("${seguranca.senha.tamanho-fila:200}") int tamanhoFila) {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(custo);
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+
+        // Por padrão, uma thread de hash por núcleo disponível
+        int tamanhoPool = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new HashSenhaReativo(delegating, tamanhoPool, tamanhoFila, meterRegistry);
+    }
+
+    // Login: busca o usuário pelo R2DBC e confere a senha no scheduler de hash; hashes desatualizados
+    // são regravados pelo UsuarioReativoDetailsService#updatePassword
+    @Bean
+    public ReactiveAuthenticationManager reactiveAuthenticationManager(UsuarioReativoDetailsService userDetailsService,
+                                                                       HashSenhaReativo hashSenhaReativo) {
+        UserDetailsRepositoryReactiveAuthenticationManager authenticationManager =
+                new UserDetailsRepositoryReactiveAuthenticationManager(userDetailsService);
+        authenticationManager.setPasswordEncoder(hashSenhaReativo.getPasswordEncoder());
+        authenticationManager.setScheduler(hashSenhaReativo.getScheduler());
+        authenticationManager.setUserDetailsPasswordService(userDetailsService);
+        return authenticationManager;
+    }
+}
@@ -0,0 +1,42 @@
+package com.mateus.usuario.reativo.infrastructure.security;
+
+import com.mateus.usuario.infrastructure.security.model.UsuarioAutenticado;
+import com.mateus.usuario.reativo.infrastructure.entity.UsuarioRegistro;
+import com.mateus.usuario.reativo.infrastructure.repository.UsuarioReativoRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsPasswordService;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+// Equivalente reativo do UserDetailsServiceImpl (sem o cache local: no modo "claims" o filtro não consulta o banco)
+@Service
+@RequiredArgsConstructor
+public class UsuarioReativoDetailsService implements ReactiveUserDetailsService, ReactiveUserDetailsPasswordService {
+
+    private final UsuarioReativoRepository usuarioRepository;
+
+    @Override
+    public Mono<UserDetails> findByUsername(String email) {
+        return usuarioRepository.buscarPorEmail(email).map(UsuarioReativoDetailsService::paraUsuarioAutenticado);
+    }
+
+    // Chamado pelo ReactiveAuthenticationManager após um login bem-sucedido com hash desatualizado
+    @Override
+    public Mono<UserDetails> updatePassword(UserDetails user, String newPassword) {
+        return usuarioRepository.atualizarSenha(user.getUsername(), newPassword)
+                .then(user instanceof UsuarioAutenticado usuario
+                        ? Mono.just(new UsuarioAutenticado(usuario.getId(), usuario.getEmail(), newPassword,
+                                usuario.getVersaoSeguranca()))
+                        : findByUsername(user.getUsername()));
+    }
+
+    private static UserDetails paraUsuarioAutenticado(UsuarioRegistro usuario) {
+        return new UsuarioAutenticado(
+                usuario.id(),
+                usuario.email(),
+                usuario.senha(),
+                usuario.versaoSeguranca() != null ? usuario.versaoSeguranca() : 0L);
+    }
+}
@@ -0,0 +1,66 @@
+package com.mateus.usuario.reativo;
+
+import com.mateus.usuario.business.converter.SerializadorUsuario;
+import com.mateus.usuario.business.dto.UsuarioDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.http.codec.CodecsAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.EncoderHttpMessageWriter;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// A variante reativa reaproveita o SerializadorUsuario pelo @Import da aplicação; as respostas passam
+// pelo encoder JSON do WebFlux, configurado a partir do ObjectMapper do contexto
+class SerializacaoReativaTest {
+
+    private final ApplicationContextRunner contexto = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(JacksonAutoConfiguration.class, CodecsAutoConfiguration.class))
+            .withUserConfiguration(SerializadorUsuario.class);
+
+    @Test
+    void aplicacaoReativaImportaOSerializador() {
+        Import importacoes = UsuarioReativoApplication.class.getAnnotation(Import.class);
+
+        assertThat(Arrays.asList(importacoes.value())).contains(SerializadorUsuario.class);
+    }
+
+    @Test
+    void encoderDoWebFluxNaoEscreveSenhaNemVersao() {
+        contexto.run(context -> {
+            ServerCodecConfigurer configurer = ServerCodecConfigurer.create();
+            context.getBeansOfType(CodecCustomizer.class).values().forEach(c -> c.customize(configurer));
+            Jackson2JsonEncoder encoder = configurer.getWriters().stream()
+                    .filter(EncoderHttpMessageWriter.class::isInstance)
+                    .map(writer -> ((EncoderHttpMessageWriter<?>) writer).getEncoder())
+                    .filter(Jackson2JsonEncoder.class::isInstance)
+                    .map(Jackson2JsonEncoder.class::cast)
+                    .findFirst()
+                    .orElseThrow();
+
+            UsuarioDTO usuario = UsuarioDTO.builder()
+                    .nome("Ana")
+                    .email("ana@x.com")
+                    .senha("{bcrypt}$2a$10$hash")
+                    .versao(5L)
+                    .build();
+            DataBuffer buffer = encoder.encodeValue(usuario, DefaultDataBufferFactory.sharedInstance,
+                    ResolvableType.forClass(UsuarioDTO.class), MediaType.APPLICATION_JSON, Map.of());
+
+            assertThat(buffer.toString(StandardCharsets.UTF_8)).isEqualTo("{\"nome\":\"Ana\",\"email\":\"ana@x.com\"}");
+        });
+    }
+}
@@ -0,0 +1,29 @@
+package com.mateus.usuario.business.converter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mateus.usuario.business.dto.UsuarioDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.JsonTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// ObjectMapper do Spring (o mesmo usado nas respostas dos controllers): o módulo precisa estar registrado
+@JsonTest
+class SerializadorUsuarioContextoTest {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void respostasDoContextoNaoEscrevemSenhaNemVersao() throws Exception {
+        String json = objectMapper.writeValueAsString(UsuarioDTO.builder()
+                .nome("Ana")
+                .email("ana@x.com")
+                .senha("{bcrypt}$2a$10$hash")
+                .versao(5L)
+                .build());
+
+        assertThat(json).isEqualTo("{\"nome\":\"Ana\",\"email\":\"ana@x.com\"}");
+    }
+}
@@ -0,0 +1,94 @@
+package com.mateus.usuario.business.converter;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mateus.usuario.business.dto.EnderecoDTO;
+import com.mateus.usuario.business.dto.TelefoneDTO;
+import com.mateus.usuario.business.dto.UsuarioDTO;
+import com.mateus.usuario.infrastructure.entity.Endereco;
+import com.mateus.usuario.infrastructure.entity.Telefone;
+import com.mateus.usuario.infrastructure.entity.Usuario;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Garantia principal do serializador: a senha (e a versão, que vai só no ETag) nunca aparecem no JSON
+class SerializadorUsuarioTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new SerializadorUsuario());
+
+    @Test
+    void usuarioDTONaoEscreveSenhaNemVersao() throws Exception {
+        JsonNode json = objectMapper.readTree(objectMapper.writeValueAsString(usuarioDTO()));
+
+        assertThat(json.has("senha")).isFalse();
+        assertThat(json.has("versao")).isFalse();
+        assertThat(json.get("nome").asText()).isEqualTo("Ana");
+        assertThat(json.get("email").asText()).isEqualTo("ana@x.com");
+        assertThat(json.get("enderecos").get(0).get("cep").asText()).isEqualTo("01000-000");
+        assertThat(json.get("telefones").get(0).get("ddd").asText()).isEqualTo("11");
+    }
+
+    @Test
+    void usuarioDTODentroDeListaTambemNaoEscreveSenha() throws Exception {
+        String json = objectMapper.writeValueAsString(List.of(usuarioDTO(), usuarioDTO()));
+
+        assertThat(json).doesNotContain("senha").doesNotContain("$2a$").doesNotContain("versao");
+    }
+
+    @Test
+    void camposNulosDoUsuarioSaoOmitidos() throws Exception {
+        JsonNode json = objectMapper.readTree(objectMapper.writeValueAsString(
+                UsuarioDTO.builder().email("ana@x.com").senha("{bcrypt}$2a$10$hash").build()));
+
+        assertThat(json.size()).isEqualTo(1);
+        assertThat(json.get("email").asText()).isEqualTo("ana@x.com");
+    }
+
+    @Test
+    void entidadeDaExportacaoNaoEscreveSenhaNemVersao() throws Exception {
+        Usuario usuario = Usuario.builder()
+                .id(1L)
+                .nome("Ana")
+                .email("ana@x.com")
+                .senha("{bcrypt}$2a$10$hash")
+                .versao(7L)
+                .versaoSeguranca(3L)
+                .build();
+        Endereco endereco = Endereco.builder().id(10L).rua("Rua A").cep("01000-000").usuario_id(1L).versao(2L).build();
+        Telefone telefone = Telefone.builder().id(20L).ddd("11").numero("99999999").usuario_id(1L).build();
+
+        StringWriter saida = new StringWriter();
+        try (JsonGenerator gerador = objectMapper.getFactory().createGenerator(saida)) {
+            SerializadorUsuario.escreverUsuario(gerador, usuario, List.of(endereco), List.of(telefone));
+        }
+        JsonNode json = objectMapper.readTree(saida.toString());
+
+        assertThat(saida.toString()).doesNotContain("senha").doesNotContain("$2a$").doesNotContain("versao");
+        assertThat(json.has("id")).isFalse();
+        assertThat(json.get("enderecos").get(0).get("id").asLong()).isEqualTo(10L);
+        assertThat(json.get("telefones").get(0).get("numero").asText()).isEqualTo("99999999");
+    }
+
+    @Test
+    void senhaContinuaSendoLidaNaEntrada() throws Exception {
+        UsuarioDTO lido = objectMapper.readValue("{\"email\":\"ana@x.com\",\"senha\":\"segredo\"}", UsuarioDTO.class);
+
+        assertThat(lido.getSenha()).isEqualTo("segredo");
+    }
+
+    private static UsuarioDTO usuarioDTO() {
+        return UsuarioDTO.builder()
+                .nome("Ana")
+                .email("ana@x.com")
+                .senha("{bcrypt}$2a$10$hash")
+                .versao(5L)
+                .enderecos(List.of(EnderecoDTO.builder().id(1L).rua("Rua A").cep("01000-000").build()))
+                .telefones(List.of(TelefoneDTO.builder().id(2L).ddd("11").numero("99999999").build()))
+                .build();
+    }
+}
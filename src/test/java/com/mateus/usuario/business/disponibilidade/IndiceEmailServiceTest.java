@@ -0,0 +1,110 @@
+package com.mateus.usuario.business.disponibilidade;
+
+import com.mateus.usuario.infrastructure.repository.UsuarioRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class IndiceEmailServiceTest {
+
+    // Tabela usuario simulada: id -> email (em minúsculas)
+    private final ConcurrentSkipListMap<Long, String> tabela = new ConcurrentSkipListMap<>();
+    private final UsuarioRepository usuarioRepository = mock(UsuarioRepository.class);
+    // Executado a cada lote lido, para simular cadastros concorrentes com a leitura
+    private Runnable aoLerLote = () -> { };
+
+    private IndiceEmailService service;
+
+    @BeforeEach
+    void setUp() {
+        when(usuarioRepository.count()).thenAnswer(invocacao -> (long) tabela.size());
+        when(usuarioRepository.findEmailsAposId(anyLong(), any(Limit.class))).thenAnswer(invocacao -> {
+            aoLerLote.run();
+            long aposId = invocacao.getArgument(0);
+            Limit limite = invocacao.getArgument(1);
+            return tabela.tailMap(aposId, false).entrySet().stream()
+                    .limit(limite.max())
+                    .<UsuarioRepository.EmailPorId>map(linha -> new Linha(linha.getKey(), linha.getValue()))
+                    .toList();
+        });
+        // Lotes de 2 para exercitar a paginação; margem de 100 ids para a varredura incremental
+        service = new IndiceEmailService(usuarioRepository, new SimpleMeterRegistry(), 1_000, 0.01, 2,
+                Duration.ofMinutes(15), 100);
+    }
+
+    @Test
+    void emailNaoCadastradoERespondidoPeloFiltro() {
+        tabela.put(1L, "ana@x.com");
+        tabela.put(2L, "bia@x.com");
+        tabela.put(3L, "caio@x.com");
+        service.reconstruir();
+
+        assertThat(service.podeExistir("Caio@X.com")).isTrue();
+        assertThat(service.podeExistir("livre@x.com")).isFalse();
+    }
+
+    @Test
+    void antesDaMontagemTudoPodeExistir() {
+        assertThat(service.podeExistir("livre@x.com")).isTrue();
+    }
+
+    @Test
+    void cadastroDeOutraInstanciaEntraNaVerificacaoSeguinte() {
+        tabela.put(1L, "ana@x.com");
+        service.reconstruir();
+
+        tabela.put(51L, "outra@x.com");
+        assertThat(service.podeExistir("outra@x.com")).isFalse();
+
+        service.reconstruirSeNecessario();
+        assertThat(service.podeExistir("outra@x.com")).isTrue();
+    }
+
+    @Test
+    void idMenorConfirmadoDepoisDeUmMaiorNaoSePerde() {
+        // Duas instâncias com blocos diferentes da sequência: o bloco mais alto grava primeiro
+        tabela.put(1L, "ana@x.com");
+        service.reconstruir();
+        tabela.put(101L, "bloco-alto@x.com");
+        service.lerRecentes();
+
+        tabela.put(52L, "bloco-baixo@x.com");
+        service.lerRecentes();
+
+        assertThat(service.podeExistir("bloco-alto@x.com")).isTrue();
+        assertThat(service.podeExistir("bloco-baixo@x.com")).isTrue();
+    }
+
+    @Test
+    void cadastroDuranteAReconstrucaoNaoSePerde() {
+        for (long id = 1; id <= 6; id++) {
+            tabela.put(id, "u" + id + "@x.com");
+        }
+        service.reconstruir();
+
+        // Um cadastro local confirmado no meio da leitura, com id já ultrapassado por ela (bloco mais baixo)
+        aoLerLote = () -> {
+            if (!tabela.containsKey(0L) && tabela.size() == 6) {
+                tabela.put(0L, "durante@x.com");
+                service.adicionar("durante@x.com");
+            }
+        };
+        service.reconstruir();
+
+        assertThat(service.podeExistir("durante@x.com")).isTrue();
+    }
+
+    private record Linha(Long getId, String getEmail) implements UsuarioRepository.EmailPorId {
+    }
+}
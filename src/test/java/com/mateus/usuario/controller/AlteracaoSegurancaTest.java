@@ -0,0 +1,99 @@
+package com.mateus.usuario.controller;
+
+import com.mateus.usuario.infrastructure.repository.AlteracaoSegurancaRepository;
+import com.mateus.usuario.infrastructure.security.service.AlteracaoSegurancaService;
+import com.mateus.usuario.infrastructure.security.service.UserDetailsServiceImpl;
+import com.mateus.usuario.infrastructure.security.service.VersaoSegurancaService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Uma segunda instância é simulada com outra tabela em memória (e outro cache de autenticação) sincronizada pelo mesmo banco
+class AlteracaoSegurancaTest extends ApiIntegracaoTest {
+
+    @Autowired
+    private AlteracaoSegurancaRepository alteracaoSegurancaRepository;
+
+    @Test
+    void trocaDeSenhaRecusaTokenAntigoNaOutraInstancia() throws Exception {
+        String email = novoEmail();
+        cadastrar(email);
+        Long id = usuarioRepository.findIdByEmail(email).orElseThrow();
+        String tokenAntigo = bearer(email);
+
+        mockMvc.perform(patch("/usuario")
+                        .header(HttpHeaders.AUTHORIZATION, tokenAntigo)
+                        .contentType("application/merge-patch+json")
+                        .content("{\"senha\":\"outra-senha\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/usuario").param("email", email).header(HttpHeaders.AUTHORIZATION, tokenAntigo))
+                .andExpect(status().isUnauthorized());
+
+        VersaoSegurancaService outraInstancia = sincronizarOutraInstancia();
+        assertThat(outraInstancia.versaoValida(id, 0L)).isFalse();
+        assertThat(outraInstancia.versaoValida(id, 1L)).isTrue();
+    }
+
+    @Test
+    void exclusaoRecusaTodosOsTokensNaOutraInstancia() throws Exception {
+        String email = novoEmail();
+        cadastrar(email);
+        Long id = usuarioRepository.findIdByEmail(email).orElseThrow();
+
+        mockMvc.perform(delete("/usuario/{email}", email).header(HttpHeaders.AUTHORIZATION, bearer(email)))
+                .andExpect(status().isOk());
+
+        assertThat(sincronizarOutraInstancia().versaoValida(id, Long.MAX_VALUE - 1)).isFalse();
+    }
+
+    @Test
+    void alteracaoSemCredenciaisNaoERegistrada() throws Exception {
+        String email = novoEmail();
+        cadastrar(email);
+        Long id = usuarioRepository.findIdByEmail(email).orElseThrow();
+
+        mockMvc.perform(patch("/usuario")
+                        .header(HttpHeaders.AUTHORIZATION, bearer(email))
+                        .contentType("application/merge-patch+json")
+                        .content("{\"nome\":\"Outro Nome\"}"))
+                .andExpect(status().isOk());
+
+        assertThat(sincronizarOutraInstancia().versaoValida(id, 0L)).isTrue();
+    }
+
+    @Test
+    void trocaDeSenhaRemoveUsuarioDoCacheDeAutenticacaoDaOutraInstancia() throws Exception {
+        String email = novoEmail();
+        cadastrar(email);
+        UserDetailsServiceImpl outraInstancia = new UserDetailsServiceImpl(usuarioRepository, new SimpleMeterRegistry(),
+                100, Duration.ofMinutes(5));
+        String senhaAntiga = outraInstancia.loadUserByUsername(email).getPassword();
+
+        mockMvc.perform(patch("/usuario")
+                        .header(HttpHeaders.AUTHORIZATION, bearer(email))
+                        .contentType("application/merge-patch+json")
+                        .content("{\"senha\":\"outra-senha\"}"))
+                .andExpect(status().isOk());
+        new AlteracaoSegurancaService(alteracaoSegurancaRepository, new VersaoSegurancaService(), outraInstancia)
+                .sincronizar();
+
+        assertThat(outraInstancia.loadUserByUsername(email).getPassword()).isNotEqualTo(senhaAntiga);
+    }
+
+    private VersaoSegurancaService sincronizarOutraInstancia() {
+        VersaoSegurancaService versoes = new VersaoSegurancaService();
+        UserDetailsServiceImpl detalhes = new UserDetailsServiceImpl(usuarioRepository, new SimpleMeterRegistry(),
+                100, Duration.ofMinutes(5));
+        new AlteracaoSegurancaService(alteracaoSegurancaRepository, versoes, detalhes).sincronizar();
+        return versoes;
+    }
+}
@@ -0,0 +1,109 @@
+package com.mateus.usuario.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mateus.usuario.infrastructure.entity.Usuario;
+import com.mateus.usuario.infrastructure.repository.UsuarioRepository;
+import com.mateus.usuario.infrastructure.security.model.UsuarioAutenticado;
+import com.mateus.usuario.infrastructure.security.util.JwtUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Base dos testes da API contra o PostgreSQL embutido (migrations reais, filtros de segurança ativos).
+// As classes compartilham o mesmo contexto; cada teste usa emails próprios em vez de limpar o banco
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("embedded")
+abstract class ApiIntegracaoTest {
+
+    protected static final String SENHA = "senha-de-teste";
+    protected static final String OPERADOR = "operador";
+    protected static final String SENHA_OPERADOR = "senha-do-operador";
+
+    // Operador dos endpoints em massa, com a senha em hash como seria configurada em produção
+    @DynamicPropertySource
+    static void operador(DynamicPropertyRegistry registro) {
+        registro.add("seguranca.operador.usuario", () -> OPERADOR);
+        registro.add("seguranca.operador.senha", () -> "{bcrypt}" + new BCryptPasswordEncoder(4).encode(SENHA_OPERADOR));
+    }
+
+    @Autowired
+    protected MockMvc mockMvc;
+
+    @Autowired
+    protected ObjectMapper objectMapper;
+
+    @Autowired
+    protected UsuarioRepository usuarioRepository;
+
+    @Autowired
+    protected JwtUtil jwtUtil;
+
+    protected static String novoEmail() {
+        return "u-" + UUID.randomUUID() + "@teste.com";
+    }
+
+    // Corpo de cadastro com um endereço e um telefone. Os corpos são montados como Map porque o
+    // SerializadorUsuario nunca escreve a senha de um UsuarioDTO
+    protected static Map<String, Object> usuario(String email) {
+        Map<String, Object> usuario = new LinkedHashMap<>();
+        usuario.put("nome", "Teste");
+        usuario.put("email", email);
+        usuario.put("senha", SENHA);
+        usuario.put("enderecos", List.of(endereco("Rua A")));
+        usuario.put("telefones", List.of(telefone("999990000")));
+        return usuario;
+    }
+
+    protected static Map<String, Object> endereco(String rua) {
+        Map<String, Object> endereco = new LinkedHashMap<>();
+        endereco.put("rua", rua);
+        endereco.put("numero", "10");
+        endereco.put("complemento", "Apto 1");
+        endereco.put("cidade", "Recife");
+        endereco.put("estado", "PE");
+        endereco.put("cep", "50000-000");
+        return endereco;
+    }
+
+    protected static Map<String, Object> telefone(String numero) {
+        Map<String, Object> telefone = new LinkedHashMap<>();
+        telefone.put("ddd", "81");
+        telefone.put("numero", numero);
+        return telefone;
+    }
+
+    protected MvcResult cadastrar(String email) throws Exception {
+        return mockMvc.perform(post("/usuario")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json(usuario(email))))
+                .andExpect(status().isOk())
+                .andReturn();
+    }
+
+    // Header Authorization de um usuário já cadastrado, sem passar pelo login (e pelo seu limite de tentativas)
+    protected String bearer(String email) {
+        Usuario usuario = usuarioRepository.findByEmail(email).orElseThrow();
+        return "Bearer " + jwtUtil.generateToken(new UsuarioAutenticado(usuario.getId(), usuario.getEmail(), null,
+                usuario.getVersaoSeguranca() != null ? usuario.getVersaoSeguranca() : 0L));
+    }
+
+    protected String json(Object valor) throws Exception {
+        return objectMapper.writeValueAsString(valor);
+    }
+}
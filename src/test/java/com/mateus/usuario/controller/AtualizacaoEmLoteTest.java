@@ -0,0 +1,138 @@
+package com.mateus.usuario.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class AtualizacaoEmLoteTest extends ApiIntegracaoTest {
+
+    @Test
+    void respostaSegueAOrdemDaRequisicao() throws Exception {
+        String email = novoEmail();
+        cadastrar(email);
+        String token = bearer(email);
+        JsonNode salvos = corpo(mockMvc.perform(post("/usuario/enderecos")
+                        .header(HttpHeaders.AUTHORIZATION, token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json(List.of(endereco("Rua 1"), endereco("Rua 2"), endereco("Rua 3")))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].rua").value(contains("Rua 1", "Rua 2", "Rua 3")))
+                .andReturn());
+        long id1 = salvos.get(0).get("id").asLong();
+        long id2 = salvos.get(1).get("id").asLong();
+        long id3 = salvos.get(2).get("id").asLong();
+
+        mockMvc.perform(put("/usuario/enderecos")
+                        .header(HttpHeaders.AUTHORIZATION, token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json(List.of(comId(endereco("Rua 3b"), id3), comId(endereco("Rua 1b"), id1),
+                                comId(endereco("Rua 2b"), id2)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id").value(contains((int) id3, (int) id1, (int) id2)))
+                .andExpect(jsonPath("$[*].rua").value(contains("Rua 3b", "Rua 1b", "Rua 2b")));
+    }
+
+    @Test
+    void enderecoDeOutroUsuarioRetorna404ENadaEAlterado() throws Exception {
+        String email = novoEmail();
+        String outro = novoEmail();
+        cadastrar(email);
+        cadastrar(outro);
+        String token = bearer(email);
+        long proprio = perfil(email, token).at("/enderecos/0/id").asLong();
+        long alheio = perfil(outro, bearer(outro)).at("/enderecos/0/id").asLong();
+
+        mockMvc.perform(put("/usuario/enderecos")
+                        .header(HttpHeaders.AUTHORIZATION, token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json(List.of(comId(endereco("Alterada"), proprio), comId(endereco("Invadida"), alheio)))))
+                .andExpect(status().isNotFound());
+
+        // Tudo ou nada: nem o item do próprio usuário, processado antes, foi gravado
+        assertRuas(email, token, "Rua A");
+        assertRuas(outro, bearer(outro), "Rua A");
+    }
+
+    @Test
+    void idInexistenteRetorna404ENadaEAlterado() throws Exception {
+        String email = novoEmail();
+        cadastrar(email);
+        String token = bearer(email);
+        long proprio = perfil(email, token).at("/enderecos/0/id").asLong();
+
+        mockMvc.perform(put("/usuario/enderecos")
+                        .header(HttpHeaders.AUTHORIZATION, token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json(List.of(comId(endereco("Alterada"), proprio),
+                                comId(endereco("Fantasma"), Long.MAX_VALUE)))))
+                .andExpect(status().isNotFound());
+
+        assertRuas(email, token, "Rua A");
+    }
+
+    @Test
+    void telefoneDeOutroUsuarioRetorna404() throws Exception {
+        String email = novoEmail();
+        String outro = novoEmail();
+        cadastrar(email);
+        cadastrar(outro);
+        long alheio = perfil(outro, bearer(outro)).at("/telefones/0/id").asLong();
+
+        mockMvc.perform(put("/usuario/telefones")
+                        .header(HttpHeaders.AUTHORIZATION, bearer(email))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json(List.of(comId(telefone("911112222"), alheio)))))
+                .andExpect(status().isNotFound());
+
+        mockMvc.perform(get("/usuario").param("email", outro).header(HttpHeaders.AUTHORIZATION, bearer(outro)))
+                .andExpect(jsonPath("$.telefones[*].numero").value(containsInAnyOrder("999990000")));
+    }
+
+    @Test
+    void idRepetidoRetorna400() throws Exception {
+        String email = novoEmail();
+        cadastrar(email);
+        String token = bearer(email);
+        long proprio = perfil(email, token).at("/enderecos/0/id").asLong();
+
+        mockMvc.perform(put("/usuario/enderecos")
+                        .header(HttpHeaders.AUTHORIZATION, token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json(List.of(comId(endereco("Uma"), proprio), comId(endereco("Outra"), proprio)))))
+                .andExpect(status().isBadRequest());
+    }
+
+    private static Map<String, Object> comId(Map<String, Object> item, long id) {
+        item.put("id", id);
+        return item;
+    }
+
+    private void assertRuas(String email, String token, String... ruas) throws Exception {
+        mockMvc.perform(get("/usuario").param("email", email).header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.enderecos[*].rua").value(containsInAnyOrder((Object[]) ruas)));
+    }
+
+    private JsonNode perfil(String email, String token) throws Exception {
+        return corpo(mockMvc.perform(get("/usuario").param("email", email).header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isOk())
+                .andReturn());
+    }
+
+    private JsonNode corpo(MvcResult resultado) throws Exception {
+        return objectMapper.readTree(resultado.getResponse().getContentAsString());
+    }
+}
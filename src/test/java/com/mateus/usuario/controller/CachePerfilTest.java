@@ -0,0 +1,78 @@
+package com.mateus.usuario.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// O perfil servido pelo cache de segundo nível acompanha as escritas desta e de outras instâncias
+class CachePerfilTest extends ApiIntegracaoTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void enderecoCadastradoApareceNaLeituraSeguinte() throws Exception {
+        String email = novoEmail();
+        cadastrar(email);
+        String token = bearer(email);
+        aquecerCache(email, token);
+        String etagAnterior = lerPerfil(email, token).getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(post("/usuario/endereco")
+                        .header(HttpHeaders.AUTHORIZATION, token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json(endereco("Rua B"))))
+                .andExpect(status().isOk());
+
+        MvcResult depois = mockMvc.perform(get("/usuario").param("email", email).header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.enderecos[*].rua").value(containsInAnyOrder("Rua A", "Rua B")))
+                .andReturn();
+        assertThat(depois.getResponse().getHeader(HttpHeaders.ETAG)).isNotEqualTo(etagAnterior);
+    }
+
+    @Test
+    void escritaDeOutraInstanciaApareceNaLeituraSeguinte() throws Exception {
+        String email = novoEmail();
+        cadastrar(email);
+        String token = bearer(email);
+        aquecerCache(email, token);
+        Long id = usuarioRepository.findIdByEmail(email).orElseThrow();
+
+        // Outra instância altera o endereço (e, como toda escrita em filhos, a versão do usuário) sem passar
+        // pelo cache local desta
+        jdbcTemplate.update("update endereco set rua = 'Rua Nova' where usuario_id = ?", id);
+        jdbcTemplate.update("update usuario set versao = versao + 1 where id = ?", id);
+
+        mockMvc.perform(get("/usuario").param("email", email).header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.enderecos[*].rua").value(containsInAnyOrder("Rua Nova")));
+    }
+
+    // A atualização carrega a entidade e as coleções, que passam a ser servidas pelo cache
+    private void aquecerCache(String email, String token) throws Exception {
+        mockMvc.perform(patch("/usuario")
+                        .header(HttpHeaders.AUTHORIZATION, token)
+                        .contentType("application/merge-patch+json")
+                        .content("{\"nome\":\"Com Cache\"}"))
+                .andExpect(status().isOk());
+        lerPerfil(email, token);
+    }
+
+    private MvcResult lerPerfil(String email, String token) throws Exception {
+        return mockMvc.perform(get("/usuario").param("email", email).header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isOk())
+                .andReturn();
+    }
+}
@@ -0,0 +1,92 @@
+package com.mateus.usuario.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class CadastroUsuarioTest extends ApiIntegracaoTest {
+
+    @Test
+    void emailRepetidoRetornaConflito() throws Exception {
+        String email = novoEmail();
+        cadastrar(email);
+
+        mockMvc.perform(post("/usuario")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json(usuario(email.toUpperCase()))))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void cadastrosSimultaneosDoMesmoEmailCriamUmSoUsuario() throws Exception {
+        String email = novoEmail();
+        String corpo = json(usuario(email));
+        CountDownLatch largada = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<Integer>> respostas = List.of(
+                    executor.submit(() -> cadastrarApos(largada, corpo)),
+                    executor.submit(() -> cadastrarApos(largada, corpo)));
+            largada.countDown();
+
+            assertThat(List.of(respostas.get(0).get(30, TimeUnit.SECONDS), respostas.get(1).get(30, TimeUnit.SECONDS)))
+                    .containsExactlyInAnyOrder(200, 409);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(usuarioRepository.findByEmail(email)).isPresent();
+    }
+
+    @Test
+    void campoDoUsuarioAcimaDoTamanhoRetornaBadRequest() throws Exception {
+        String email = novoEmail();
+        Map<String, Object> usuario = usuario(email);
+        usuario.put("nome", "n".repeat(101));
+
+        mockMvc.perform(post("/usuario")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json(usuario)))
+                .andExpect(status().isBadRequest());
+
+        assertThat(usuarioRepository.existsByEmail(email)).isFalse();
+    }
+
+    @Test
+    void campoDoEnderecoAcimaDoTamanhoDesfazOCadastro() throws Exception {
+        String email = novoEmail();
+        Map<String, Object> endereco = endereco("Rua A");
+        endereco.put("complemento", "c".repeat(11));
+        Map<String, Object> usuario = usuario(email);
+        usuario.put("enderecos", List.of(endereco));
+
+        mockMvc.perform(post("/usuario")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json(usuario)))
+                .andExpect(status().isBadRequest());
+
+        // O usuário foi inserido na mesma transação dos filhos e não pode sobrar sem eles
+        assertThat(usuarioRepository.existsByEmail(email)).isFalse();
+        cadastrar(email);
+    }
+
+    private int cadastrarApos(CountDownLatch largada, String corpo) throws Exception {
+        largada.await();
+        return mockMvc.perform(post("/usuario")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(corpo))
+                .andReturn()
+                .getResponse()
+                .getStatus();
+    }
+}
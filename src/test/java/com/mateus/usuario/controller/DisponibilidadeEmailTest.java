@@ -0,0 +1,62 @@
+package com.mateus.usuario.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.hamcrest.Matchers.notNullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class DisponibilidadeEmailTest extends ApiIntegracaoTest {
+
+    @Value("${seguranca.disponibilidade.ip.capacidade}")
+    private int capacidade;
+
+    @Test
+    void emailCadastradoNaoEstaDisponivel() throws Exception {
+        String email = novoEmail();
+        cadastrar(email);
+        String ip = novoIp();
+
+        consultar(email, ip)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.disponivel").value(false));
+        consultar(novoEmail(), ip)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.disponivel").value(true));
+    }
+
+    @Test
+    void excessoDeConsultasDoMesmoIpRetorna429() throws Exception {
+        String ip = novoIp();
+        for (int i = 0; i < capacidade; i++) {
+            consultar(novoEmail(), ip).andExpect(status().isOk());
+        }
+
+        consultar(novoEmail(), ip)
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, notNullValue()));
+        // Outros clientes seguem consultando
+        consultar(novoEmail(), novoIp()).andExpect(status().isOk());
+    }
+
+    private ResultActions consultar(String email, String ip) throws Exception {
+        return mockMvc.perform(get("/usuario/disponivel").param("email", email)
+                .with(requisicao -> {
+                    requisicao.setRemoteAddr(ip);
+                    return requisicao;
+                }));
+    }
+
+    // IP próprio de cada teste, para não dividir o bucket com outras classes no mesmo contexto
+    private static String novoIp() {
+        ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+        return "10." + aleatorio.nextInt(256) + "." + aleatorio.nextInt(256) + "." + aleatorio.nextInt(1, 255);
+    }
+}
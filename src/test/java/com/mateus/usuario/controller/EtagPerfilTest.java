@@ -0,0 +1,113 @@
+package com.mateus.usuario.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class EtagPerfilTest extends ApiIntegracaoTest {
+
+    private static final String MERGE_PATCH_JSON = "application/merge-patch+json";
+
+    @Test
+    void perfilNaoAlteradoRetorna304() throws Exception {
+        String email = novoEmail();
+        cadastrar(email);
+        String token = bearer(email);
+        String etag = lerPerfil(email, token).getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/usuario").param("email", email)
+                        .header(HttpHeaders.AUTHORIZATION, token)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+    }
+
+    @Test
+    void perfilComNovoEnderecoRetorna200() throws Exception {
+        String email = novoEmail();
+        cadastrar(email);
+        String token = bearer(email);
+        String etag = lerPerfil(email, token).getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(post("/usuario/endereco")
+                        .header(HttpHeaders.AUTHORIZATION, token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json(endereco("Rua B"))))
+                .andExpect(status().isOk());
+
+        revalidar(email, token, etag);
+    }
+
+    @Test
+    void perfilComTelefoneAlteradoRetorna200() throws Exception {
+        String email = novoEmail();
+        cadastrar(email);
+        String token = bearer(email);
+        MvcResult leitura = lerPerfil(email, token);
+        String etag = leitura.getResponse().getHeader(HttpHeaders.ETAG);
+        long idTelefone = corpo(leitura).at("/telefones/0/id").asLong();
+
+        mockMvc.perform(patch("/usuario/telefone").param("id", String.valueOf(idTelefone))
+                        .header(HttpHeaders.AUTHORIZATION, token)
+                        .contentType(MERGE_PATCH_JSON)
+                        .content("{\"numero\":\"988887777\"}"))
+                .andExpect(status().isOk());
+
+        revalidar(email, token, etag);
+    }
+
+    @Test
+    void ifMatchDesatualizadoRetorna412() throws Exception {
+        String email = novoEmail();
+        cadastrar(email);
+        String token = bearer(email);
+        long idEndereco = corpo(lerPerfil(email, token)).at("/enderecos/0/id").asLong();
+
+        String etag = alterarEndereco(token, idEndereco, "Rua B", null)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        alterarEndereco(token, idEndereco, "Rua C", etag)
+                .andExpect(status().isOk());
+
+        alterarEndereco(token, idEndereco, "Rua D", etag)
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    private ResultActions alterarEndereco(String token, long id, String rua, String ifMatch) throws Exception {
+        MockHttpServletRequestBuilder requisicao = patch("/usuario/endereco").param("id", String.valueOf(id))
+                .header(HttpHeaders.AUTHORIZATION, token)
+                .contentType(MERGE_PATCH_JSON)
+                .content("{\"rua\":\"" + rua + "\"}");
+        if (ifMatch != null) {
+            requisicao.header(HttpHeaders.IF_MATCH, ifMatch);
+        }
+        return mockMvc.perform(requisicao);
+    }
+
+    private void revalidar(String email, String token, String etagAnterior) throws Exception {
+        mockMvc.perform(get("/usuario").param("email", email)
+                        .header(HttpHeaders.AUTHORIZATION, token)
+                        .header(HttpHeaders.IF_NONE_MATCH, etagAnterior))
+                .andExpect(status().isOk());
+    }
+
+    private MvcResult lerPerfil(String email, String token) throws Exception {
+        return mockMvc.perform(get("/usuario").param("email", email).header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isOk())
+                .andReturn();
+    }
+
+    private JsonNode corpo(MvcResult resultado) throws Exception {
+        return objectMapper.readTree(resultado.getResponse().getContentAsString());
+    }
+}
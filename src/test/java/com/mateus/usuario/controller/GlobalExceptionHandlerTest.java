@@ -0,0 +1,42 @@
+package com.mateus.usuario.controller;
+
+import com.mateus.usuario.infrastructure.exception.TooManyRequestsException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GlobalExceptionHandlerTest {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+
+    @Test
+    void tooManyRequestsInformaRetryAfterArredondadoParaCima() {
+        ResponseEntity<String> resposta = handler.handleTooManyRequestsException(
+                new TooManyRequestsException("Muitas tentativas", Duration.ofMillis(11_200)));
+
+        assertThat(resposta.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(resposta.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("12");
+        assertThat(resposta.getBody()).isEqualTo("Muitas tentativas");
+    }
+
+    @Test
+    void retryAfterNuncaEZero() {
+        ResponseEntity<String> resposta = handler.handleTooManyRequestsException(
+                new TooManyRequestsException("Muitas tentativas", Duration.ofNanos(1)));
+
+        assertThat(resposta.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+    }
+
+    @Test
+    void semEsperaSugeridaNaoEnviaRetryAfter() {
+        ResponseEntity<String> resposta = handler.handleTooManyRequestsException(
+                new TooManyRequestsException("Muitas tentativas"));
+
+        assertThat(resposta.getHeaders().containsKey(HttpHeaders.RETRY_AFTER)).isFalse();
+    }
+}
@@ -0,0 +1,132 @@
+package com.mateus.usuario.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// JSON Merge Patch (RFC 7396): chave com null remove o valor, chave ausente mantém o atual
+class MergePatchTest extends ApiIntegracaoTest {
+
+    private static final String MERGE_PATCH_JSON = "application/merge-patch+json";
+
+    @Test
+    void nomeNuloRemoveEEmailAusenteSeMantem() throws Exception {
+        String email = novoEmail();
+        cadastrar(email);
+        String token = bearer(email);
+
+        aplicar(patch("/usuario"), token, "{\"nome\":null}", null)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nome").doesNotExist())
+                .andExpect(jsonPath("$.email").value(email));
+
+        aplicar(patch("/usuario"), token, "{\"nome\":\"Novo Nome\"}", null)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nome").value("Novo Nome"))
+                .andExpect(jsonPath("$.email").value(email));
+    }
+
+    @Test
+    void complementoNuloRemoveEDemaisCamposSeMantem() throws Exception {
+        String email = novoEmail();
+        cadastrar(email);
+        String token = bearer(email);
+        long id = perfil(email, token).at("/enderecos/0/id").asLong();
+
+        aplicar(patch("/usuario/endereco").param("id", String.valueOf(id)), token,
+                "{\"complemento\":null,\"numero\":\"20\"}", null)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.complemento").doesNotExist())
+                .andExpect(jsonPath("$.numero").value("20"))
+                .andExpect(jsonPath("$.rua").value("Rua A"))
+                .andExpect(jsonPath("$.cidade").value("Recife"))
+                .andExpect(jsonPath("$.cep").value("50000-000"));
+    }
+
+    @Test
+    void telefoneAlteraSoOCampoInformado() throws Exception {
+        String email = novoEmail();
+        cadastrar(email);
+        String token = bearer(email);
+        long id = perfil(email, token).at("/telefones/0/id").asLong();
+
+        aplicar(patch("/usuario/telefone").param("id", String.valueOf(id)), token, "{\"ddd\":\"11\"}", null)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ddd").value("11"))
+                .andExpect(jsonPath("$.numero").value("999990000"));
+    }
+
+    @Test
+    void ifMatchDesatualizadoRetorna412SemAlterar() throws Exception {
+        String email = novoEmail();
+        cadastrar(email);
+        String token = bearer(email);
+
+        String etag = aplicar(patch("/usuario"), token, "{\"nome\":\"Primeiro\"}", null)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        aplicar(patch("/usuario"), token, "{\"nome\":\"Segundo\"}", etag)
+                .andExpect(status().isOk());
+
+        aplicar(patch("/usuario"), token, "{\"nome\":\"Terceiro\"}", etag)
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(get("/usuario").param("email", email).header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(jsonPath("$.nome").value("Segundo"));
+    }
+
+    @Test
+    void emailDeOutroUsuarioRetorna409() throws Exception {
+        String email = novoEmail();
+        String outro = novoEmail();
+        cadastrar(email);
+        cadastrar(outro);
+
+        aplicar(patch("/usuario"), bearer(email), "{\"email\":\"" + outro.toUpperCase() + "\"}", null)
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void nomeAcimaDoTamanhoRetorna400() throws Exception {
+        String email = novoEmail();
+        cadastrar(email);
+
+        aplicar(patch("/usuario"), bearer(email), "{\"nome\":\"" + "n".repeat(101) + "\"}", null)
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void patchQueNaoEObjetoRetorna400() throws Exception {
+        String email = novoEmail();
+        cadastrar(email);
+
+        aplicar(patch("/usuario"), bearer(email), "[]", null)
+                .andExpect(status().isBadRequest());
+    }
+
+    private ResultActions aplicar(MockHttpServletRequestBuilder requisicao, String token, String patch,
+                                  String ifMatch) throws Exception {
+        requisicao.header(HttpHeaders.AUTHORIZATION, token)
+                .contentType(MERGE_PATCH_JSON)
+                .content(patch);
+        if (ifMatch != null) {
+            requisicao.header(HttpHeaders.IF_MATCH, ifMatch);
+        }
+        return mockMvc.perform(requisicao);
+    }
+
+    private JsonNode perfil(String email, String token) throws Exception {
+        MvcResult resultado = mockMvc.perform(get("/usuario").param("email", email)
+                        .header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readTree(resultado.getResponse().getContentAsString());
+    }
+}
@@ -0,0 +1,80 @@
+package com.mateus.usuario.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class OperacoesEmMassaTest extends ApiIntegracaoTest {
+
+    @Test
+    void exportacaoRecusaTokenDeUsuarioFinal() throws Exception {
+        String email = novoEmail();
+        cadastrar(email);
+
+        mockMvc.perform(get("/usuario/export").header(HttpHeaders.AUTHORIZATION, bearer(email)))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void exportacaoRecusaSenhaDeOperadorErrada() throws Exception {
+        mockMvc.perform(get("/usuario/export").with(httpBasic(OPERADOR, "errada")))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void exportacaoAceitaOperador() throws Exception {
+        String email = novoEmail();
+        cadastrar(email);
+
+        MvcResult inicio = mockMvc.perform(get("/usuario/export").with(httpBasic(OPERADOR, SENHA_OPERADOR)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String corpo = mockMvc.perform(asyncDispatch(inicio))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertThat(corpo).contains(email).doesNotContain(SENHA);
+    }
+
+    @Test
+    void importacaoRecusaTokenDeUsuarioFinal() throws Exception {
+        String email = novoEmail();
+        cadastrar(email);
+        String importado = novoEmail();
+
+        mockMvc.perform(post("/usuario/importacao")
+                        .header(HttpHeaders.AUTHORIZATION, bearer(email))
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(json(usuario(importado)) + "\n"))
+                .andExpect(status().isUnauthorized());
+
+        assertThat(usuarioRepository.existsByEmail(importado)).isFalse();
+    }
+
+    @Test
+    void importacaoAceitaOperador() throws Exception {
+        String importado = novoEmail();
+
+        MvcResult inicio = mockMvc.perform(post("/usuario/importacao")
+                        .with(httpBasic(OPERADOR, SENHA_OPERADOR))
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(json(usuario(importado)) + "\n"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(inicio))
+                .andExpect(status().isOk());
+
+        assertThat(usuarioRepository.existsByEmail(importado)).isTrue();
+    }
+}
@@ -0,0 +1,48 @@
+package com.mateus.usuario.infrastructure.config;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Sobe a aplicação no PostgreSQL embutido: o Flyway aplica todas as migrations e o Hibernate valida
+// as entidades contra o esquema resultante (ddl-auto=validate). Se alguma entidade divergir das
+// migrations, o contexto não sobe e o teste falha.
+@SpringBootTest
+@ActiveProfiles("embedded")
+class EsquemaBancoTest {
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void todasAsMigrationsSaoAplicadas() {
+        MigrationInfo[] aplicadas = flyway.info().applied();
+        assertThat(flyway.info().pending()).isEmpty();
+        assertThat(Arrays.stream(aplicadas).map(MigrationInfo::getScript))
+                .contains("V1__esquema_inicial.sql");
+    }
+
+    @Test
+    void indicesDaMigrationInicialExistem() {
+        assertThat(definicaoIndice("ux_usuario_email_lower")).contains("UNIQUE").contains("lower");
+        assertThat(definicaoIndice("idx_endereco_cep")).contains("varchar_pattern_ops");
+        assertThat(definicaoIndice("idx_endereco_estado_cidade")).contains("(estado, cidade)");
+        assertThat(definicaoIndice("idx_endereco_usuario_id")).isNotNull();
+        assertThat(definicaoIndice("idx_telefone_usuario_id")).isNotNull();
+    }
+
+    private String definicaoIndice(String nome) {
+        return jdbcTemplate.queryForObject("select indexdef from pg_indexes where indexname = ?", String.class, nome);
+    }
+}
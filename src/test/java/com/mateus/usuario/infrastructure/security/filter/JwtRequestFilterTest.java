@@ -0,0 +1,104 @@
+package com.mateus.usuario.infrastructure.security.filter;
+
+import com.mateus.usuario.infrastructure.security.model.UsuarioAutenticado;
+import com.mateus.usuario.infrastructure.security.service.VersaoSegurancaService;
+import com.mateus.usuario.infrastructure.security.util.ChaveJwt;
+import com.mateus.usuario.infrastructure.security.util.ChaveiroJwt;
+import com.mateus.usuario.infrastructure.security.util.JwtUtil;
+import com.mateus.usuario.infrastructure.security.util.ListaRevogacao;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtRequestFilterTest {
+
+    private final UsuarioAutenticado usuario = new UsuarioAutenticado(42L, "ana@x.com", "{bcrypt}hash", 0L);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ChaveiroJwt chaveiro;
+    private JwtUtil jwtUtil;
+    private JwtRequestFilter filtro;
+
+    @BeforeEach
+    void setUp() {
+        chaveiro = new ChaveiroJwt("ES256", Duration.ofDays(1), Duration.ofMinutes(15));
+        chaveiro.usar(chaveiro.gerar(Instant.now()), Instant.now());
+        jwtUtil = new JwtUtil(1_000, meterRegistry, chaveiro);
+        // Modo "banco" com UserDetailsService em memória: o teste não depende do iat do token
+        filtro = new JwtRequestFilter(jwtUtil, email -> usuario, new VersaoSegurancaService(),
+                new ListaRevogacao(1_000, 0.01, meterRegistry), false);
+    }
+
+    @AfterEach
+    void limparContexto() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void tokenValidoAutentica() throws Exception {
+        MockFilterChain chain = filtrar(jwtUtil.generateToken(usuario));
+
+        assertThat(chain.getRequest()).isNotNull();
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNotNull();
+    }
+
+    @Test
+    void tokenExpiradoSegueSemAutenticacao() throws Exception {
+        ChaveJwt chave = chaveiro.ativa();
+        Instant emitido = Instant.now().minus(Duration.ofHours(1));
+        String expirado = Jwts.builder()
+                .header().keyId(chave.kid()).and()
+                .subject(usuario.getEmail())
+                .issuedAt(Date.from(emitido))
+                .expiration(Date.from(emitido.plus(JwtUtil.VALIDADE_TOKEN)))
+                .signWith(chave.privada(), chave.algoritmo())
+                .compact();
+
+        MockFilterChain chain = filtrar(expirado);
+
+        assertThat(chain.getRequest()).isNotNull();
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        assertThat(meterRegistry.counter("jwt.rejeitados").count()).isEqualTo(1);
+    }
+
+    @Test
+    void chaveDesconhecidaSegueSemAutenticacao() throws Exception {
+        ChaveiroJwt outroChaveiro = new ChaveiroJwt("ES256", Duration.ofDays(1), Duration.ofMinutes(15));
+        outroChaveiro.usar(outroChaveiro.gerar(Instant.now()), Instant.now());
+        String token = new JwtUtil(1_000, new SimpleMeterRegistry(), outroChaveiro).generateToken(usuario);
+
+        MockFilterChain chain = filtrar(token);
+
+        assertThat(chain.getRequest()).isNotNull();
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        assertThat(meterRegistry.counter("jwt.rejeitados").count()).isEqualTo(1);
+    }
+
+    @Test
+    void tokenMalformadoSegueSemAutenticacao() throws Exception {
+        MockFilterChain chain = filtrar("nao.e.um.jwt");
+
+        assertThat(chain.getRequest()).isNotNull();
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    private MockFilterChain filtrar(String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/usuario");
+        request.addHeader("Authorization", "Bearer " + token);
+        MockFilterChain chain = new MockFilterChain();
+        filtro.doFilter(request, new MockHttpServletResponse(), chain);
+        return chain;
+    }
+}
@@ -0,0 +1,182 @@
+package com.mateus.usuario.infrastructure.security.service;
+
+import com.mateus.usuario.infrastructure.entity.RefreshToken;
+import com.mateus.usuario.infrastructure.entity.Usuario;
+import com.mateus.usuario.infrastructure.exception.UnauthorizedException;
+import com.mateus.usuario.infrastructure.repository.RefreshTokenRepository;
+import com.mateus.usuario.infrastructure.repository.UsuarioRepository;
+import com.mateus.usuario.infrastructure.security.model.TokensSessao;
+import com.mateus.usuario.infrastructure.security.model.UsuarioAutenticado;
+import com.mateus.usuario.infrastructure.security.util.JwtUtil;
+import com.mateus.usuario.infrastructure.security.util.TokenRenovacao;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RenovacaoTokenServiceTest {
+
+    private static final String TOKEN = "token-atual";
+    private static final UUID FAMILIA = UUID.randomUUID();
+    private static final long USUARIO_ID = 7L;
+
+    private final RefreshTokenRepository refreshTokenRepository = mock(RefreshTokenRepository.class);
+    private final UsuarioRepository usuarioRepository = mock(UsuarioRepository.class);
+    private final JwtUtil jwtUtil = mock(JwtUtil.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private RenovacaoTokenService service;
+
+    @BeforeEach
+    void setUp() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(jwtUtil.generateToken(any(UsuarioAutenticado.class))).thenReturn("access-token");
+        service = new RenovacaoTokenService(refreshTokenRepository, usuarioRepository, jwtUtil,
+                new TransactionTemplate(transactionManager), meterRegistry, Duration.ofDays(30));
+    }
+
+    @Test
+    void renovaNaMesmaFamilia() {
+        gravado(ativo());
+        usuario(0L);
+        when(refreshTokenRepository.marcarSubstituido(eq(TokenRenovacao.hash(TOKEN)), any())).thenReturn(1);
+
+        TokensSessao tokens = service.renovar(TOKEN);
+
+        assertThat(tokens.acesso()).isEqualTo("access-token");
+        assertThat(tokens.renovacao()).isNotBlank().isNotEqualTo(TOKEN);
+        verify(refreshTokenRepository).inserir(eq(TokenRenovacao.hash(tokens.renovacao())), eq(FAMILIA),
+                eq(USUARIO_ID), eq(0L), any());
+        verify(refreshTokenRepository, never()).removerFamilia(any());
+        verify(transactionManager).commit(any());
+        assertThat(contador("jwt.renovacoes")).isEqualTo(1);
+    }
+
+    @Test
+    void duasRenovacoesSimultaneasRevogamAFamilia() {
+        // As duas requisições leram o token ainda ativo; só a primeira consegue marcá-lo como substituído
+        gravado(ativo());
+        usuario(0L);
+        when(refreshTokenRepository.marcarSubstituido(anyString(), any())).thenReturn(1, 0);
+
+        service.renovar(TOKEN);
+        assertThatThrownBy(() -> service.renovar(TOKEN))
+                .isInstanceOf(UnauthorizedException.class)
+                .hasMessage("Refresh token inválido.");
+
+        verify(refreshTokenRepository).removerFamilia(FAMILIA);
+        assertThat(contador("jwt.refresh.reutilizados")).isEqualTo(1);
+    }
+
+    @Test
+    void tokenJaTrocadoReapresentadoRevogaAFamilia() {
+        RefreshToken trocado = ativo();
+        trocado.setSubstituidoEm(Instant.now().minusSeconds(60));
+        gravado(trocado);
+        when(refreshTokenRepository.marcarSubstituido(anyString(), any())).thenReturn(0);
+
+        assertThatThrownBy(() -> service.renovar(TOKEN)).isInstanceOf(UnauthorizedException.class);
+
+        verify(refreshTokenRepository).removerFamilia(FAMILIA);
+        verify(refreshTokenRepository, never()).inserir(anyString(), any(), anyLong(), anyLong(), any());
+        // A revogação é confirmada antes da exceção, fora da transação
+        verify(transactionManager).commit(any());
+        assertThat(contador("jwt.refresh.reutilizados")).isEqualTo(1);
+    }
+
+    @Test
+    void tokenExpiradoSemUsoNaoRevogaAFamilia() {
+        RefreshToken expirado = ativo();
+        expirado.setExpiraEm(Instant.now().minusSeconds(1));
+        gravado(expirado);
+        when(refreshTokenRepository.marcarSubstituido(anyString(), any())).thenReturn(0);
+
+        assertThatThrownBy(() -> service.renovar(TOKEN)).isInstanceOf(UnauthorizedException.class);
+
+        verify(refreshTokenRepository, never()).removerFamilia(any());
+        assertThat(contador("jwt.refresh.reutilizados")).isZero();
+    }
+
+    @Test
+    void versaoDeSegurancaAlteradaEncerraASessao() {
+        gravado(ativo());
+        usuario(1L);
+        when(refreshTokenRepository.marcarSubstituido(anyString(), any())).thenReturn(1);
+
+        assertThatThrownBy(() -> service.renovar(TOKEN))
+                .isInstanceOf(UnauthorizedException.class)
+                .hasMessage("Sessão encerrada, faça login novamente.");
+
+        verify(refreshTokenRepository).removerFamilia(FAMILIA);
+        verify(refreshTokenRepository, never()).inserir(anyString(), any(), anyLong(), anyLong(), any());
+        verify(jwtUtil, never()).generateToken(any(UsuarioAutenticado.class));
+    }
+
+    @Test
+    void tokenDesconhecidoERecusado() {
+        when(refreshTokenRepository.findById(anyString())).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> service.renovar(TOKEN)).isInstanceOf(UnauthorizedException.class);
+
+        verify(refreshTokenRepository, never()).marcarSubstituido(anyString(), any());
+    }
+
+    @Test
+    void falhaAoGravarONovoTokenDesfazAMarcacao() {
+        gravado(ativo());
+        usuario(0L);
+        when(refreshTokenRepository.marcarSubstituido(anyString(), any())).thenReturn(1);
+        when(refreshTokenRepository.inserir(anyString(), any(), anyLong(), anyLong(), any()))
+                .thenThrow(new DataAccessResourceFailureException("conexão perdida"));
+
+        assertThatThrownBy(() -> service.renovar(TOKEN)).isInstanceOf(DataAccessResourceFailureException.class);
+
+        // marcarSubstituido e inserir estão na mesma transação: o token atual continua válido
+        verify(transactionManager).rollback(any());
+        verify(transactionManager, never()).commit(any());
+        assertThat(contador("jwt.renovacoes")).isZero();
+    }
+
+    private RefreshToken ativo() {
+        return RefreshToken.builder()
+                .hash(TokenRenovacao.hash(TOKEN))
+                .familia(FAMILIA)
+                .usuarioId(USUARIO_ID)
+                .versaoSeguranca(0L)
+                .expiraEm(Instant.now().plus(Duration.ofDays(1)))
+                .build();
+    }
+
+    private void gravado(RefreshToken token) {
+        when(refreshTokenRepository.findById(TokenRenovacao.hash(TOKEN))).thenReturn(Optional.of(token));
+    }
+
+    private void usuario(long versaoSeguranca) {
+        Usuario usuario = Usuario.builder().id(USUARIO_ID).email("ana@x.com").versaoSeguranca(versaoSeguranca).build();
+        when(usuarioRepository.findById(USUARIO_ID)).thenReturn(Optional.of(usuario));
+    }
+
+    private double contador(String nome) {
+        return meterRegistry.counter(nome).count();
+    }
+}
@@ -0,0 +1,144 @@
+package com.mateus.usuario.infrastructure.security.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TentativasLoginServiceTest {
+
+    private static final String IP = "10.0.0.1";
+
+    // Relógio manual, em nanossegundos
+    private final AtomicLong agora = new AtomicLong(1_000_000_000L);
+
+    @Test
+    void permiteRajadaAteACapacidadeENegaAProxima() {
+        TentativasLoginService service = servico(3, 3, 100, 100, 10_000);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(service.consumirTentativa("a@x.com", IP)).isZero();
+        }
+        assertThat(service.consumirTentativa("a@x.com", IP)).isPositive();
+    }
+
+    @Test
+    void reabasteceProporcionalmenteAoTempo() {
+        // 6 por minuto: uma tentativa a cada 10 segundos
+        TentativasLoginService service = servico(1, 6, 100, 100, 10_000);
+        assertThat(service.consumirTentativa("a@x.com", IP)).isZero();
+
+        assertThat(service.consumirTentativa("a@x.com", IP))
+                .isBetween(Duration.ofMillis(9_999), Duration.ofMillis(10_001));
+
+        avancar(Duration.ofSeconds(5));
+        assertThat(service.consumirTentativa("a@x.com", IP))
+                .isBetween(Duration.ofMillis(4_999), Duration.ofMillis(5_001));
+
+        avancar(Duration.ofMillis(5_010));
+        assertThat(service.consumirTentativa("a@x.com", IP)).isZero();
+    }
+
+    @Test
+    void reabastecimentoNaoPassaDaCapacidade() {
+        TentativasLoginService service = servico(2, 60, 100, 100, 10_000);
+        avancar(Duration.ofHours(1));
+
+        assertThat(service.consumirTentativa("a@x.com", IP)).isZero();
+        assertThat(service.consumirTentativa("a@x.com", IP)).isZero();
+        assertThat(service.consumirTentativa("a@x.com", IP)).isPositive();
+    }
+
+    @Test
+    void emailIgnoraMaiusculasEEspacos() {
+        TentativasLoginService service = servico(1, 1, 100, 100, 10_000);
+
+        assertThat(service.consumirTentativa("Ana@X.com", IP)).isZero();
+        assertThat(service.consumirTentativa("  ana@x.COM ", IP)).isPositive();
+    }
+
+    @Test
+    void limitePorIpValeParaEmailsDiferentes() {
+        TentativasLoginService service = servico(100, 100, 2, 2, 10_000);
+
+        assertThat(service.consumirTentativa("a@x.com", IP)).isZero();
+        assertThat(service.consumirTentativa("b@x.com", IP)).isZero();
+        assertThat(service.consumirTentativa("c@x.com", IP)).isPositive();
+        assertThat(service.consumirTentativa("c@x.com", "10.0.0.2")).isZero();
+    }
+
+    @Test
+    void faixaCheiaDescartaOBucketUsadoHaMaisTempo() {
+        // 64 chaves no total: um bucket por faixa
+        TentativasLoginService service = servico(1, 1, 100, 100, 64);
+        List<String> chaves = chavesNaMesmaFaixa(2);
+        String primeiro = chaves.get(0);
+        String mesmaFaixa = chaves.get(1);
+
+        assertThat(service.consumirTentativa(primeiro, IP)).isZero();
+        assertThat(service.consumirTentativa(primeiro, IP)).isPositive();
+
+        // O novo email ocupa a única vaga da faixa e descarta o bucket esgotado do primeiro
+        assertThat(service.consumirTentativa(mesmaFaixa, IP)).isZero();
+        assertThat(service.consumirTentativa(primeiro, IP)).isZero();
+    }
+
+    @Test
+    void faixaRemoveSoAChaveOciosaHaMaisTempo() {
+        // Duas vagas por faixa
+        TentativasLoginService service = servico(1, 1, 100, 100, 128);
+        List<String> chaves = chavesNaMesmaFaixa(3);
+        String a = chaves.get(0);
+        String b = chaves.get(1);
+        String c = chaves.get(2);
+
+        assertThat(service.consumirTentativa(a, IP)).isZero();
+        assertThat(service.consumirTentativa(b, IP)).isZero();
+        // Acessar "a" de novo o torna o mais recente; "c" deve descartar "b"
+        assertThat(service.consumirTentativa(a, IP)).isPositive();
+        assertThat(service.consumirTentativa(c, IP)).isZero();
+
+        assertThat(service.consumirTentativa(a, IP)).isPositive();
+        assertThat(service.consumirTentativa(b, IP)).isZero();
+    }
+
+    @Test
+    void consultasDeDisponibilidadeTemLimiteProprioPorIp() {
+        TentativasLoginService service = new TentativasLoginService(100, 100, 100, 100, 2, 6, 10_000, agora::get);
+
+        assertThat(service.consumirConsultaDisponibilidade(IP)).isZero();
+        assertThat(service.consumirConsultaDisponibilidade(IP)).isZero();
+        assertThat(service.consumirConsultaDisponibilidade(IP))
+                .isBetween(Duration.ofMillis(9_999), Duration.ofMillis(10_001));
+        assertThat(service.consumirConsultaDisponibilidade("10.0.0.2")).isZero();
+        // As consultas esgotadas não consomem as tentativas de login do mesmo IP
+        assertThat(service.consumirTentativa("a@x.com", IP)).isZero();
+    }
+
+    private TentativasLoginService servico(int capacidadeEmail, int porMinutoEmail, int capacidadeIp, int porMinutoIp,
+                                           int maximoChaves) {
+        return new TentativasLoginService(capacidadeEmail, porMinutoEmail, capacidadeIp, porMinutoIp, 100, 100,
+                maximoChaves, agora::get);
+    }
+
+    private void avancar(Duration tempo) {
+        agora.addAndGet(tempo.toNanos());
+    }
+
+    // Emails distintos que caem na mesma faixa do limitador
+    private static List<String> chavesNaMesmaFaixa(int quantidade) {
+        List<String> chaves = new ArrayList<>();
+        int faixa = TentativasLoginService.faixa("u0@x.com");
+        for (int i = 0; chaves.size() < quantidade; i++) {
+            String candidata = "u" + i + "@x.com";
+            if (TentativasLoginService.faixa(candidata) == faixa) {
+                chaves.add(candidata);
+            }
+        }
+        return chaves;
+    }
+}
@@ -0,0 +1,109 @@
+package com.mateus.usuario.infrastructure.security.util;
+
+import com.mateus.usuario.infrastructure.exception.ChaveDesconhecidaException;
+import com.mateus.usuario.infrastructure.security.model.UsuarioAutenticado;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ChaveiroJwtTest {
+
+    // Relógio manual, em nanossegundos
+    private final AtomicLong agora = new AtomicLong(1_000_000_000L);
+    private final ChaveiroJwt chaveiro = new ChaveiroJwt("ES256", Duration.ofDays(1), Duration.ofMinutes(15), agora::get);
+
+    @Test
+    void mesmoKidSoEBuscadoUmaVezPorIntervalo() {
+        assertThat(chaveiro.permitirBuscaSobDemanda("forjado")).isTrue();
+        assertThat(chaveiro.permitirBuscaSobDemanda("forjado")).isFalse();
+
+        avancar(Duration.ofSeconds(9));
+        assertThat(chaveiro.permitirBuscaSobDemanda("forjado")).isFalse();
+
+        avancar(Duration.ofSeconds(1));
+        assertThat(chaveiro.permitirBuscaSobDemanda("forjado")).isTrue();
+    }
+
+    @Test
+    void kidForjadoNaoImpedeABuscaDeOutroKid() {
+        assertThat(chaveiro.permitirBuscaSobDemanda("forjado")).isTrue();
+        assertThat(chaveiro.permitirBuscaSobDemanda("forjado")).isFalse();
+
+        assertThat(chaveiro.permitirBuscaSobDemanda("real")).isTrue();
+    }
+
+    @Test
+    void tetoGlobalPorSegundoNaoMarcaOKidRecusado() {
+        for (int i = 0; i < 10; i++) {
+            assertThat(chaveiro.permitirBuscaSobDemanda("kid-" + i)).isTrue();
+        }
+        assertThat(chaveiro.permitirBuscaSobDemanda("real")).isFalse();
+
+        // Na janela seguinte o "kid" recusado pelo teto pode ser buscado
+        avancar(Duration.ofSeconds(1));
+        assertThat(chaveiro.permitirBuscaSobDemanda("real")).isTrue();
+    }
+
+    @Test
+    void kidNuloNuncaEBuscado() {
+        assertThat(chaveiro.permitirBuscaSobDemanda(null)).isFalse();
+    }
+
+    @Test
+    void tokensForjadosComOMesmoKidGeramUmaSoConsulta() {
+        ChaveJwt propria = chaveiro.gerar(Instant.now());
+        chaveiro.usar(propria, Instant.now());
+        JwtUtil jwtUtil = new JwtUtil(1_000, new SimpleMeterRegistry(), chaveiro);
+
+        // Outra "instância" assinando com um kid que não está no banco
+        ChaveiroJwt outro = new ChaveiroJwt("ES256", Duration.ofDays(1), Duration.ofMinutes(15));
+        outro.usar(outro.gerar(Instant.now()), Instant.now());
+        JwtUtil forjador = new JwtUtil(1_000, new SimpleMeterRegistry(), outro);
+
+        List<String> consultas = new ArrayList<>();
+        chaveiro.aoDesconhecerChave(kid -> {
+            consultas.add(kid);
+            return Optional.empty();
+        });
+
+        for (int i = 0; i < 5; i++) {
+            String token = forjador.generateToken(new UsuarioAutenticado((long) i, "x@x.com", null, 0L));
+            assertThatThrownBy(() -> jwtUtil.verificarToken(token)).isInstanceOf(ChaveDesconhecidaException.class);
+        }
+
+        assertThat(consultas).containsExactly(outro.ativa().kid());
+    }
+
+    @Test
+    void kidRealEncontradoPassaAVerificar() {
+        ChaveiroJwt outro = new ChaveiroJwt("ES256", Duration.ofDays(1), Duration.ofMinutes(15));
+        ChaveJwt nova = outro.gerar(Instant.now());
+        outro.usar(nova, Instant.now());
+        String token = new JwtUtil(1_000, new SimpleMeterRegistry(), outro)
+                .generateToken(new UsuarioAutenticado(1L, "x@x.com", null, 0L));
+
+        chaveiro.usar(chaveiro.gerar(Instant.now()), Instant.now());
+        // Um kid forjado buscado antes não atrasa a chave real
+        chaveiro.permitirBuscaSobDemanda(UUID.randomUUID().toString());
+        chaveiro.aoDesconhecerChave(kid -> kid.equals(nova.kid()) ? Optional.of(nova) : Optional.empty());
+
+        TokenVerificado verificado = new JwtUtil(1_000, new SimpleMeterRegistry(), chaveiro).verificarToken(token);
+
+        assertThat(verificado.username()).isEqualTo("x@x.com");
+        assertThat(chaveiro.conhece(nova.kid())).isTrue();
+    }
+
+    private void avancar(Duration tempo) {
+        agora.addAndGet(tempo.toNanos());
+    }
+}
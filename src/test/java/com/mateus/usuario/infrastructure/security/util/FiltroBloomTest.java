@@ -0,0 +1,91 @@
+package com.mateus.usuario.infrastructure.security.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FiltroBloomTest {
+
+    @Test
+    void dimensionaBitsEmPotenciaDeDoisEFuncoesPelaTaxa() {
+        FiltroBloom filtro = new FiltroBloom(100_000, 0.01);
+
+        // m = -n ln(p) / ln(2)^2 ~ 958.506 bits, arredondado para a próxima potência de 2
+        assertThat(filtro.quantidadeBits()).isEqualTo(1L << 20);
+        // k = m / n * ln(2)
+        assertThat(filtro.funcoes()).isEqualTo(7);
+    }
+
+    @Test
+    void capacidadeZeroAindaFunciona() {
+        FiltroBloom filtro = new FiltroBloom(0, 0.01);
+        filtro.adicionar("a");
+
+        assertThat(filtro.quantidadeBits()).isGreaterThanOrEqualTo(64);
+        assertThat(filtro.podeConter("a")).isTrue();
+    }
+
+    @Test
+    void naoTemFalsoNegativoETaxaDeFalsoPositivoFicaNoAlvo() {
+        int capacidade = 100_000;
+        double taxa = 0.01;
+        FiltroBloom filtro = new FiltroBloom(capacidade, taxa);
+        for (int i = 0; i < capacidade; i++) {
+            filtro.adicionar("jti-" + i);
+        }
+
+        for (int i = 0; i < capacidade; i++) {
+            assertThat(filtro.podeConter("jti-" + i)).isTrue();
+        }
+        int falsosPositivos = 0;
+        int consultas = 200_000;
+        for (int i = 0; i < consultas; i++) {
+            if (filtro.podeConter("outro-" + i)) {
+                falsosPositivos++;
+            }
+        }
+        // Com o arredondamento para potência de 2 o filtro tem folga: a taxa medida fica abaixo do alvo
+        assertThat((double) falsosPositivos / consultas).isLessThanOrEqualTo(taxa);
+    }
+
+    @Test
+    void adicoesConcorrentesNaoPerdemBits() throws Exception {
+        int threads = 8;
+        int porThread = 20_000;
+        FiltroBloom filtro = new FiltroBloom(threads * porThread, 0.001);
+        CountDownLatch largada = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> tarefas = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                tarefas.add(executor.submit(() -> {
+                    largada.await();
+                    for (int i = 0; i < porThread; i++) {
+                        filtro.adicionar(thread + "-" + i);
+                    }
+                    return null;
+                }));
+            }
+            largada.countDown();
+            for (Future<?> tarefa : tarefas) {
+                tarefa.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        for (int t = 0; t < threads; t++) {
+            for (int i = 0; i < porThread; i++) {
+                assertThat(filtro.podeConter(t + "-" + i)).isTrue();
+            }
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.mateus.usuario.infrastructure.security.util;
+
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ListaRevogacaoTest {
+
+    private static final Instant AGORA = Instant.parse("2026-01-01T12:00:00Z");
+
+    private final ListaRevogacao lista = new ListaRevogacao(1_000, 0.001, new SimpleMeterRegistry());
+
+    @Test
+    void tokenRevogadoEReconhecidoEOsDemaisNao() {
+        lista.adicionar("revogado", AGORA.plusSeconds(60));
+
+        assertThat(lista.revogado(token("revogado"))).isTrue();
+        assertThat(lista.revogado(token("outro"))).isFalse();
+        assertThat(lista.revogado(token(null))).isFalse();
+    }
+
+    @Test
+    void removerExpiradosDescartaSoOsVencidos() {
+        lista.adicionar("vencido", AGORA.minusSeconds(1));
+        lista.adicionar("no-limite", AGORA);
+        lista.adicionar("valido", AGORA.plusSeconds(60));
+
+        lista.removerExpirados(AGORA);
+
+        assertThat(lista.revogado(token("vencido"))).isFalse();
+        assertThat(lista.revogado(token("no-limite"))).isFalse();
+        assertThat(lista.revogado(token("valido"))).isTrue();
+    }
+
+    @Test
+    void reconstrucaoCresceComAsRevogacoesSemPerderNenhuma() {
+        for (int i = 0; i < 5_000; i++) {
+            lista.adicionar("jti-" + i, AGORA.plusSeconds(60));
+        }
+
+        lista.removerExpirados(AGORA);
+
+        for (int i = 0; i < 5_000; i++) {
+            assertThat(lista.revogado(token("jti-" + i))).isTrue();
+        }
+    }
+
+    // Revogações feitas enquanto o filtro é reconstruído não podem ficar só no filtro antigo
+    @Test
+    void revogacaoDuranteReconstrucaoNaoSePerde() throws Exception {
+        for (int i = 0; i < 2_000; i++) {
+            lista.adicionar("antigo-" + i, AGORA.plus(Duration.ofHours(1)));
+        }
+        int threads = 4;
+        int porThread = 5_000;
+        AtomicBoolean adicionando = new AtomicBoolean(true);
+        CountDownLatch largada = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads + 1);
+        try {
+            Future<?> reconstrucoes = executor.submit(() -> {
+                largada.await();
+                while (adicionando.get()) {
+                    lista.removerExpirados(AGORA);
+                }
+                return null;
+            });
+            List<Future<?>> tarefas = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                tarefas.add(executor.submit(() -> {
+                    largada.await();
+                    for (int i = 0; i < porThread; i++) {
+                        lista.adicionar(thread + "-" + i, AGORA.plus(Duration.ofHours(1)));
+                    }
+                    return null;
+                }));
+            }
+            largada.countDown();
+            for (Future<?> tarefa : tarefas) {
+                tarefa.get();
+            }
+            adicionando.set(false);
+            reconstrucoes.get();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        for (int t = 0; t < threads; t++) {
+            for (int i = 0; i < porThread; i++) {
+                assertThat(lista.revogado(token(t + "-" + i))).isTrue();
+            }
+        }
+    }
+
+    private static TokenVerificado token(String jti) {
+        return new TokenVerificado("ana@x.com", AGORA.minusSeconds(60), AGORA.plusSeconds(600),
+                jti != null ? Map.of(Claims.ID, jti) : Map.of());
+    }
+}